@@ -0,0 +1,142 @@
+package games.strategy.engine.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import games.strategy.util.Tuple;
+
+/**
+ * Merges the changes to the same unit property, unit holder or resource in a list of changes.
+ * <p>
+ * Changes that are merged are taken out of order, which is fine as long as no other change touches the same things.
+ * The changes of the classes in s_independentChanges never do, so they are kept in order among themselves, and every
+ * other change is a barrier the merged changes are not moved past.
+ */
+class ChangeCompactor {
+  private static final Set<Class<? extends Change>> s_independentChanges =
+      new HashSet<Class<? extends Change>>(Arrays.asList(UnitHitsChange.class, BombingUnitDamageChange.class,
+          PlayerOwnerChange.class, OwnerChange.class, ChangeAttachmentChange.class, AttachmentPropertyReset.class,
+          AttachmentPropertyResetUndo.class, GenericTechChange.class, RelationshipChange.class,
+          AddBattleRecordsChange.class, RemoveBattleRecordsChange.class, AddProductionRule.class,
+          RemoveProductionRule.class, AddAvailableTech.class, RemoveAvailableTech.class,
+          ProductionFrontierChange.class, PlayerWhoAmIChange.class, SetPropertyChange.class));
+  private final List<Change> m_compacted = new ArrayList<Change>();
+  private final List<Change> m_independent = new ArrayList<Change>();
+  // the first old and the last new value of each unit property
+  private final Map<Tuple<Object, String>, Object[]> m_properties =
+      new LinkedHashMap<Tuple<Object, String>, Object[]>();
+  // the units added to (positive) or removed from (negative) each unit holder
+  private final Map<Tuple<String, String>, Map<Unit, Integer>> m_units =
+      new LinkedHashMap<Tuple<String, String>, Map<Unit, Integer>>();
+  private final Map<Tuple<String, String>, Integer> m_resources = new LinkedHashMap<Tuple<String, String>, Integer>();
+
+  Change compact(final List<Change> changes) {
+    for (final Change change : changes) {
+      add(change);
+    }
+    flush();
+    if (m_compacted.size() == 1) {
+      return m_compacted.get(0);
+    }
+    return new CompositeChange(m_compacted);
+  }
+
+  private void add(final Change change) {
+    if (change instanceof CompositeChange) {
+      for (final Change child : ((CompositeChange) change).getChanges()) {
+        add(child);
+      }
+    } else if (change instanceof ObjectPropertyChange) {
+      final ObjectPropertyChange propertyChange = (ObjectPropertyChange) change;
+      final Tuple<Object, String> key = Tuple.of(propertyChange.getObject(), propertyChange.getProperty());
+      final Object[] values = m_properties.get(key);
+      if (values == null) {
+        m_properties.put(key, new Object[] {propertyChange.getOldValue(), propertyChange.getNewValue()});
+      } else {
+        values[1] = propertyChange.getNewValue();
+      }
+    } else if (change instanceof AddUnits) {
+      final AddUnits addUnits = (AddUnits) change;
+      addUnits(addUnits.getName(), addUnits.getType(), addUnits.getUnits(), 1);
+    } else if (change instanceof RemoveUnits) {
+      final RemoveUnits removeUnits = (RemoveUnits) change;
+      addUnits(removeUnits.getName(), removeUnits.getType(), removeUnits.getUnits(), -1);
+    } else if (change instanceof ChangeResourceChange) {
+      final ChangeResourceChange resourceChange = (ChangeResourceChange) change;
+      final Tuple<String, String> key = Tuple.of(resourceChange.getPlayerName(), resourceChange.getResourceName());
+      final Integer quantity = m_resources.get(key);
+      m_resources.put(key, (quantity == null ? 0 : quantity) + resourceChange.getQuantity());
+    } else if (s_independentChanges.contains(change.getClass())) {
+      m_independent.add(change);
+    } else if (!change.isEmpty()) {
+      flush();
+      m_compacted.add(change);
+    }
+  }
+
+  private void addUnits(final String name, final String type, final Collection<Unit> units, final int count) {
+    final Tuple<String, String> key = Tuple.of(name, type);
+    Map<Unit, Integer> holderUnits = m_units.get(key);
+    if (holderUnits == null) {
+      holderUnits = new LinkedHashMap<Unit, Integer>();
+      m_units.put(key, holderUnits);
+    }
+    for (final Unit unit : units) {
+      final Integer current = holderUnits.get(unit);
+      holderUnits.put(unit, (current == null ? 0 : current) + count);
+    }
+  }
+
+  /**
+   * Adds the changes merged so far, units are removed before any are added so every unit removed is still there.
+   */
+  private void flush() {
+    m_compacted.addAll(m_independent);
+    m_independent.clear();
+    for (final Map.Entry<Tuple<Object, String>, Object[]> entry : m_properties.entrySet()) {
+      final Object[] values = entry.getValue();
+      if (!Objects.equals(values[0], values[1])) {
+        m_compacted.add(new ObjectPropertyChange(entry.getKey().getFirst(), entry.getKey().getSecond(), values[1],
+            values[0]));
+      }
+    }
+    m_properties.clear();
+    final List<Change> addUnits = new ArrayList<Change>();
+    for (final Map.Entry<Tuple<String, String>, Map<Unit, Integer>> entry : m_units.entrySet()) {
+      final List<Unit> removed = new ArrayList<Unit>();
+      final List<Unit> added = new ArrayList<Unit>();
+      for (final Map.Entry<Unit, Integer> unit : entry.getValue().entrySet()) {
+        for (int i = unit.getValue(); i < 0; i++) {
+          removed.add(unit.getKey());
+        }
+        for (int i = unit.getValue(); i > 0; i--) {
+          added.add(unit.getKey());
+        }
+      }
+      final String name = entry.getKey().getFirst();
+      final String type = entry.getKey().getSecond();
+      if (!removed.isEmpty()) {
+        m_compacted.add(new RemoveUnits(name, type, removed));
+      }
+      if (!added.isEmpty()) {
+        addUnits.add(new AddUnits(name, type, added));
+      }
+    }
+    m_units.clear();
+    m_compacted.addAll(addUnits);
+    for (final Map.Entry<Tuple<String, String>, Integer> entry : m_resources.entrySet()) {
+      if (entry.getValue() != 0) {
+        m_compacted.add(new ChangeResourceChange(entry.getKey().getFirst(), entry.getKey().getSecond(),
+            entry.getValue()));
+      }
+    }
+    m_resources.clear();
+  }
+}
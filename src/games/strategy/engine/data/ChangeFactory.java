@@ -192,6 +192,15 @@ public class ChangeFactory {
     return new AddBattleRecordsChange(records, data);
   }
 
+  /**
+   * Returns a change with the same effect as performing the changes in order, in which the changes to the same unit
+   * property, unit holder or resource are merged. Moving units around and marking them as moved many times over
+   * leaves few changes, so the result is much quicker to perform than the changes it was made from.
+   */
+  public static Change compact(final List<Change> changes) {
+    return new ChangeCompactor().compact(changes);
+  }
+
   /** Creates new ChangeFactory. No need */
   private ChangeFactory() {}
 
@@ -404,6 +413,18 @@ class AddUnits extends Change {
     m_name = name;
   }
 
+  String getName() {
+    return m_name;
+  }
+
+  String getType() {
+    return m_type;
+  }
+
+  Collection<Unit> getUnits() {
+    return m_units;
+  }
+
   @Override
   public Change invert() {
     return new RemoveUnits(m_name, m_type, m_units);
@@ -438,6 +459,18 @@ class RemoveUnits extends Change {
     m_type = type;
   }
 
+  String getName() {
+    return m_name;
+  }
+
+  String getType() {
+    return m_type;
+  }
+
+  Collection<Unit> getUnits() {
+    return m_units;
+  }
+
   @Override
   public Change invert() {
     return new AddUnits(m_name, m_type, m_units);
@@ -587,12 +620,24 @@ class ChangeResourceChange extends Change {
     m_quantity = quantity;
   }
 
-  private ChangeResourceChange(final String player, final String resource, final int quantity) {
+  ChangeResourceChange(final String player, final String resource, final int quantity) {
     m_player = player;
     m_resource = resource;
     m_quantity = quantity;
   }
 
+  String getPlayerName() {
+    return m_player;
+  }
+
+  String getResourceName() {
+    return m_resource;
+  }
+
+  int getQuantity() {
+    return m_quantity;
+  }
+
   @Override
   public Change invert() {
     return new ChangeResourceChange(m_player, m_resource, -m_quantity);
@@ -1051,6 +1096,22 @@ class ObjectPropertyChange extends Change {
     m_oldValue = resolve(m_oldValue);
   }
 
+  Object getObject() {
+    return m_object;
+  }
+
+  String getProperty() {
+    return m_property;
+  }
+
+  Object getNewValue() {
+    return m_newValue;
+  }
+
+  Object getOldValue() {
+    return m_oldValue;
+  }
+
   @Override
   public Change invert() {
     return new ObjectPropertyChange(m_object, m_property, m_oldValue, m_newValue);
@@ -1,14 +1,9 @@
 package games.strategy.engine.data;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
+import java.util.Map;
 import java.util.logging.Logger;
 
-import games.strategy.triplea.delegate.Matches;
 import games.strategy.util.CompositeMatchOr;
 import games.strategy.util.Match;
 
@@ -38,83 +33,32 @@ public class CompositeRouteFinder {
     s_logger.finer("Initializing CompositeRouteFinderClass...");
   }
 
-  private HashSet<Territory> ToHashSet(final Collection<Territory> ters) {
-    final HashSet<Territory> result = new HashSet<Territory>();
-    for (final Territory ter : ters) {
-      result.add(ter);
-    }
-    return result;
-  }
-
   public Route findRoute(final Territory start, final Territory end) {
-    final HashSet<Territory> allMatchingTers =
-        ToHashSet(Match.getMatches(m_map.getTerritories(), new CompositeMatchOr<Territory>(m_matches.keySet())));
-    final HashMap<Territory, Integer> terScoreMap = CreateScoreMap(allMatchingTers, start);
-    final HashMap<Territory, Integer> routeScoreMap = new HashMap<Territory, Integer>();
-    int bestRouteToEndScore = Integer.MAX_VALUE;
-    final HashMap<Territory, Territory> previous = new HashMap<Territory, Territory>();
-    List<Territory> routeLeadersToProcess = new ArrayList<Territory>();
-    for (final Territory ter : m_map.getNeighbors(start, Matches.territoryIsInList(allMatchingTers))) {
-      final int routeScore = terScoreMap.get(start) + terScoreMap.get(ter);
-      routeScoreMap.put(ter, routeScore);
-      routeLeadersToProcess.add(ter);
-      previous.put(ter, start);
+    final CompositeMatchOr<Territory> anyMatch = new CompositeMatchOr<Territory>(m_matches.keySet());
+    int minimumScore = Integer.MAX_VALUE;
+    for (final int score : m_matches.values()) {
+      minimumScore = Math.min(minimumScore, score);
     }
-    while (routeLeadersToProcess.size() > 0) {
-      final List<Territory> newLeaders = new ArrayList<Territory>();
-      for (final Territory oldLeader : routeLeadersToProcess) {
-        for (final Territory ter : m_map.getNeighbors(oldLeader, Matches.territoryIsInList(allMatchingTers))) {
-          final int routeScore = routeScoreMap.get(oldLeader) + terScoreMap.get(ter);
-          if (routeLeadersToProcess.contains(ter) || ter.equals(start)) {
-            continue;
-          }
-          if (previous.containsKey(ter)) // If we're bumping into an existing route
-          {
-            if (routeScore >= routeScoreMap.get(ter)) {
-              continue;
-            }
-          }
-          if (bestRouteToEndScore <= routeScore) {
-            // Ignore this route leader, as we know we already have a better route
-            continue;
-          }
-          routeScoreMap.put(ter, routeScore);
-          newLeaders.add(ter);
-          previous.put(ter, oldLeader);
-          if (ter.equals(end)) {
-            if (routeScore < bestRouteToEndScore) {
-              bestRouteToEndScore = routeScore;
-            }
-          }
+    final int minimumCost = minimumScore;
+    final Map<Territory, Integer> scores = new HashMap<Territory, Integer>();
+    // the score of a route is the sum of the scores of the territories it moves into
+    final RouteFinder.Cost cost = new RouteFinder.Cost() {
+      @Override
+      public int getCost(final Territory from, final Territory to) {
+        Integer score = scores.get(to);
+        if (score == null) {
+          score = GetTerScore(to);
+          scores.put(to, score);
         }
+        return score;
       }
-      routeLeadersToProcess = newLeaders;
-    }
-    if (bestRouteToEndScore == Integer.MAX_VALUE) {
-      return null;
-    }
-    return AssembleRoute(start, end, previous);
-  }
 
-  private Route AssembleRoute(final Territory start, final Territory end,
-      final HashMap<Territory, Territory> previous) {
-    final List<Territory> routeTers = new ArrayList<Territory>();
-    Territory curTer = end;
-    while (previous.containsKey(curTer)) {
-      routeTers.add(curTer);
-      curTer = previous.get(curTer);
-    }
-    routeTers.add(start);
-    Collections.reverse(routeTers);
-    return new Route(routeTers);
-  }
-
-  private HashMap<Territory, Integer> CreateScoreMap(final Collection<Territory> ters, final Territory startTer) {
-    final HashMap<Territory, Integer> result = new HashMap<Territory, Integer>();
-    for (final Territory ter : m_map.getTerritories()) {
-      result.put(ter, GetTerScore(ter));
-    }
-    return result;
+      @Override
+      public int getMinimumCost() {
+        return minimumCost;
+      }
+    };
+    return new RouteFinder(m_map, anyMatch, cost).findRoute(start, end);
   }
 
   /*
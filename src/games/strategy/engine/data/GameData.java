@@ -16,6 +16,7 @@ import javax.swing.SwingUtilities;
 
 import games.strategy.engine.data.events.GameDataChangeListener;
 import games.strategy.engine.data.events.GameMapListener;
+import games.strategy.engine.data.events.NumberedGameDataChangeListener;
 import games.strategy.engine.data.events.TerritoryListener;
 import games.strategy.engine.data.properties.GameProperties;
 import games.strategy.engine.framework.IGameLoader;
@@ -68,6 +69,8 @@ public class GameData implements java.io.Serializable {
   private transient ListenerList<TerritoryListener> m_territoryListeners = new ListenerList<TerritoryListener>();
   private transient ListenerList<GameDataChangeListener> m_dataChangeListeners =
       new ListenerList<GameDataChangeListener>();
+  private transient ListenerList<NumberedGameDataChangeListener> m_numberedDataChangeListeners =
+      new ListenerList<NumberedGameDataChangeListener>();
   private transient ListenerList<GameMapListener> m_gameMapListeners = new ListenerList<GameMapListener>();
   private final AllianceTracker m_alliances = new AllianceTracker(this);
   // Tracks current relationships between players, this is empty if relationships aren't used
@@ -97,6 +100,10 @@ public class GameData implements java.io.Serializable {
       new ArrayList<Tuple<IAttachment, ArrayList<Tuple<String, String>>>>();
   private final Hashtable<String, TerritoryEffect> m_territoryEffectList = new Hashtable<String, TerritoryEffect>();
   private final BattleRecordsList m_battleRecordsList = new BattleRecordsList(this);
+  // built when first needed, and thrown away with the listeners it depends on
+  private transient volatile OwnershipIndex m_ownershipIndex = null;
+  // the number of changes performed, only changed under the write lock
+  private transient long m_changesPerformed = 0;
 
   /** Creates new GameData */
   public GameData() {
@@ -269,6 +276,14 @@ public class GameData implements java.io.Serializable {
     m_dataChangeListeners.remove(listener);
   }
 
+  public void addNumberedDataChangeListener(final NumberedGameDataChangeListener listener) {
+    m_numberedDataChangeListeners.add(listener);
+  }
+
+  public void removeNumberedDataChangeListener(final NumberedGameDataChangeListener listener) {
+    m_numberedDataChangeListeners.remove(listener);
+  }
+
   public void addGameMapListener(final GameMapListener listener) {
     m_gameMapListeners.add(listener);
   }
@@ -301,12 +316,25 @@ public class GameData implements java.io.Serializable {
     }
   }
 
-  void notifyGameDataChanged(final Change aChange) {
+  void notifyGameDataChanged(final Change aChange, final long changeNumber) {
     final Iterator<GameDataChangeListener> iter = m_dataChangeListeners.iterator();
     while (iter.hasNext()) {
       final GameDataChangeListener listener = iter.next();
       listener.gameDataChanged(aChange);
     }
+    final Iterator<NumberedGameDataChangeListener> numberedIter = m_numberedDataChangeListeners.iterator();
+    while (numberedIter.hasNext()) {
+      final NumberedGameDataChangeListener listener = numberedIter.next();
+      listener.gameDataChanged(aChange, changeNumber);
+    }
+  }
+
+  /**
+   * Returns the number of changes performed on this game data, which is also the number of the last change.
+   * Hold the read lock to keep it from changing.
+   */
+  public long getChangesPerformed() {
+    return m_changesPerformed;
   }
 
   void notifyMapDataChanged() {
@@ -366,7 +394,27 @@ public class GameData implements java.io.Serializable {
   public void postDeSerialize() {
     m_territoryListeners = new ListenerList<TerritoryListener>();
     m_dataChangeListeners = new ListenerList<GameDataChangeListener>();
+    m_numberedDataChangeListeners = new ListenerList<NumberedGameDataChangeListener>();
     m_gameMapListeners = new ListenerList<GameMapListener>();
+    m_ownershipIndex = null;
+  }
+
+  /**
+   * Returns the territories and units each player owns, which are kept up to date as the game changes.
+   */
+  public OwnershipIndex getOwnershipIndex() {
+    OwnershipIndex index = m_ownershipIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = m_ownershipIndex;
+        if (index == null) {
+          index = new OwnershipIndex(this);
+          m_territoryListeners.add(index);
+          m_ownershipIndex = index;
+        }
+      }
+    }
+    return index;
   }
 
   /**
@@ -412,7 +460,9 @@ public class GameData implements java.io.Serializable {
   }
 
   public void clearAllListeners() {
+    m_ownershipIndex = null;
     m_dataChangeListeners.clear();
+    m_numberedDataChangeListeners.clear();
     m_territoryListeners.clear();
     m_gameMapListeners.clear();
     if (m_resourceLoader != null) {
@@ -500,12 +550,14 @@ public class GameData implements java.io.Serializable {
     if (areChangesOnlyInSwingEventThread() && !SwingUtilities.isEventDispatchThread()) {
       throw new IllegalStateException("Wrong thread");
     }
+    final long changeNumber;
     try {
       acquireWriteLock();
       change.perform(this);
+      changeNumber = ++m_changesPerformed;
     } finally {
       releaseWriteLock();
     }
-    notifyGameDataChanged(change);
+    notifyGameDataChanged(change, changeNumber);
   }
 }
@@ -33,6 +33,8 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
   // otherwise, m_gridDimensions.length is the number of dimensions,
   // and each element is the size of a dimension
   private int[] m_gridDimensions = null;
+  // built from the connections when first needed, and thrown away when they change
+  private transient volatile TerritoryGraph m_graph = null;
 
   GameMap(final GameData data) {
     super(data);
@@ -93,6 +95,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
 
   protected void reorderTerritoryList() {
     Collections.sort(m_territories, TERRITORY_GRID_ORDERING);
+    m_graph = null;
   }
 
   private static Comparator<Territory> TERRITORY_GRID_ORDERING = new Comparator<Territory>() {
@@ -171,6 +174,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     m_territories.add(t1);
     m_connections.put(t1, Collections.<Territory>emptySet());
     m_territoryLookup.put(t1.getName(), t1);
+    m_graph = null;
   }
 
   protected void removeTerritory(final Territory t1) {
@@ -194,6 +198,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     for (final Entry<Territory, Set<Territory>> entry : tempConnections.entrySet()) {
       m_connections.put(entry.getKey(), Collections.unmodifiableSet(entry.getValue()));
     }
+    m_graph = null;
   }
 
   /**
@@ -237,6 +242,16 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     final Set<Territory> modified = new HashSet<Territory>(current);
     modified.add(to);
     m_connections.put(from, Collections.unmodifiableSet(modified));
+    m_graph = null;
+  }
+
+  TerritoryGraph getGraph() {
+    TerritoryGraph graph = m_graph;
+    if (graph == null) {
+      graph = new TerritoryGraph(m_territories, m_connections);
+      m_graph = graph;
+    }
+    return graph;
   }
 
   /**
@@ -308,9 +323,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (distance == 1) {
       return start;
     }
-    final Set<Territory> neighbors = getNeighbors(start, new HashSet<Territory>(start), --distance);
-    neighbors.remove(territory);
-    return neighbors;
+    return getGraph().getNeighbors(Collections.singleton(territory), distance, null);
   }
 
   /**
@@ -332,9 +345,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (distance == 1) {
       return start;
     }
-    final Set<Territory> neighbors = getNeighbors(start, new HashSet<Territory>(start), --distance, cond);
-    neighbors.remove(territory);
-    return neighbors;
+    return getGraph().getNeighbors(Collections.singleton(territory), distance, cond);
   }
 
   /**
@@ -346,9 +357,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    *         other.
    */
   public Set<Territory> getNeighbors(final Set<Territory> frontier, final int distance, final Match<Territory> cond) {
-    final Set<Territory> rVal = getNeighbors(frontier, new HashSet<Territory>(frontier), distance, cond);
-    rVal.removeAll(frontier);
-    return rVal;
+    return getGraph().getNeighbors(frontier, distance, cond);
   }
 
   /**
@@ -359,40 +368,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
    *         other.
    */
   public Set<Territory> getNeighbors(final Set<Territory> frontier, final int distance) {
-    final Set<Territory> rVal = getNeighbors(frontier, new HashSet<Territory>(frontier), distance);
-    rVal.removeAll(frontier);
-    return rVal;
-  }
-
-  private Set<Territory> getNeighbors(final Set<Territory> frontier, final Set<Territory> searched, int distance,
-      final Match<Territory> cond) {
-    if (distance == 0) {
-      return searched;
-    }
-    final Iterator<Territory> iter = frontier.iterator();
-    final Set<Territory> newFrontier = new HashSet<Territory>();
-    while (iter.hasNext()) {
-      final Territory t = iter.next();
-      newFrontier.addAll(getNeighbors(t, cond));
-    }
-    newFrontier.removeAll(searched);
-    searched.addAll(newFrontier);
-    return getNeighbors(newFrontier, searched, --distance, cond);
-  }
-
-  private Set<Territory> getNeighbors(final Set<Territory> frontier, final Set<Territory> searched, int distance) {
-    if (distance == 0) {
-      return searched;
-    }
-    final Iterator<Territory> iter = frontier.iterator();
-    final Set<Territory> newFrontier = new HashSet<Territory>();
-    while (iter.hasNext()) {
-      final Territory t = iter.next();
-      newFrontier.addAll(getNeighbors(t));
-    }
-    newFrontier.removeAll(searched);
-    searched.addAll(newFrontier);
-    return getNeighbors(newFrontier, searched, --distance);
+    return getGraph().getNeighbors(frontier, distance, null);
   }
 
   /**
@@ -538,9 +514,24 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     if (t1.equals(t2)) {
       return 0;
     }
-    final Set<Territory> frontier = new HashSet<Territory>();
-    frontier.add(t1);
-    return getDistance(0, new HashSet<Territory>(), frontier, t2, cond);
+    final TerritoryGraph graph = getGraph();
+    final int from = graph.indexOf(t1);
+    if (from < 0) {
+      throw new IllegalArgumentException("No neighbors for:" + t1);
+    }
+    final int to = graph.indexOf(t2);
+    if (to < 0) {
+      return -1;
+    }
+    // these do not depend on the game state, so their distances are remembered
+    if (cond == null || cond == Matches.TerritoryIsLandOrWater) {
+      return graph.getDistance(TerritoryGraph.ALL, from, to);
+    } else if (cond == Matches.TerritoryIsLand) {
+      return graph.getDistance(TerritoryGraph.LAND, from, to);
+    } else if (cond == Matches.TerritoryIsWater) {
+      return graph.getDistance(TerritoryGraph.WATER, from, to);
+    }
+    return graph.getDistance(from, to, cond);
   }
 
   /**
@@ -558,39 +549,6 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
     return getDistance(t1, t2, new CompositeMatchOr<Territory>(Matches.territoryIs(t2), cond));
   }
 
-  /**
-   * Guaranteed that frontier doesn't contain target.
-   * Territories on the frontier are not target. They represent the extent of paths already searched.
-   * Territories in searched have already been on the frontier.
-   */
-  private int getDistance(final int distance, final Set<Territory> searched, final Set<Territory> frontier,
-      final Territory target, final Match<Territory> cond) {
-    // add the frontier to the searched
-    searched.addAll(frontier);
-    // find the new frontier
-    final Set<Territory> newFrontier = new HashSet<Territory>();
-    final Iterator<Territory> frontierIterator = frontier.iterator();
-    while (frontierIterator.hasNext()) {
-      final Territory onFrontier = frontierIterator.next();
-      final Set<Territory> connections = m_connections.get(onFrontier);
-      final Iterator<Territory> connectionIterator = connections.iterator();
-      while (connectionIterator.hasNext()) {
-        final Territory nextFrontier = connectionIterator.next();
-        if (cond == null || cond.match(nextFrontier)) {
-          newFrontier.add(nextFrontier);
-        }
-      }
-    }
-    if (newFrontier.contains(target)) {
-      return distance + 1;
-    }
-    newFrontier.removeAll(searched);
-    if (newFrontier.isEmpty()) {
-      return -1;
-    }
-    return getDistance(distance + 1, searched, newFrontier, target, cond);
-  }
-
   public IntegerMap<Territory> getDistance(final Territory target, final Collection<Territory> territories,
       final Match<Territory> condition) {
     final IntegerMap<Territory> rVal = new IntegerMap<Territory>();
@@ -613,15 +571,7 @@ public class GameMap extends GameDataComponent implements Iterable<Territory> {
   }
 
   public List<Territory> getTerritoriesOwnedBy(final PlayerID player) {
-    final Iterator<Territory> iter = m_territories.iterator();
-    final List<Territory> owner = new ArrayList<Territory>();
-    while (iter.hasNext()) {
-      final Territory territory = iter.next();
-      if (territory.getOwner().equals(player)) {
-        owner.add(territory);
-      }
-    }
-    return owner;
+    return getData().getOwnershipIndex().getTerritoriesOwnedBy(player);
   }
 
   /**
@@ -50,6 +50,14 @@ public class GameSequence extends GameDataComponent implements Iterable<GameStep
     }
   }
 
+  /**
+   * Sets the round and step index to those of another copy of this game data.
+   */
+  public synchronized void setRoundAndStepIndex(final int currentRound, final int stepIndex) {
+    m_round = currentRound;
+    setStepIndex(stepIndex);
+  }
+
   protected void addStep(final GameStep step) {
     m_allOriginalSteps.add(step);
     m_steps.add(step);
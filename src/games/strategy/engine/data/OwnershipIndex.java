@@ -0,0 +1,160 @@
+package games.strategy.engine.data;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import games.strategy.engine.data.events.TerritoryListener;
+import games.strategy.util.IntegerMap;
+
+/**
+ * Keeps track of the territories each player owns, and of the units each player has in territories, so they can be
+ * looked up without going over the whole map.
+ * <p>
+ * Every change that moves units, changes the owner of units, or takes a territory fires a territory event while the
+ * write lock is held, so the index is updated one territory at a time and is never behind the data.
+ */
+public class OwnershipIndex implements TerritoryListener {
+  private final GameData m_data;
+  private List<Territory> m_territories;
+  private Map<Territory, Integer> m_territoryIndexes;
+  // the owner each territory is counted under, by territory index
+  private PlayerID[] m_owners;
+  private final Map<PlayerID, BitSet> m_territoriesByOwner = new HashMap<PlayerID, BitSet>();
+  // what the units in each territory add to the totals
+  private final Map<Territory, Map<PlayerID, IntegerMap<UnitType>>> m_unitsByTerritory =
+      new HashMap<Territory, Map<PlayerID, IntegerMap<UnitType>>>();
+  private final Map<PlayerID, IntegerMap<UnitType>> m_unitsByOwner = new HashMap<PlayerID, IntegerMap<UnitType>>();
+
+  OwnershipIndex(final GameData data) {
+    m_data = data;
+    build();
+  }
+
+  private void build() {
+    m_territories = new ArrayList<Territory>(m_data.getMap().getTerritories());
+    m_territoryIndexes = new HashMap<Territory, Integer>();
+    m_owners = new PlayerID[m_territories.size()];
+    m_territoriesByOwner.clear();
+    m_unitsByTerritory.clear();
+    m_unitsByOwner.clear();
+    for (int i = 0; i < m_territories.size(); i++) {
+      final Territory territory = m_territories.get(i);
+      m_territoryIndexes.put(territory, i);
+      indexOwner(i, territory);
+      indexUnits(territory);
+    }
+  }
+
+  /**
+   * Territories are only added while the map is set up, and without an event, so start over if there are new ones.
+   */
+  private void ensureCurrent() {
+    if (m_territories.size() != m_data.getMap().getTerritories().size()) {
+      build();
+    }
+  }
+
+  private void indexOwner(final int index, final Territory territory) {
+    if (m_owners[index] != null) {
+      m_territoriesByOwner.get(m_owners[index]).clear(index);
+    }
+    final PlayerID owner = territory.getOwner();
+    m_owners[index] = owner;
+    BitSet owned = m_territoriesByOwner.get(owner);
+    if (owned == null) {
+      owned = new BitSet(m_territories.size());
+      m_territoriesByOwner.put(owner, owned);
+    }
+    owned.set(index);
+  }
+
+  private void indexUnits(final Territory territory) {
+    final Map<PlayerID, IntegerMap<UnitType>> previous = m_unitsByTerritory.get(territory);
+    if (previous != null) {
+      for (final Map.Entry<PlayerID, IntegerMap<UnitType>> entry : previous.entrySet()) {
+        m_unitsByOwner.get(entry.getKey()).subtract(entry.getValue());
+      }
+    }
+    final Map<PlayerID, IntegerMap<UnitType>> units = new HashMap<PlayerID, IntegerMap<UnitType>>();
+    for (final Unit unit : territory.getUnits()) {
+      IntegerMap<UnitType> ownerUnits = units.get(unit.getOwner());
+      if (ownerUnits == null) {
+        ownerUnits = new IntegerMap<UnitType>();
+        units.put(unit.getOwner(), ownerUnits);
+      }
+      ownerUnits.add(unit.getType(), 1);
+    }
+    for (final Map.Entry<PlayerID, IntegerMap<UnitType>> entry : units.entrySet()) {
+      IntegerMap<UnitType> ownerUnits = m_unitsByOwner.get(entry.getKey());
+      if (ownerUnits == null) {
+        ownerUnits = new IntegerMap<UnitType>();
+        m_unitsByOwner.put(entry.getKey(), ownerUnits);
+      }
+      ownerUnits.add(entry.getValue());
+    }
+    m_unitsByTerritory.put(territory, units);
+  }
+
+  @Override
+  public synchronized void unitsChanged(final Territory territory) {
+    if (m_territoryIndexes.containsKey(territory)) {
+      indexUnits(territory);
+    }
+  }
+
+  @Override
+  public synchronized void ownerChanged(final Territory territory) {
+    final Integer index = m_territoryIndexes.get(territory);
+    if (index != null) {
+      indexOwner(index, territory);
+    }
+  }
+
+  @Override
+  public void attachmentChanged(final Territory territory) {}
+
+  /**
+   * @return the territories owned by the player, in map order
+   */
+  public synchronized List<Territory> getTerritoriesOwnedBy(final PlayerID player) {
+    ensureCurrent();
+    final List<Territory> owned = new ArrayList<Territory>();
+    final BitSet indexes = m_territoriesByOwner.get(player);
+    if (indexes != null) {
+      for (int i = indexes.nextSetBit(0); i >= 0; i = indexes.nextSetBit(i + 1)) {
+        owned.add(m_territories.get(i));
+      }
+    }
+    return owned;
+  }
+
+  public synchronized int getTerritoryCount(final PlayerID player) {
+    ensureCurrent();
+    final BitSet indexes = m_territoriesByOwner.get(player);
+    return indexes == null ? 0 : indexes.cardinality();
+  }
+
+  /**
+   * @return the number of units of each type the player has in territories
+   */
+  public synchronized IntegerMap<UnitType> getUnitCounts(final PlayerID player) {
+    ensureCurrent();
+    final IntegerMap<UnitType> units = m_unitsByOwner.get(player);
+    return units == null ? new IntegerMap<UnitType>() : units.copy();
+  }
+
+  public synchronized int getUnitCount(final PlayerID player, final UnitType type) {
+    ensureCurrent();
+    final IntegerMap<UnitType> units = m_unitsByOwner.get(player);
+    return units == null ? 0 : units.getInt(type);
+  }
+
+  public synchronized int getUnitCount(final PlayerID player) {
+    ensureCurrent();
+    final IntegerMap<UnitType> units = m_unitsByOwner.get(player);
+    return units == null ? 0 : units.totalValues();
+  }
+}
@@ -1,71 +1,68 @@
 package games.strategy.engine.data;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import games.strategy.util.Match;
 
-// TODO this class doesn't take movementcost into account... typically the shortest route is the fastest route, but not
-// always...
+/**
+ * Finds the cheapest route between two territories, moving only into territories that match the condition.
+ * By default every step costs 1, so the route with the fewest steps is found; give a Cost to weigh steps differently
+ * (for example by movement cost, or by how much the territory is to be avoided).
+ */
 public class RouteFinder {
-  private final GameMap m_map;
-  private final Match<Territory> m_condition;
-  private final Map<Territory, Territory> m_previous;
+  /**
+   * The cost of a step from a territory into one of its neighbors.
+   */
+  public interface Cost {
+    /**
+     * @return the cost of moving from one territory into the other, or a negative number if that is not possible.
+     */
+    int getCost(Territory from, Territory to);
 
-  public RouteFinder(final GameMap map, final Match<Territory> condition) {
-    m_map = map;
-    m_condition = condition;
-    m_previous = new HashMap<Territory, Territory>();
+    /**
+     * @return a cost that no step is cheaper than, which is used to guide the search towards the end. Return 0 if
+     *         there is no such cost.
+     */
+    int getMinimumCost();
   }
 
-  public Route findRoute(final Territory start, final Territory end) {
-    final Set<Territory> startSet = m_map.getNeighbors(start, m_condition);
-    for (final Territory t : startSet) {
-      m_previous.put(t, start);
+  public static final Cost ONE_PER_STEP = new Cost() {
+    @Override
+    public int getCost(final Territory from, final Territory to) {
+      return 1;
     }
-    if (calculate(startSet, end)) {
-      return getRoute(start, end);
+
+    @Override
+    public int getMinimumCost() {
+      return 1;
     }
-    return null;
+  };
+
+  private final GameMap m_map;
+  private final Match<Territory> m_condition;
+  private final Cost m_cost;
+
+  public RouteFinder(final GameMap map, final Match<Territory> condition) {
+    this(map, condition, ONE_PER_STEP);
   }
 
-  private boolean calculate(final Set<Territory> startSet, final Territory end) {
-    final Set<Territory> nextSet = new HashSet<Territory>();
-    for (final Territory t : startSet) {
-      final Set<Territory> neighbors = m_map.getNeighbors(t, m_condition);
-      for (final Territory neighbor : neighbors) {
-        if (!m_previous.containsKey(neighbor)) {
-          m_previous.put(neighbor, t);
-          if (neighbor.equals(end)) {
-            return true;
-          }
-          nextSet.add(neighbor);
-        }
-      }
-    }
-    if (nextSet.isEmpty()) {
-      return false;
-    }
-    return calculate(nextSet, end);
+  public RouteFinder(final GameMap map, final Match<Territory> condition, final Cost cost) {
+    m_map = map;
+    m_condition = condition;
+    m_cost = cost;
   }
 
-  private Route getRoute(final Territory start, final Territory destination) {
-    final List<Territory> route = new ArrayList<Territory>();
-    Territory current = destination;
-    while (current != start) {
-      if (current == null) {
-        return null;
-      }
-      route.add(current);
-      current = m_previous.get(current);
+  /**
+   * @return the cheapest route from start to end, or null if there is none.
+   */
+  public Route findRoute(final Territory start, final Territory end) {
+    final TerritoryGraph graph = m_map.getGraph();
+    final int from = graph.indexOf(start);
+    final int to = graph.indexOf(end);
+    if (from < 0 || to < 0) {
+      return null;
     }
-    route.add(start);
-    Collections.reverse(route);
-    return new Route(route);
+    final List<Territory> route = graph.findRoute(from, to, m_condition, m_cost);
+    return route == null ? null : new Route(route);
   }
 }
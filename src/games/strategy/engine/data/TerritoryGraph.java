@@ -0,0 +1,390 @@
+package games.strategy.engine.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import games.strategy.util.Match;
+
+/**
+ * A read only copy of the connections of a GameMap, with the territories numbered in map order, for fast breadth first
+ * searches. The neighbors of all territories are kept in one array (compressed sparse rows), so a search only needs a
+ * few int arrays instead of sets of territories.
+ * Distances over all, land only or water only territories do not depend on the game state, so each start territory's
+ * distances are remembered the first time they are asked for. The GameMap throws its graph away whenever territories
+ * or connections change.
+ * Cheapest routes are found with A*, using the distances from a few landmark territories as a lower bound of the
+ * number of steps left, and search state that is kept per thread so a search allocates almost nothing.
+ */
+class TerritoryGraph {
+  static final int ALL = 0;
+  static final int LAND = 1;
+  static final int WATER = 2;
+  // how many landmarks guide route searches
+  private static final int LANDMARK_COUNT = 4;
+  private final Territory[] m_territories;
+  private final Map<Territory, Integer> m_indexes;
+  // the neighbors of territory i are m_neighbors[m_firstNeighbor[i]] to m_neighbors[m_firstNeighbor[i + 1] - 1]
+  private final int[] m_firstNeighbor;
+  private final int[] m_neighbors;
+  private final boolean[] m_water;
+  // [movement class][start territory] -> distance to each territory, or -1 if it can not be reached
+  private final int[][][] m_distances = new int[3][][];
+  // distances from each landmark to every territory over all territories, chosen when first needed
+  private int[][] m_landmarkDistances = null;
+  private final ThreadLocal<RouteSearch> m_routeSearches = new ThreadLocal<RouteSearch>() {
+    @Override
+    protected RouteSearch initialValue() {
+      return new RouteSearch(m_territories.length);
+    }
+  };
+
+  TerritoryGraph(final List<Territory> territories, final Map<Territory, Set<Territory>> connections) {
+    final int size = territories.size();
+    m_territories = territories.toArray(new Territory[size]);
+    m_indexes = new HashMap<Territory, Integer>(size * 2);
+    m_water = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      m_indexes.put(m_territories[i], i);
+      m_water[i] = m_territories[i].isWater();
+    }
+    m_firstNeighbor = new int[size + 1];
+    int connectionCount = 0;
+    for (int i = 0; i < size; i++) {
+      m_firstNeighbor[i] = connectionCount;
+      connectionCount += connections.get(m_territories[i]).size();
+    }
+    m_firstNeighbor[size] = connectionCount;
+    m_neighbors = new int[connectionCount];
+    for (int i = 0; i < size; i++) {
+      int next = m_firstNeighbor[i];
+      for (final Territory neighbor : connections.get(m_territories[i])) {
+        m_neighbors[next++] = m_indexes.get(neighbor);
+      }
+    }
+    for (int movementClass = 0; movementClass < m_distances.length; movementClass++) {
+      m_distances[movementClass] = new int[size][];
+    }
+  }
+
+  /**
+   * @return the number of the territory, or -1 if it is not on the map.
+   */
+  int indexOf(final Territory t) {
+    final Integer index = m_indexes.get(t);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * @return the distance between two territories over territories of the movement class (ALL, LAND or WATER), or -1
+   *         if they are not connected.
+   */
+  synchronized int getDistance(final int movementClass, final int from, final int to) {
+    int[] distances = m_distances[movementClass][from];
+    if (distances == null) {
+      distances = search(new int[] {from}, Integer.MAX_VALUE, -1, movementClass, null);
+      m_distances[movementClass][from] = distances;
+    }
+    return distances[to];
+  }
+
+  /**
+   * @return the distance between two territories where the covered territories of the route satisfy the condition, or
+   *         -1 if they are not connected.
+   */
+  int getDistance(final int from, final int to, final Match<Territory> cond) {
+    return search(new int[] {from}, Integer.MAX_VALUE, to, ALL, cond)[to];
+  }
+
+  /**
+   * @return all territories within distance of any of the start territories that match the condition (if there is
+   *         one). Does NOT include the start territories. Start territories that are not on the map are ignored.
+   */
+  Set<Territory> getNeighbors(final Collection<Territory> start, final int distance, final Match<Territory> cond) {
+    final int[] starts = new int[start.size()];
+    int startCount = 0;
+    for (final Territory t : start) {
+      final int index = indexOf(t);
+      if (index >= 0) {
+        starts[startCount++] = index;
+      }
+    }
+    final int[] distances = search(Arrays.copyOf(starts, startCount), distance, -1, ALL, cond);
+    final Set<Territory> neighbors = new HashSet<Territory>();
+    for (int i = 0; i < distances.length; i++) {
+      if (distances[i] > 0) {
+        neighbors.add(m_territories[i]);
+      }
+    }
+    return neighbors;
+  }
+
+  /**
+   * A* search for the cheapest route, moving only into territories that match the condition (if there is one).
+   *
+   * @return the territories of the route from start to end, or null if there is no route.
+   */
+  List<Territory> findRoute(final int from, final int to, final Match<Territory> cond, final RouteFinder.Cost cost) {
+    if (from == to) {
+      return Collections.singletonList(m_territories[from]);
+    }
+    final int[][] landmarkDistances = getLandmarkDistances();
+    final int minimumCost = Math.max(0, cost.getMinimumCost());
+    final RouteSearch search = m_routeSearches.get();
+    search.start();
+    search.update(from, -1, 0, getLowerBound(landmarkDistances, from, to, minimumCost));
+    int current;
+    while ((current = search.next()) >= 0) {
+      if (current == to) {
+        return search.getRoute(to);
+      }
+      for (int i = m_firstNeighbor[current]; i < m_firstNeighbor[current + 1]; i++) {
+        final int neighbor = m_neighbors[i];
+        if (search.isClosed(neighbor) || !search.isAllowed(neighbor, cond)) {
+          continue;
+        }
+        final int stepCost = cost.getCost(m_territories[current], m_territories[neighbor]);
+        if (stepCost < 0) {
+          continue;
+        }
+        final long routeCost = (long) search.getCost(current) + stepCost;
+        if (!search.isSeen(neighbor) || routeCost < search.getCost(neighbor)) {
+          search.update(neighbor, current, routeCost,
+              getLowerBound(landmarkDistances, neighbor, to, minimumCost));
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * A route from a territory to the end takes at least as many steps as the end is further from any landmark than the
+   * territory is (d(landmark, end) <= d(landmark, t) + d(t, end)). This also holds for one way connections, and for
+   * routes limited by a condition, since those can only be longer.
+   */
+  private static long getLowerBound(final int[][] landmarkDistances, final int territory, final int end,
+      final int minimumCost) {
+    if (minimumCost == 0) {
+      return 0;
+    }
+    int steps = 0;
+    for (final int[] distances : landmarkDistances) {
+      if (distances[territory] >= 0 && distances[end] >= 0) {
+        steps = Math.max(steps, distances[end] - distances[territory]);
+      }
+    }
+    return (long) steps * minimumCost;
+  }
+
+  /**
+   * Picks landmarks spread over the map: each one is the territory furthest from all landmarks picked before it.
+   */
+  private synchronized int[][] getLandmarkDistances() {
+    if (m_landmarkDistances != null) {
+      return m_landmarkDistances;
+    }
+    final int count = Math.min(LANDMARK_COUNT, m_territories.length);
+    final int[][] landmarkDistances = new int[count][];
+    final int[] distanceToNearestLandmark = new int[m_territories.length];
+    Arrays.fill(distanceToNearestLandmark, Integer.MAX_VALUE);
+    int landmark = 0;
+    for (int i = 0; i < count; i++) {
+      landmarkDistances[i] = search(new int[] {landmark}, Integer.MAX_VALUE, -1, ALL, null);
+      int furthest = -1;
+      for (int t = 0; t < m_territories.length; t++) {
+        // territories that can not be reached from a landmark count as infinitely far
+        final int distance = landmarkDistances[i][t] < 0 ? Integer.MAX_VALUE : landmarkDistances[i][t];
+        distanceToNearestLandmark[t] = Math.min(distanceToNearestLandmark[t], distance);
+        if (furthest < 0 || distanceToNearestLandmark[t] > distanceToNearestLandmark[furthest]) {
+          furthest = t;
+        }
+      }
+      landmark = furthest;
+    }
+    m_landmarkDistances = landmarkDistances;
+    return landmarkDistances;
+  }
+
+  /**
+   * Breadth first search from the start territories, over territories that are of the movement class and match the
+   * condition, to at most maxDistance steps away or until the target is found.
+   *
+   * @return the distance to each territory, or -1 for territories not reached.
+   */
+  private int[] search(final int[] starts, final int maxDistance, final int target, final int movementClass,
+      final Match<Territory> cond) {
+    final int[] distances = new int[m_territories.length];
+    Arrays.fill(distances, -1);
+    final int[] queue = new int[m_territories.length];
+    int head = 0;
+    int tail = 0;
+    for (final int start : starts) {
+      if (distances[start] < 0) {
+        distances[start] = 0;
+        queue[tail++] = start;
+      }
+    }
+    // territories that do not match are marked as seen so they are only checked once
+    final boolean[] excluded = new boolean[m_territories.length];
+    while (head < tail) {
+      final int current = queue[head++];
+      final int nextDistance = distances[current] + 1;
+      if (nextDistance > maxDistance) {
+        break;
+      }
+      for (int i = m_firstNeighbor[current]; i < m_firstNeighbor[current + 1]; i++) {
+        final int neighbor = m_neighbors[i];
+        if (distances[neighbor] >= 0 || excluded[neighbor]) {
+          continue;
+        }
+        if (!isOfMovementClass(neighbor, movementClass) || (cond != null && !cond.match(m_territories[neighbor]))) {
+          excluded[neighbor] = true;
+          continue;
+        }
+        distances[neighbor] = nextDistance;
+        if (neighbor == target) {
+          return distances;
+        }
+        queue[tail++] = neighbor;
+      }
+    }
+    return distances;
+  }
+
+  /**
+   * The state of a route search, reused by all the searches of one thread. Instead of clearing the arrays, each search
+   * gets a new number, and entries marked with an older number count as empty.
+   */
+  private final class RouteSearch {
+    private final long[] m_cost;
+    private final int[] m_previous;
+    private final int[] m_seen;
+    private final int[] m_closed;
+    private final int[] m_checked;
+    private final boolean[] m_allowed;
+    private int m_search = 0;
+    // binary heap of (lower bound of the route cost << 32 | territory), lowest first
+    private long[] m_heap = new long[64];
+    private int m_heapSize = 0;
+
+    RouteSearch(final int size) {
+      m_cost = new long[size];
+      m_previous = new int[size];
+      m_seen = new int[size];
+      m_closed = new int[size];
+      m_checked = new int[size];
+      m_allowed = new boolean[size];
+    }
+
+    void start() {
+      if (m_search == Integer.MAX_VALUE) {
+        Arrays.fill(m_seen, 0);
+        Arrays.fill(m_closed, 0);
+        Arrays.fill(m_checked, 0);
+        m_search = 0;
+      }
+      m_search++;
+      m_heapSize = 0;
+    }
+
+    boolean isSeen(final int territory) {
+      return m_seen[territory] == m_search;
+    }
+
+    boolean isClosed(final int territory) {
+      return m_closed[territory] == m_search;
+    }
+
+    boolean isAllowed(final int territory, final Match<Territory> cond) {
+      if (m_checked[territory] != m_search) {
+        m_checked[territory] = m_search;
+        m_allowed[territory] = cond == null || cond.match(m_territories[territory]);
+      }
+      return m_allowed[territory];
+    }
+
+    long getCost(final int territory) {
+      return m_cost[territory];
+    }
+
+    void update(final int territory, final int previous, final long cost, final long lowerBoundLeft) {
+      m_seen[territory] = m_search;
+      m_cost[territory] = cost;
+      m_previous[territory] = previous;
+      push((Math.min(Integer.MAX_VALUE, cost + lowerBoundLeft) << 32) | territory);
+    }
+
+    /**
+     * @return the open territory with the lowest lower bound of the route cost, which is then closed, or -1 if there
+     *         are none left.
+     */
+    int next() {
+      while (m_heapSize > 0) {
+        final int territory = (int) (pop() & 0xFFFFFFFFL);
+        // a territory can be in the heap more than once if a cheaper way to it was found later
+        if (!isClosed(territory)) {
+          m_closed[territory] = m_search;
+          return territory;
+        }
+      }
+      return -1;
+    }
+
+    List<Territory> getRoute(final int end) {
+      final List<Territory> route = new ArrayList<Territory>();
+      for (int t = end; t >= 0; t = m_previous[t]) {
+        route.add(m_territories[t]);
+      }
+      Collections.reverse(route);
+      return route;
+    }
+
+    private void push(final long entry) {
+      if (m_heapSize == m_heap.length) {
+        m_heap = Arrays.copyOf(m_heap, m_heapSize * 2);
+      }
+      int i = m_heapSize++;
+      while (i > 0 && m_heap[(i - 1) / 2] > entry) {
+        m_heap[i] = m_heap[(i - 1) / 2];
+        i = (i - 1) / 2;
+      }
+      m_heap[i] = entry;
+    }
+
+    private long pop() {
+      final long top = m_heap[0];
+      final long last = m_heap[--m_heapSize];
+      int i = 0;
+      while (2 * i + 1 < m_heapSize) {
+        int child = 2 * i + 1;
+        if (child + 1 < m_heapSize && m_heap[child + 1] < m_heap[child]) {
+          child++;
+        }
+        if (m_heap[child] >= last) {
+          break;
+        }
+        m_heap[i] = m_heap[child];
+        i = child;
+      }
+      m_heap[i] = last;
+      return top;
+    }
+  }
+
+  private boolean isOfMovementClass(final int territory, final int movementClass) {
+    switch (movementClass) {
+      case LAND:
+        return !m_water[territory];
+      case WATER:
+        return m_water[territory];
+      default:
+        return true;
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package games.strategy.engine.data.events;
+
+import games.strategy.engine.data.Change;
+
+/**
+ * Like GameDataChangeListener, but also told the number of each change, see GameData.getChangesPerformed(). Added
+ * with GameData.addNumberedDataChangeListener().
+ * <p>
+ * Listeners are notified after the write lock is released, so a change may already show in a copy of the game data
+ * made before its notification arrives. Its number tells whether it does.
+ */
+public interface NumberedGameDataChangeListener {
+  public void gameDataChanged(Change aChange, long changeNumber);
+}
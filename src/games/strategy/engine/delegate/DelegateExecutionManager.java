@@ -36,11 +36,27 @@ public class DelegateExecutionManager {
   private final ReentrantReadWriteLock m_readWriteLock = new ReentrantReadWriteLock();
   private final ThreadLocal<Boolean> m_currentThreadHasReadLock = new ThreadLocal<Boolean>();
   private volatile boolean m_isGameOver = false;
+  private volatile Runnable m_beforeLeavingDelegateExecution;
 
   public void setGameOver() {
     m_isGameOver = true;
   }
 
+  /**
+   * Sets an action that is run whenever a thread leaves delegate execution or calls out of a delegate, before anyone
+   * else gets to see what the delegate did. The server game uses this to send the changes the delegate made.
+   */
+  public void setBeforeLeavingDelegateExecution(final Runnable action) {
+    m_beforeLeavingDelegateExecution = action;
+  }
+
+  private void beforeLeavingDelegateExecution() {
+    final Runnable action = m_beforeLeavingDelegateExecution;
+    if (action != null) {
+      action.run();
+    }
+  }
+
   /**
    * When this method returns true, threads will not be able to enter delegates until
    * a call to resumeDelegateExecution is made.
@@ -107,6 +123,8 @@ public class DelegateExecutionManager {
         final boolean threadLocks = currentThreadHasReadLock();
         if (threadLocks) {
           leaveDelegateExecution();
+        } else {
+          beforeLeavingDelegateExecution();
         }
         try {
           return method.invoke(implementor, args);
@@ -167,8 +185,12 @@ public class DelegateExecutionManager {
     if (sm_logger.isLoggable(Level.FINE)) {
       sm_logger.fine(Thread.currentThread().getName() + " leaves delegate execution.");
     }
-    m_readWriteLock.readLock().unlock();
-    m_currentThreadHasReadLock.set(null);
+    try {
+      beforeLeavingDelegateExecution();
+    } finally {
+      m_readWriteLock.readLock().unlock();
+      m_currentThreadHasReadLock.set(null);
+    }
   }
 
   public void enterDelegateExecution() {
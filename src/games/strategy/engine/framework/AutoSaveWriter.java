@@ -0,0 +1,215 @@
+package games.strategy.engine.framework;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses and writes autosaves on a background thread, so the game only waits while the snapshot is taken.
+ * <p>
+ * A full save is written to a temporary file first, which then replaces the autosave, so a save that is cut short
+ * never leaves a broken autosave behind. An autosave that was written by this writer can instead be brought up to date
+ * by appending a tail from the SaveGameLog. Saves are written one at a time in the order they were queued, and only a
+ * few are queued, if the writer falls that far behind the game thread waits for it.
+ */
+class AutoSaveWriter {
+  private static final Logger s_logger = Logger.getLogger(AutoSaveWriter.class.getName());
+  private static final int MAX_QUEUED_SAVES = 2;
+  // after this many tails an autosave is written in full again, so loading it does not replay too much
+  private static final int MAX_TAILS = 20;
+  private final ThreadPoolExecutor m_executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+      new ArrayBlockingQueue<Runnable>(MAX_QUEUED_SAVES), runnable -> {
+        final Thread thread = new Thread(runnable, "Autosave writer");
+        thread.setDaemon(true);
+        return thread;
+      }, (runnable, executor) -> {
+        // wait for room rather than writing on the game thread, so the saves to a file are never out of order
+        if (executor.isShutdown()) {
+          throw new RejectedExecutionException("The autosave writer is shut down");
+        }
+        try {
+          executor.getQueue().put(runnable);
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RejectedExecutionException(e);
+        }
+      });
+  private final Map<File, SavedFile> m_savedFiles = new ConcurrentHashMap<File, SavedFile>();
+  private volatile File m_lastQueued;
+
+  /**
+   * Returns what this writer has done with the file.
+   */
+  SavedFile getSavedFile(final File file) {
+    return m_savedFiles.computeIfAbsent(file, SavedFile::new);
+  }
+
+  /**
+   * Returns the smallest log size of the saved files that can still be appended to, the log entries before it are not
+   * needed any more.
+   */
+  long getOldestLogSize(final long logSize) {
+    long oldest = logSize;
+    for (final SavedFile saved : m_savedFiles.values()) {
+      if (saved.canAppend()) {
+        oldest = Math.min(oldest, saved.m_queuedLogSize);
+      }
+    }
+    return oldest;
+  }
+
+  /**
+   * Queues a full save to be written to the file.
+   *
+   * @param logSize
+   *        the size of the save game log when the snapshot was taken
+   * @param snapshotMillis
+   *        how long taking the snapshot took, for the log
+   */
+  void write(final ByteArrayOutputStream snapshot, final SavedFile saved, final long logSize,
+      final long snapshotMillis) {
+    saved.m_queuedLogSize = logSize;
+    saved.m_queuedTails = 0;
+    queue(saved, snapshotMillis, "Autosaved ", () -> {
+      writeAtomically(snapshot, saved.m_file);
+      saved.m_length = saved.m_file.length();
+      saved.m_logSize = logSize;
+      saved.m_failed = false;
+    });
+  }
+
+  /**
+   * Queues a tail to be appended to the file, which must have been written by this writer.
+   *
+   * @param logSize
+   *        the size of the save game log when the tail was taken
+   */
+  void append(final ByteArrayOutputStream tail, final SavedFile saved, final long logSize,
+      final long snapshotMillis) {
+    final long tailStart = saved.m_queuedLogSize;
+    saved.m_queuedLogSize = logSize;
+    saved.m_queuedTails++;
+    queue(saved, snapshotMillis, "Appended to autosave ", () -> {
+      // a save before this one failed, or the file was changed by someone else, the next autosave is written in full
+      if (saved.m_failed || saved.m_logSize != tailStart) {
+        throw new IOException("An earlier save to the file failed, the tail was not appended");
+      }
+      if (saved.m_file.length() != saved.m_length) {
+        throw new IOException("The file was changed since it was last saved, the tail was not appended");
+      }
+      try (final GZIPOutputStream out =
+          new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(saved.m_file, true)))) {
+        tail.writeTo(out);
+      }
+      saved.m_length = saved.m_file.length();
+      saved.m_logSize = logSize;
+    });
+  }
+
+  private void queue(final SavedFile saved, final long snapshotMillis, final String message, final Write write) {
+    m_lastQueued = saved.m_file;
+    final Runnable task = () -> {
+      final long start = System.currentTimeMillis();
+      try {
+        write.run();
+        s_logger.info(message + saved.m_file.getName() + " in " + (System.currentTimeMillis() - start)
+            + " ms, the game waited " + snapshotMillis + " ms for the snapshot");
+      } catch (final IOException e) {
+        saved.m_failed = true;
+        s_logger.log(Level.SEVERE, "Could not autosave to " + saved.m_file.getAbsolutePath(), e);
+      }
+    };
+    try {
+      m_executor.execute(task);
+    } catch (final RejectedExecutionException e) {
+      saved.m_failed = true;
+      s_logger.log(Level.WARNING, "Autosave to " + saved.m_file.getAbsolutePath() + " was not queued", e);
+    }
+  }
+
+  /**
+   * Returns the file most recently queued, which may not have been written yet.
+   */
+  File getLastQueued() {
+    return m_lastQueued;
+  }
+
+  /**
+   * Waits for the queued saves to be written.
+   */
+  void shutDown(final long timeoutMillis) {
+    m_executor.shutdown();
+    try {
+      if (!m_executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+        s_logger.warning("Autosaves still being written after " + timeoutMillis + " ms");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  static void writeAtomically(final ByteArrayOutputStream snapshot, final File file) throws IOException {
+    // a temp file of its own, so it is never one another save is still writing
+    final Path temp = Files.createTempFile(file.getAbsoluteFile().getParentFile().toPath(), file.getName(), ".tmp");
+    try {
+      try (final FileOutputStream out = new FileOutputStream(temp.toFile())) {
+        GameDataManager.writeSnapshot(snapshot, new BufferedOutputStream(out, 64 * 1024));
+      }
+      try {
+        Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (final AtomicMoveNotSupportedException e) {
+        Files.move(temp, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private interface Write {
+    void run() throws IOException;
+  }
+
+  /**
+   * An autosave file, and what has been queued to be written to it.
+   */
+  static class SavedFile {
+    private final File m_file;
+    // only used by the game thread, where the file will be once the saves queued so far are written
+    private long m_queuedLogSize = -1;
+    private int m_queuedTails = 0;
+    // only used by the writer thread, where the file is, these only move forward once a save is written
+    private long m_length = -1;
+    private long m_logSize = -1;
+    private volatile boolean m_failed = false;
+
+    SavedFile(final File file) {
+      m_file = file;
+    }
+
+    /**
+     * Returns true if the next save to this file can be a tail, starting at getLogSize().
+     */
+    boolean canAppend() {
+      return m_queuedLogSize >= 0 && m_queuedTails < MAX_TAILS && !m_failed;
+    }
+
+    long getLogSize() {
+      return m_queuedLogSize;
+    }
+  }
+}
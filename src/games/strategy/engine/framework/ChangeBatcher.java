@@ -0,0 +1,111 @@
+package games.strategy.engine.framework;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.PlayerID;
+
+/**
+ * Sends the changes the server makes to the game data on to the other nodes in batches, one message per batch rather
+ * than one per change.
+ * <p>
+ * Changes are performed on the server straight away, so the delegates see them, but they are only broadcast when the
+ * batch is flushed. The batch is flushed before any other call on the game modified channel, so history events and
+ * step changes stay in order with the changes. The server game also flushes it whenever a delegate calls out to a
+ * player or a display, or leaves delegate execution, so the other nodes are up to date before they are asked to do
+ * anything.
+ */
+class ChangeBatcher implements IGameModifiedChannel {
+  private static final Logger s_logger = Logger.getLogger(ChangeBatcher.class.getName());
+  // keeps a single message from growing without bound when a delegate makes a lot of changes in one go
+  static final int MAX_BATCH_SIZE = 500;
+  private final IGameModifiedChannel m_channel;
+  private final Consumer<Change> m_localPerformer;
+  private final List<Change> m_batch = new ArrayList<Change>();
+  private volatile Change m_changeBeingSent;
+
+  /**
+   * @param channel
+   *        the broadcaster of the game modified channel
+   * @param localPerformer
+   *        performs a change on the game data of this node
+   */
+  ChangeBatcher(final IGameModifiedChannel channel, final Consumer<Change> localPerformer) {
+    m_channel = channel;
+    m_localPerformer = localPerformer;
+  }
+
+  @Override
+  public synchronized void gameDataChanged(final Change aChange) {
+    m_batch.add(aChange);
+    try {
+      m_localPerformer.accept(aChange);
+    } catch (final RuntimeException e) {
+      // the change is still sent, just as when each change was broadcast on its own
+      s_logger.log(Level.WARNING, e.getMessage(), e);
+    }
+    if (m_batch.size() >= MAX_BATCH_SIZE) {
+      flush();
+    }
+  }
+
+  /**
+   * Broadcasts the changes made since the last flush, if there are any.
+   */
+  public synchronized void flush() {
+    if (m_batch.isEmpty()) {
+      return;
+    }
+    final Change change = m_batch.size() == 1 ? m_batch.get(0) : new CompositeChange(m_batch);
+    m_batch.clear();
+    m_changeBeingSent = change;
+    try {
+      m_channel.gameDataChanged(change);
+    } finally {
+      m_changeBeingSent = null;
+    }
+  }
+
+  /**
+   * Returns true if the change is a batch being flushed, whose changes have already been performed on this node.
+   */
+  boolean isBeingSent(final Change aChange) {
+    return aChange == m_changeBeingSent;
+  }
+
+  @Override
+  public synchronized void startHistoryEvent(final String event, final Object renderingData) {
+    flush();
+    m_channel.startHistoryEvent(event, renderingData);
+  }
+
+  @Override
+  public synchronized void startHistoryEvent(final String event) {
+    flush();
+    m_channel.startHistoryEvent(event);
+  }
+
+  @Override
+  public synchronized void addChildToEvent(final String text, final Object renderingData) {
+    flush();
+    m_channel.addChildToEvent(text, renderingData);
+  }
+
+  @Override
+  public synchronized void stepChanged(final String stepName, final String delegateName, final PlayerID player,
+      final int round, final String displayName, final boolean loadedFromSavedGame) {
+    flush();
+    m_channel.stepChanged(stepName, delegateName, player, round, displayName, loadedFromSavedGame);
+  }
+
+  @Override
+  public synchronized void shutDown() {
+    flush();
+    m_channel.shutDown();
+  }
+}
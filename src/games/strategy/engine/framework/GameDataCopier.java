@@ -0,0 +1,91 @@
+package games.strategy.engine.framework;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.history.History;
+
+/**
+ * Makes deep copies of a GameData.
+ * The game data is written once into an in memory buffer when the copier is created, and every call to copy() reads a
+ * new, independent GameData back out of that buffer. Unlike a savegame, there is no version header and no compression,
+ * since the copies never leave this vm.
+ * Copies may be made from several threads at once, and the original game data is not touched by copy().
+ */
+public class GameDataCopier {
+  // size of the last game data written, so the next (probably similar) one does not have to grow its buffer
+  private static volatile int s_lastCopySize = 10000;
+  private static volatile int s_lastCopySizeWithoutHistory = 10000;
+  private final GameDataManager m_manager = new GameDataManager();
+  private final CopyBuffer m_buffer;
+
+  /**
+   * Writes the game data while holding its read lock.
+   */
+  public GameDataCopier(final GameData data, final boolean copyDelegates) throws IOException {
+    this(data, copyDelegates, true);
+  }
+
+  /**
+   * Writes the game data while holding its read lock.
+   *
+   * @param copyHistory
+   *        if false, the copies get an empty history. The history is usually the largest part of a game that has
+   *        been played for a while, so copies that only simulate (like the ones the odds calculator fights its battles
+   *        in) should leave it out.
+   */
+  public GameDataCopier(final GameData data, final boolean copyDelegates, final boolean copyHistory)
+      throws IOException {
+    m_buffer = new CopyBuffer(copyHistory ? s_lastCopySize : s_lastCopySizeWithoutHistory);
+    final ObjectOutputStream out =
+        copyHistory ? new ObjectOutputStream(m_buffer) : new WithoutHistoryObjectOutputStream(m_buffer);
+    m_manager.writeGameData(out, data, copyDelegates);
+    out.close();
+    if (copyHistory) {
+      s_lastCopySize = m_buffer.size();
+    } else {
+      s_lastCopySizeWithoutHistory = m_buffer.size();
+    }
+  }
+
+  public GameData copy() throws IOException {
+    return m_manager.readGameData(new ObjectInputStream(m_buffer.toInputStream()));
+  }
+
+  /**
+   * @return the number of bytes each copy is read from.
+   */
+  public int getSize() {
+    return m_buffer.size();
+  }
+
+  /**
+   * A byte array output stream whose contents can be read back without copying the buffer.
+   */
+  private static final class CopyBuffer extends ByteArrayOutputStream {
+    CopyBuffer(final int size) {
+      super(size);
+    }
+
+    ByteArrayInputStream toInputStream() {
+      return new ByteArrayInputStream(buf, 0, count);
+    }
+  }
+
+  private static final class WithoutHistoryObjectOutputStream extends ObjectOutputStream {
+    WithoutHistoryObjectOutputStream(final OutputStream out) throws IOException {
+      super(out);
+      enableReplaceObject(true);
+    }
+
+    @Override
+    protected Object replaceObject(final Object obj) throws IOException {
+      return History.withoutSerializedHistory(obj);
+    }
+  }
+}
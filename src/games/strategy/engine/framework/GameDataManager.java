@@ -57,7 +57,13 @@ public class GameDataManager {
   }
 
   public GameData loadGame(final InputStream input, final String path) throws IOException {
-    return loadGame(new ObjectInputStream(new GZIPInputStream(input)), path);
+    final GZIPInputStream unzipped = new GZIPInputStream(input);
+    final GameData data = loadGame(new ObjectInputStream(unzipped), path);
+    // autosaves may have been brought up to date by appending to them
+    if (data != null) {
+      SaveGameLog.readTails(unzipped, data);
+    }
+    return data;
   }
 
   public GameData loadGame(final ObjectInputStream input, final String savegamePath) throws IOException {
@@ -149,6 +155,21 @@ public class GameDataManager {
     }
   }
 
+  /**
+   * Reads game data written by writeGameData, without a version header and without compression.
+   * Only meant for in memory copies made by this engine.
+   */
+  GameData readGameData(final ObjectInputStream input) throws IOException {
+    try {
+      final GameData data = (GameData) input.readObject();
+      loadDelegates(input, data);
+      data.postDeSerialize();
+      return data;
+    } catch (final ClassNotFoundException cnfe) {
+      throw new IOException(cnfe.getMessage());
+    }
+  }
+
   /**
    * Use this to keep compatibility between savegames when it is easy to do so.
    * When it is not easy to do so, just make sure to include the last release's .jar file in the "old" folder for
@@ -212,7 +233,7 @@ public class GameDataManager {
     try (final OutputStream fileStream = new FileOutputStream(destination);
         BufferedOutputStream out = new BufferedOutputStream(fileStream);) {
 
-      saveGame(fileStream, data);
+      saveGame(out, data);
     }
   }
 
@@ -223,9 +244,35 @@ public class GameDataManager {
   public void saveGame(final OutputStream sink, final GameData data, final boolean saveDelegateInfo)
       throws IOException {
     // write internally first in case of error
+    writeSnapshot(takeSnapshot(data, saveDelegateInfo), sink);
+  }
+
+  /**
+   * Returns the uncompressed saved game. This is the part of saving that needs the game data to stay unchanged,
+   * compressing and writing it with writeSnapshot(...) can be done later, and on another thread.
+   */
+  ByteArrayOutputStream takeSnapshot(final GameData data, final boolean saveDelegateInfo) throws IOException {
     final ByteArrayOutputStream bytes = new ByteArrayOutputStream(25000);
     final ObjectOutputStream outStream = new ObjectOutputStream(bytes);
     outStream.writeObject(games.strategy.engine.ClientContext.engineVersion().getVersion());
+    writeGameData(outStream, data, saveDelegateInfo);
+    return bytes;
+  }
+
+  /**
+   * Compresses a snapshot taken by takeSnapshot(...) into the sink, and closes the sink.
+   */
+  static void writeSnapshot(final ByteArrayOutputStream snapshot, final OutputStream sink) throws IOException {
+    try (final GZIPOutputStream zippedOut = new GZIPOutputStream(sink, 64 * 1024)) {
+      snapshot.writeTo(zippedOut);
+    }
+  }
+
+  /**
+   * Writes the game data (and optionally the delegates) while holding the read lock, without a version header.
+   */
+  void writeGameData(final ObjectOutputStream outStream, final GameData data, final boolean saveDelegateInfo)
+      throws IOException {
     data.acquireReadLock();
     try {
       outStream.writeObject(data);
@@ -237,10 +284,7 @@ public class GameDataManager {
     } finally {
       data.releaseReadLock();
     }
-    try (final GZIPOutputStream zippedOut = new GZIPOutputStream(sink)) {
-      // now write to file
-      zippedOut.write(bytes.toByteArray());
-    }
+    outStream.flush();
   }
 
   private void writeDelegates(final GameData data, final ObjectOutputStream out) throws IOException {
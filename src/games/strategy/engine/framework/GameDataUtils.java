@@ -18,14 +18,16 @@ public class GameDataUtils {
    * <Strong>You should have the game datas read or write lock before calling this method</STRONG>
    */
   public static GameData cloneGameData(final GameData data, final boolean copyDelegates) {
+    return cloneGameData(data, copyDelegates, true);
+  }
+
+  /**
+   * Create a deep copy of GameData, optionally leaving out the history.
+   * <Strong>You should have the game datas read or write lock before calling this method</STRONG>
+   */
+  public static GameData cloneGameData(final GameData data, final boolean copyDelegates, final boolean copyHistory) {
     try {
-      final GameDataManager manager = new GameDataManager();
-      ByteArrayOutputStream sink = new ByteArrayOutputStream(10000);
-      manager.saveGame(sink, data, copyDelegates);
-      sink.close();
-      final ByteArrayInputStream source = new ByteArrayInputStream(sink.toByteArray());
-      sink = null;
-      return manager.loadGame(source, null);
+      return new GameDataCopier(data, copyDelegates, copyHistory).copy();
     } catch (final IOException ex) {
       ex.printStackTrace();
       return null;
@@ -0,0 +1,303 @@
+package games.strategy.engine.framework;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectInputStream;
+import games.strategy.engine.data.GameObjectOutputStream;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.delegate.IDelegate;
+import games.strategy.engine.history.EventChild;
+
+/**
+ * Records everything the server game does to its game data, so an autosave can be brought up to date by appending
+ * what happened since it was last written, rather than by writing the whole game again.
+ * <p>
+ * An autosave is a normal saved game, followed by any number of tails. Each tail is a separately compressed block
+ * holding the entries recorded since the previous tail and the state of all delegates. The tails are written with a
+ * GameObjectOutputStream, the same way changes are sent to clients, so replaying them on the loaded game data is what a
+ * client does while watching the game. Engines that do not know about tails load the saved game at the start.
+ */
+class SaveGameLog {
+  private static final Logger s_logger = Logger.getLogger(SaveGameLog.class.getName());
+  // marks the start of each tail in the uncompressed stream
+  private static final int TAIL_MAGIC = 0x5441494C;
+  private final List<Entry> m_entries = new ArrayList<Entry>();
+  // the number of entries dropped from the start of m_entries
+  private long m_discarded = 0;
+
+  /**
+   * Returns the number of entries recorded since the game started.
+   */
+  synchronized long size() {
+    return m_discarded + m_entries.size();
+  }
+
+  /**
+   * Drops the entries before the index, which no saved game needs any more.
+   */
+  synchronized void discardBefore(final long index) {
+    final int count = (int) Math.min(index - m_discarded, m_entries.size());
+    if (count > 0) {
+      m_entries.subList(0, count).clear();
+      m_discarded += count;
+    }
+  }
+
+  synchronized void changePerformed(final Change change) {
+    m_entries.add(new ChangeEntry(change));
+  }
+
+  synchronized void roundStarted(final int round) {
+    m_entries.add(new RoundEntry(round));
+  }
+
+  synchronized void stepStarted(final String stepName, final String delegateName, final PlayerID player,
+      final String displayName) {
+    m_entries.add(new StepEntry(stepName, delegateName, player, displayName));
+  }
+
+  synchronized void eventStarted(final String event) {
+    m_entries.add(new EventEntry(event));
+  }
+
+  synchronized void renderingDataSet(final Object renderingData) {
+    m_entries.add(new RenderingDataEntry(renderingData));
+  }
+
+  synchronized void childAddedToEvent(final String text, final Object renderingData) {
+    m_entries.add(new EventChildEntry(text, renderingData));
+  }
+
+  synchronized void sequenceAdvanced() {
+    m_entries.add(new NextStepEntry());
+  }
+
+  synchronized void runCountIncremented() {
+    m_entries.add(new RunCountEntry());
+  }
+
+  /**
+   * Returns a tail with the entries from the index on, and the state of all delegates, ready to be appended to a saved
+   * game. Only call this while delegates are not executing.
+   */
+  synchronized ByteArrayOutputStream writeTail(final long from, final GameData data) throws IOException {
+    final Map<String, Serializable> delegateStates = new LinkedHashMap<String, Serializable>();
+    for (final IDelegate delegate : data.getDelegateList()) {
+      delegateStates.put(delegate.getName(), delegate.saveState());
+    }
+    final Tail tail = new Tail(new ArrayList<Entry>(m_entries.subList((int) (from - m_discarded), m_entries.size())),
+        delegateStates);
+    final ByteArrayOutputStream body = new ByteArrayOutputStream(4096);
+    try (final ObjectOutputStream out = new GameObjectOutputStream(body)) {
+      data.acquireReadLock();
+      try {
+        out.writeObject(tail);
+      } finally {
+        data.releaseReadLock();
+      }
+    }
+    final ByteArrayOutputStream framed = new ByteArrayOutputStream(body.size() + 8);
+    final DataOutputStream out = new DataOutputStream(framed);
+    out.writeInt(TAIL_MAGIC);
+    out.writeInt(body.size());
+    body.writeTo(out);
+    out.flush();
+    return framed;
+  }
+
+  /**
+   * Replays the tails that follow a saved game in the uncompressed stream onto the game data loaded from it.
+   * A tail that was cut short, by the game stopping while it was written, is ignored.
+   */
+  static void readTails(final InputStream in, final GameData data) throws IOException {
+    final DataInputStream input = new DataInputStream(in);
+    int count = 0;
+    while (true) {
+      final byte[] body;
+      try {
+        final int magic;
+        try {
+          magic = input.readInt();
+        } catch (final EOFException e) {
+          // no more tails
+          break;
+        }
+        if (magic != TAIL_MAGIC) {
+          throw new IOException("Not a saved game tail");
+        }
+        body = new byte[input.readInt()];
+        input.readFully(body);
+      } catch (final IOException e) {
+        s_logger.log(Level.WARNING, "Ignoring the rest of the saved game after " + count + " tails", e);
+        break;
+      }
+      final Tail tail;
+      try (final ObjectInputStream tailIn =
+          new GameObjectInputStream(new GameObjectStreamFactory(data), new ByteArrayInputStream(body))) {
+        tail = (Tail) tailIn.readObject();
+      } catch (final ClassNotFoundException e) {
+        throw new IOException(e.getMessage());
+      }
+      tail.replay(data);
+      count++;
+    }
+  }
+
+  private static class Tail implements Serializable {
+    private static final long serialVersionUID = 3391052208541364105L;
+    private final List<Entry> m_entries;
+    private final Map<String, Serializable> m_delegateStates;
+
+    Tail(final List<Entry> entries, final Map<String, Serializable> delegateStates) {
+      m_entries = entries;
+      m_delegateStates = delegateStates;
+    }
+
+    void replay(final GameData data) {
+      for (final Entry entry : m_entries) {
+        entry.replay(data);
+      }
+      for (final Map.Entry<String, Serializable> state : m_delegateStates.entrySet()) {
+        final IDelegate delegate = data.getDelegateList().getDelegate(state.getKey());
+        if (delegate != null) {
+          delegate.loadState(state.getValue());
+        }
+      }
+    }
+  }
+
+  /**
+   * Something the server game did to its game data, which can be done again to the game data loaded from a save.
+   */
+  private interface Entry extends Serializable {
+    void replay(GameData data);
+  }
+
+  private static class ChangeEntry implements Entry {
+    private static final long serialVersionUID = -2386178934468120349L;
+    private final Change m_change;
+
+    ChangeEntry(final Change change) {
+      m_change = change;
+    }
+
+    @Override
+    public void replay(final GameData data) {
+      data.performChange(m_change);
+      data.getHistory().getHistoryWriter().addChange(m_change);
+    }
+  }
+
+  private static class RoundEntry implements Entry {
+    private static final long serialVersionUID = 4981253209757016745L;
+    private final int m_round;
+
+    RoundEntry(final int round) {
+      m_round = round;
+    }
+
+    @Override
+    public void replay(final GameData data) {
+      data.getHistory().getHistoryWriter().startNextRound(m_round);
+    }
+  }
+
+  private static class StepEntry implements Entry {
+    private static final long serialVersionUID = -6043328587946924624L;
+    private final String m_stepName;
+    private final String m_delegateName;
+    private final PlayerID m_player;
+    private final String m_displayName;
+
+    StepEntry(final String stepName, final String delegateName, final PlayerID player, final String displayName) {
+      m_stepName = stepName;
+      m_delegateName = delegateName;
+      m_player = player;
+      m_displayName = displayName;
+    }
+
+    @Override
+    public void replay(final GameData data) {
+      data.getHistory().getHistoryWriter().startNextStep(m_stepName, m_delegateName, m_player, m_displayName);
+    }
+  }
+
+  private static class EventEntry implements Entry {
+    private static final long serialVersionUID = 1528434542946283440L;
+    private final String m_event;
+
+    EventEntry(final String event) {
+      m_event = event;
+    }
+
+    @Override
+    public void replay(final GameData data) {
+      data.getHistory().getHistoryWriter().startEvent(m_event);
+    }
+  }
+
+  private static class RenderingDataEntry implements Entry {
+    private static final long serialVersionUID = 8216722402651960217L;
+    private final Object m_renderingData;
+
+    RenderingDataEntry(final Object renderingData) {
+      m_renderingData = renderingData;
+    }
+
+    @Override
+    public void replay(final GameData data) {
+      data.getHistory().getHistoryWriter().setRenderingData(m_renderingData);
+    }
+  }
+
+  private static class EventChildEntry implements Entry {
+    private static final long serialVersionUID = -4403458315446935627L;
+    private final String m_text;
+    private final Object m_renderingData;
+
+    EventChildEntry(final String text, final Object renderingData) {
+      m_text = text;
+      m_renderingData = renderingData;
+    }
+
+    @Override
+    public void replay(final GameData data) {
+      data.getHistory().getHistoryWriter().addChildToEvent(new EventChild(m_text, m_renderingData));
+    }
+  }
+
+  private static class NextStepEntry implements Entry {
+    private static final long serialVersionUID = -1230593262519436342L;
+
+    @Override
+    public void replay(final GameData data) {
+      data.getSequence().next();
+    }
+  }
+
+  private static class RunCountEntry implements Entry {
+    private static final long serialVersionUID = 5064404536937498837L;
+
+    @Override
+    public void replay(final GameData data) {
+      data.getSequence().getStep().incrementRunCount();
+    }
+  }
+}
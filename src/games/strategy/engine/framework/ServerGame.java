@@ -61,6 +61,9 @@ public class ServerGame extends AbstractGame {
   private IRandomSource m_randomSource = new PlainRandomSource();
   private IRandomSource m_delegateRandomSource;
   private final DelegateExecutionManager m_delegateExecutionManager = new DelegateExecutionManager();
+  private final ChangeBatcher m_changeBatcher;
+  private final AutoSaveWriter m_autoSaveWriter = new AutoSaveWriter();
+  private final SaveGameLog m_saveGameLog = new SaveGameLog();
   private InGameLobbyWatcherWrapper m_inGameLobbyWatcher;
   private boolean m_needToInitialize = true;
   /**
@@ -103,8 +106,10 @@ public class ServerGame extends AbstractGame {
       @Override
       public void gameDataChanged(final Change aChange) {
         assertCorrectCaller();
-        m_data.performChange(aChange);
-        m_data.getHistory().getHistoryWriter().addChange(aChange);
+        // the changes in a batch have been performed already, when they were added
+        if (!m_changeBatcher.isBeingSent(aChange)) {
+          performChange(aChange);
+        }
       }
 
       private void assertCorrectCaller() {
@@ -125,17 +130,20 @@ public class ServerGame extends AbstractGame {
       public void startHistoryEvent(final String event) {
         assertCorrectCaller();
         m_data.getHistory().getHistoryWriter().startEvent(event);
+        m_saveGameLog.eventStarted(event);
       }
 
       @Override
       public void addChildToEvent(final String text, final Object renderingData) {
         assertCorrectCaller();
         m_data.getHistory().getHistoryWriter().addChildToEvent(new EventChild(text, renderingData));
+        m_saveGameLog.childAddedToEvent(text, renderingData);
       }
 
       protected void setRenderingData(final Object renderingData) {
         assertCorrectCaller();
         m_data.getHistory().getHistoryWriter().setRenderingData(renderingData);
+        m_saveGameLog.renderingDataSet(renderingData);
       }
 
       @Override
@@ -146,6 +154,7 @@ public class ServerGame extends AbstractGame {
           return;
         }
         m_data.getHistory().getHistoryWriter().startNextStep(stepName, delegateName, player, displayName);
+        m_saveGameLog.stepStarted(stepName, delegateName, player, displayName);
       }
 
       // nothing to do, we call this
@@ -153,6 +162,10 @@ public class ServerGame extends AbstractGame {
       public void shutDown() {}
     };
     m_channelMessenger.registerChannelSubscriber(m_gameModifiedChannel, IGame.GAME_MODIFICATION_CHANNEL);
+    m_changeBatcher = new ChangeBatcher(
+        (IGameModifiedChannel) m_channelMessenger.getChannelBroadcastor(IGame.GAME_MODIFICATION_CHANNEL),
+        this::performChange);
+    m_delegateExecutionManager.setBeforeLeavingDelegateExecution(m_changeBatcher::flush);
     setupDelegateMessaging(data);
     m_randomStats = new RandomStats(m_remoteMessenger);
     m_remoteMessenger.registerRemote(m_serverRemote, SERVER_REMOTE);
@@ -351,6 +364,7 @@ public class ServerGame extends AbstractGame {
       m_delegateExecutionManager.resumeDelegateExecution();
     }
     m_data.getGameLoader().shutDown();
+    m_autoSaveWriter.shutDown(30000);
     if (HeadlessGameServer.headless()) {
       System.out.println("StopGame successful.");
     }
@@ -361,17 +375,17 @@ public class ServerGame extends AbstractGame {
     final File f1 = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSaveFileName());
     final File f2 = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSave2FileName());
     final File f;
-    if (f1.lastModified() > f2.lastModified()) {
+    // the last save may still be being written, so its file may not look like the newest yet
+    if (f1.equals(m_autoSaveWriter.getLastQueued())) {
+      f = f2;
+    } else if (f2.equals(m_autoSaveWriter.getLastQueued())) {
+      f = f1;
+    } else if (f1.lastModified() > f2.lastModified()) {
       f = f2;
     } else {
       f = f1;
     }
-
-    try (FileOutputStream out = new FileOutputStream(f)) {
-      saveGame(out);
-    } catch (final Exception e) {
-      e.printStackTrace();
-    }
+    autoSave(f);
   }
 
   private void autoSaveRound() {
@@ -382,9 +396,39 @@ public class ServerGame extends AbstractGame {
     } else {
       autosaveFile = new File(SaveGameFileChooser.DEFAULT_DIRECTORY, SaveGameFileChooser.getAutoSaveOddFileName());
     }
+    autoSave(autosaveFile);
+  }
 
-    try (FileOutputStream out = new FileOutputStream(autosaveFile)) {
-      saveGame(out);
+  /**
+   * Takes a snapshot of the game, or only of what happened since the file was last saved, and leaves compressing and
+   * writing it to the autosave writer.
+   */
+  private void autoSave(final File f) {
+    try {
+      final long start = System.currentTimeMillis();
+      final AutoSaveWriter.SavedFile saved = m_autoSaveWriter.getSavedFile(f);
+      final ByteArrayOutputStream snapshot;
+      final long logSize;
+      final boolean append;
+      blockDelegateExecution();
+      try {
+        m_changeBatcher.flush();
+        logSize = m_saveGameLog.size();
+        append = saved.canAppend();
+        if (append) {
+          snapshot = m_saveGameLog.writeTail(saved.getLogSize(), m_data);
+        } else {
+          snapshot = new GameDataManager().takeSnapshot(m_data, true);
+        }
+      } finally {
+        m_delegateExecutionManager.resumeDelegateExecution();
+      }
+      if (append) {
+        m_autoSaveWriter.append(snapshot, saved, logSize, System.currentTimeMillis() - start);
+      } else {
+        m_autoSaveWriter.write(snapshot, saved, logSize, System.currentTimeMillis() - start);
+      }
+      m_saveGameLog.discardBefore(m_autoSaveWriter.getOldestLogSize(logSize));
     } catch (final Exception e) {
       e.printStackTrace();
     }
@@ -400,6 +444,24 @@ public class ServerGame extends AbstractGame {
   }
 
   public void saveGame(final OutputStream out) throws IOException {
+    GameDataManager.writeSnapshot(takeSnapshot(), out);
+  }
+
+  /**
+   * Returns the uncompressed saved game, taken while delegates are not executing.
+   */
+  private ByteArrayOutputStream takeSnapshot() throws IOException {
+    blockDelegateExecution();
+    try {
+      // the saved game has all changes performed so far, whoever loads it must not get them again
+      m_changeBatcher.flush();
+      return new GameDataManager().takeSnapshot(m_data, true);
+    } finally {
+      m_delegateExecutionManager.resumeDelegateExecution();
+    }
+  }
+
+  private void blockDelegateExecution() throws IOException {
     try {
       if (!m_delegateExecutionManager.blockDelegateExecution(6000)) {
         throw new IOException("Could not lock delegate execution");
@@ -407,16 +469,12 @@ public class ServerGame extends AbstractGame {
     } catch (final InterruptedException ie) {
       throw new IOException(ie.getMessage());
     }
-    try {
-      new GameDataManager().saveGame(out, m_data);
-    } finally {
-      m_delegateExecutionManager.resumeDelegateExecution();
-    }
   }
 
   private void runStep(final boolean stepIsRestoredFromSavedGame) {
     if (getCurrentStep().hasReachedMaxRunCount()) {
       m_data.getSequence().next();
+      m_saveGameLog.sequenceAdvanced();
       return;
     }
     if (m_isGameOver) {
@@ -434,8 +492,11 @@ public class ServerGame extends AbstractGame {
     if (m_isGameOver) {
       return;
     }
-    if (m_data.getSequence().next()) {
+    final boolean nextRound = m_data.getSequence().next();
+    m_saveGameLog.sequenceAdvanced();
+    if (nextRound) {
       m_data.getHistory().getHistoryWriter().startNextRound(m_data.getSequence().getRound());
+      m_saveGameLog.roundStarted(m_data.getSequence().getRound());
       autoSaveRound();
     }
     // save after the step has advanced
@@ -456,6 +517,7 @@ public class ServerGame extends AbstractGame {
       m_delegateExecutionManager.leaveDelegateExecution();
     }
     getCurrentStep().incrementRunCount();
+    m_saveGameLog.runCountIncremented();
     if (m_data.getSequence().getStep().getDelegate().getClass().isAnnotationPresent(AutoSave.class)) {
       if (m_data.getSequence().getStep().getDelegate().getClass().getAnnotation(AutoSave.class).afterStepEnd()) {
         return true;
@@ -472,7 +534,7 @@ public class ServerGame extends AbstractGame {
         continue;
       }
       final DefaultDelegateBridge bridge = new DefaultDelegateBridge(m_data, this,
-          new DelegateHistoryWriter(m_channelMessenger), m_randomStats, m_delegateExecutionManager);
+          new DelegateHistoryWriter(m_changeBatcher), m_randomStats, m_delegateExecutionManager);
       if (m_delegateRandomSource == null) {
         m_delegateRandomSource = (IRandomSource) m_delegateExecutionManager.createOutboundImplementation(m_randomSource,
             new Class[] {IRandomSource.class});
@@ -498,7 +560,7 @@ public class ServerGame extends AbstractGame {
       }
     }
     final DefaultDelegateBridge bridge = new DefaultDelegateBridge(m_data, this,
-        new DelegateHistoryWriter(m_channelMessenger), m_randomStats, m_delegateExecutionManager);
+        new DelegateHistoryWriter(m_changeBatcher), m_randomStats, m_delegateExecutionManager);
     if (m_delegateRandomSource == null) {
       m_delegateRandomSource = (IRandomSource) m_delegateExecutionManager.createOutboundImplementation(m_randomSource,
           new Class[] {IRandomSource.class});
@@ -608,15 +670,23 @@ public class ServerGame extends AbstractGame {
     }
   }
 
+  /**
+   * Returns the game modified channel, which batches changes before they are broadcast.
+   */
   private IGameModifiedChannel getGameModifiedBroadcaster() {
-    return (IGameModifiedChannel) m_channelMessenger.getChannelBroadcastor(IGame.GAME_MODIFICATION_CHANNEL);
+    return m_changeBatcher;
+  }
+
+  private void performChange(final Change aChange) {
+    m_data.performChange(aChange);
+    m_data.getHistory().getHistoryWriter().addChange(aChange);
+    m_saveGameLog.changePerformed(aChange);
   }
 
   @Override
   public void addChange(final Change aChange) {
+    // performed here straight away, and sent to the other nodes with the next batch
     getGameModifiedBroadcaster().gameDataChanged(aChange);
-    // let our channel subscribor do the change,
-    // that way all changes will happen in the same thread
   }
 
   @Override
@@ -4,7 +4,9 @@ import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.SwingUtilities;
 import javax.swing.tree.DefaultMutableTreeNode;
@@ -23,13 +25,18 @@ import javax.swing.tree.DefaultTreeModel;
  * Event - an event that happened in the game, eg Russia buys 8 inf.
  */
 import games.strategy.engine.data.Change;
+import games.strategy.engine.data.ChangeFactory;
 import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
 import games.strategy.triplea.ui.history.HistoryPanel;
 
 public class History extends DefaultTreeModel implements java.io.Serializable {
+  // going further than this many changes uses the checkpoints of the rounds on the way
+  private static final int MIN_CHANGES_FOR_CHECKPOINTS = 1000;
   private final HistoryWriter m_writer = new HistoryWriter(this);
   private final List<Change> m_changes = new ArrayList<Change>();
+  // the changes of each round that is over, compacted, built when first gone through
+  private final Map<Round, Change> m_checkpoints = new HashMap<Round, Change>();
   private final GameData m_data;
   private HistoryNode m_currentNode;
 
@@ -98,9 +105,7 @@ public class History extends DefaultTreeModel implements java.io.Serializable {
     if (firstChange == lastChange) {
       return null;
     }
-    final List<Change> changes =
-        m_changes.subList(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
-    final Change compositeChange = new CompositeChange(changes);
+    final Change compositeChange = getChanges(Math.min(firstChange, lastChange), Math.max(firstChange, lastChange));
     if (lastChange >= firstChange) {
       return compositeChange;
     } else {
@@ -108,6 +113,45 @@ public class History extends DefaultTreeModel implements java.io.Serializable {
     }
   }
 
+  /**
+   * Returns the changes from the first index up to the second. When there are many, every round that is wholly
+   * between them is replaced by its checkpoint, and the result is compacted, so jumping far through a long game does
+   * not perform every change on the way.
+   */
+  private Change getChanges(final int from, final int to) {
+    if (to - from < MIN_CHANGES_FOR_CHECKPOINTS) {
+      return new CompositeChange(m_changes.subList(from, to));
+    }
+    final List<Change> changes = new ArrayList<Change>();
+    int index = from;
+    Round round = null;
+    final HistoryNode root = (HistoryNode) getRoot();
+    for (int i = 0; i < root.getChildCount(); i++) {
+      final Object child = root.getChildAt(i);
+      if (!(child instanceof Round)) {
+        continue;
+      }
+      final Round next = (Round) child;
+      if (round != null && round.getChangeStartIndex() >= index && next.getChangeStartIndex() <= to) {
+        changes.addAll(m_changes.subList(index, round.getChangeStartIndex()));
+        changes.add(getCheckpoint(round, next.getChangeStartIndex()));
+        index = next.getChangeStartIndex();
+      }
+      round = next;
+    }
+    changes.addAll(m_changes.subList(index, to));
+    return ChangeFactory.compact(changes);
+  }
+
+  private Change getCheckpoint(final Round round, final int end) {
+    Change checkpoint = m_checkpoints.get(round);
+    if (checkpoint == null) {
+      checkpoint = ChangeFactory.compact(m_changes.subList(round.getChangeStartIndex(), end));
+      m_checkpoints.put(round, checkpoint);
+    }
+    return checkpoint;
+  }
+
   public synchronized void gotoNode(final HistoryNode node) {
     assertCorrectThread();
     getGameData().acquireWriteLock();
@@ -134,6 +178,7 @@ public class History extends DefaultTreeModel implements java.io.Serializable {
       while (m_changes.size() > lastChange) {
         m_changes.remove(lastChange);
       }
+      m_checkpoints.clear();
       final List<HistoryNode> nodesToRemove = new ArrayList<HistoryNode>();
       final Enumeration<?> enumeration = ((DefaultMutableTreeNode) this.getRoot()).preorderEnumeration();
       enumeration.nextElement();
@@ -172,6 +217,18 @@ public class History extends DefaultTreeModel implements java.io.Serializable {
     return new SerializedHistory(this, m_data, m_changes);
   }
 
+  /**
+   * If the given object is the serialized form of a history, returns the serialized form of an empty history for the
+   * same game data instead, otherwise returns the object unchanged.
+   * For use by object streams that copy game data which never looks at its history.
+   */
+  public static Object withoutSerializedHistory(final Object object) {
+    if (object instanceof SerializedHistory) {
+      return new SerializedHistory(((SerializedHistory) object).getGameData());
+    }
+    return object;
+  }
+
   List<Change> getChanges() {
     return m_changes;
   }
@@ -215,6 +272,14 @@ class SerializedHistory implements Serializable {
     }
   }
 
+  SerializedHistory(final GameData data) {
+    m_data = data;
+  }
+
+  GameData getGameData() {
+    return m_data;
+  }
+
   public Object readResolve() throws ObjectStreamException {
     final History rVal = new History(m_data);
     final HistoryWriter historyWriter = rVal.getHistoryWriter();
@@ -133,6 +133,7 @@ public class HeadlessLobbyConsole {
       final Statement ps = con.createStatement();
       if (DBExplorerPanel.isNotQuery(sql)) {
         final int rs = ps.executeUpdate(sql);
+        Database.invalidateCaches();
         out.println("Update count:" + rs);
       } else {
         final ResultSet rs = ps.executeQuery(sql);
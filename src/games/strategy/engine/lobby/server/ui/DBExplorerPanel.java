@@ -75,6 +75,7 @@ public class DBExplorerPanel extends JPanel {
       final Statement ps = con.createStatement();
       if (isNotQuery(sql)) {
         final int rs = ps.executeUpdate(sql);
+        Database.invalidateCaches();
         final DefaultTableModel model = new DefaultTableModel();
         model.addColumn("COUNT");
         model.addRow(new Object[] {rs});
@@ -2,7 +2,6 @@ package games.strategy.engine.lobby.server.userDB;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,6 +13,7 @@ import java.util.logging.Logger;
  */
 public class BadWordController {
   private static final Logger s_logger = Logger.getLogger(BadWordController.class.getName());
+  private static final TableCache s_cache = new TableCache("select word from bad_words");
 
   public void addBadWord(final String word) {
     s_logger.fine("Adding bad word word:" + word);
@@ -35,6 +35,7 @@ public class BadWordController {
       throw new IllegalStateException(sqle.getMessage());
     } finally {
       DbUtil.closeConnection(con);
+      s_cache.invalidate();
     }
   }
 
@@ -52,27 +53,11 @@ public class BadWordController {
       throw new IllegalStateException(sqle.getMessage());
     } finally {
       DbUtil.closeConnection(con);
+      s_cache.invalidate();
     }
   }
 
   public List<String> list() {
-    final String sql = "select word from bad_words";
-    final Connection con = Database.getConnection();
-    try {
-      final PreparedStatement ps = con.prepareStatement(sql);
-      final ResultSet rs = ps.executeQuery();
-      final List<String> rVal = new ArrayList<String>();
-      while (rs.next()) {
-        rVal.add(rs.getString(1));
-      }
-      rs.close();
-      ps.close();
-      return rVal;
-    } catch (final SQLException sqle) {
-      s_logger.info("Error reading bad words error:" + sqle.getMessage());
-      throw new IllegalStateException(sqle.getMessage());
-    } finally {
-      DbUtil.closeConnection(con);
-    }
+    return new ArrayList<String>(s_cache.getRows().keySet());
   }
 }
@@ -2,10 +2,10 @@ package games.strategy.engine.lobby.server.userDB;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.Date;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -16,6 +16,7 @@ import games.strategy.util.Tuple;
  */
 public class BannedIpController {
   private static final Logger s_logger = Logger.getLogger(BannedIpController.class.getName());
+  private static final TableCache s_cache = new TableCache("select ip, ban_till from banned_ips");
 
   /**
    * Ban the ip permanently
@@ -57,6 +58,7 @@ public class BannedIpController {
       throw new IllegalStateException(sqle.getMessage());
     } finally {
       DbUtil.closeConnection(con);
+      s_cache.invalidate();
     }
   }
 
@@ -74,6 +76,7 @@ public class BannedIpController {
       throw new IllegalStateException(sqle.getMessage());
     } finally {
       DbUtil.closeConnection(con);
+      s_cache.invalidate();
     }
   }
 
@@ -82,33 +85,12 @@ public class BannedIpController {
    * database any ip's whose ban has expired
    */
   public Tuple<Boolean, Timestamp> isIpBanned(final String ip) {
-    boolean found = false;
-    boolean expired = false;
-    Timestamp banTill = null;
-    final String sql = "select ip, ban_till from banned_ips where ip = ?";
-    final Connection con = Database.getConnection();
-    try {
-      final PreparedStatement ps = con.prepareStatement(sql);
-      ps.setString(1, ip);
-      final ResultSet rs = ps.executeQuery();
-      found = rs.next();
-      // if the ban has expird, allow the ip
-      if (found) {
-        banTill = rs.getTimestamp(2);
-        if (banTill != null && banTill.getTime() < System.currentTimeMillis()) {
-          s_logger.fine("Ban expired for:" + ip);
-          expired = true;
-        }
-      }
-      rs.close();
-      ps.close();
-    } catch (final SQLException sqle) {
-      s_logger.info("Error for testing banned ip existence:" + ip + " error:" + sqle.getMessage());
-      throw new IllegalStateException(sqle.getMessage());
-    } finally {
-      DbUtil.closeConnection(con);
-    }
-    if (expired) {
+    final Map<String, Timestamp> banned = s_cache.getRows();
+    final boolean found = banned.containsKey(ip);
+    final Timestamp banTill = banned.get(ip);
+    // If the ban has expired, allow the ip
+    if (banTill != null && banTill.getTime() < System.currentTimeMillis()) {
+      s_logger.fine("Ban expired for:" + ip);
       removeBannedIp(ip);
       return Tuple.of(false, banTill);
     }
@@ -2,10 +2,10 @@ package games.strategy.engine.lobby.server.userDB;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.Date;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -16,6 +16,7 @@ import games.strategy.util.Tuple;
  */
 public class BannedMacController {
   private static final Logger s_logger = Logger.getLogger(BannedMacController.class.getName());
+  private static final TableCache s_cache = new TableCache("select mac, ban_till from banned_macs");
 
   /**
    * Ban the mac permanently
@@ -57,6 +58,7 @@ public class BannedMacController {
       throw new IllegalStateException(sqle.getMessage());
     } finally {
       DbUtil.closeConnection(con);
+      s_cache.invalidate();
     }
   }
 
@@ -74,6 +76,7 @@ public class BannedMacController {
       throw new IllegalStateException(sqle.getMessage());
     } finally {
       DbUtil.closeConnection(con);
+      s_cache.invalidate();
     }
   }
 
@@ -82,33 +85,12 @@ public class BannedMacController {
    * database any mac's whose ban has expired
    */
   public Tuple<Boolean, Timestamp> isMacBanned(final String mac) {
-    boolean found = false;
-    boolean expired = false;
-    Timestamp banTill = null;
-    final String sql = "select mac, ban_till from banned_macs where mac = ?";
-    final Connection con = Database.getConnection();
-    try {
-      final PreparedStatement ps = con.prepareStatement(sql);
-      ps.setString(1, mac);
-      final ResultSet rs = ps.executeQuery();
-      found = rs.next();
-      // If the ban has expired, allow the mac
-      if (found) {
-        banTill = rs.getTimestamp(2);
-        if (banTill != null && banTill.getTime() < System.currentTimeMillis()) {
-          s_logger.fine("Ban expired for:" + mac);
-          expired = true;
-        }
-      }
-      rs.close();
-      ps.close();
-    } catch (final SQLException sqle) {
-      s_logger.info("Error for testing banned mac existence:" + mac + " error:" + sqle.getMessage());
-      throw new IllegalStateException(sqle.getMessage());
-    } finally {
-      DbUtil.closeConnection(con);
-    }
-    if (expired) {
+    final Map<String, Timestamp> banned = s_cache.getRows();
+    final boolean found = banned.containsKey(mac);
+    final Timestamp banTill = banned.get(mac);
+    // If the ban has expired, allow the mac
+    if (banTill != null && banTill.getTime() < System.currentTimeMillis()) {
+      s_logger.fine("Ban expired for:" + mac);
       removeBannedMac(mac);
       return Tuple.of(false, banTill);
     }
@@ -2,10 +2,10 @@ package games.strategy.engine.lobby.server.userDB;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.Date;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -16,6 +16,7 @@ import games.strategy.util.Tuple;
  */
 public class BannedUsernameController {
   private static final Logger s_logger = Logger.getLogger(BannedUsernameController.class.getName());
+  private static final TableCache s_cache = new TableCache("select username, ban_till from banned_usernames");
 
   /**
    * Ban the username permanently
@@ -58,6 +59,7 @@ public class BannedUsernameController {
       throw new IllegalStateException(sqle.getMessage());
     } finally {
       DbUtil.closeConnection(con);
+      s_cache.invalidate();
     }
   }
 
@@ -75,6 +77,7 @@ public class BannedUsernameController {
       throw new IllegalStateException(sqle.getMessage());
     } finally {
       DbUtil.closeConnection(con);
+      s_cache.invalidate();
     }
   }
 
@@ -83,33 +86,12 @@ public class BannedUsernameController {
    * database any username's whose ban has expired
    */
   public Tuple<Boolean, Timestamp> isUsernameBanned(final String username) {
-    boolean found = false;
-    boolean expired = false;
-    Timestamp banTill = null;
-    final String sql = "select username, ban_till from banned_usernames where username = ?";
-    final Connection con = Database.getConnection();
-    try {
-      final PreparedStatement ps = con.prepareStatement(sql);
-      ps.setString(1, username);
-      final ResultSet rs = ps.executeQuery();
-      found = rs.next();
-      // If the ban has expired, allow the username
-      if (found) {
-        banTill = rs.getTimestamp(2);
-        if (banTill != null && banTill.getTime() < System.currentTimeMillis()) {
-          s_logger.fine("Ban expired for:" + username);
-          expired = true;
-        }
-      }
-      rs.close();
-      ps.close();
-    } catch (final SQLException sqle) {
-      s_logger.info("Error for testing banned username existence:" + username + " error:" + sqle.getMessage());
-      throw new IllegalStateException(sqle.getMessage());
-    } finally {
-      DbUtil.closeConnection(con);
-    }
-    if (expired) {
+    final Map<String, Timestamp> banned = s_cache.getRows();
+    final boolean found = banned.containsKey(username);
+    final Timestamp banTill = banned.get(username);
+    // If the ban has expired, allow the username
+    if (banTill != null && banTill.getTime() < System.currentTimeMillis()) {
+      s_logger.fine("Ban expired for:" + username);
       removeBannedUsername(username);
       return Tuple.of(false, banTill);
     }
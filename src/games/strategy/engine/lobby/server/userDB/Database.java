@@ -8,7 +8,9 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Properties;
 import java.util.logging.Level;
@@ -32,12 +34,17 @@ import games.strategy.util.ThreadUtil;
  * <p>
  * Getting a connection will also schedule backups at regular intervals.
  * <p>
+ * Connections are pooled, closing a connection gives it back to the pool.
+ * <p>
  */
 public class Database {
   private final static Logger s_logger = Logger.getLogger(Database.class.getName());
   private static final Object s_dbSetupLock = new Object();
   private static boolean s_isDbSetup = false;
   private static boolean s_areDBTablesCreated = false;
+  // the most connections kept open while no one is using them
+  private static final int MAX_IDLE_CONNECTIONS = 8;
+  private static final Deque<PooledConnection> s_idleConnections = new ArrayDeque<PooledConnection>();
 
   private static File getCurrentDataBaseDir() {
     final File dbRootDir = getDBRoot();
@@ -64,8 +71,45 @@ public class Database {
     return dbRootDir;
   }
 
+  /**
+   * Returns a connection from the pool, or a new one if none is free. Close it when done.
+   */
   public static Connection getConnection() {
     ensureDbIsSetup();
+    PooledConnection pooled;
+    synchronized (s_idleConnections) {
+      pooled = s_idleConnections.pollFirst();
+    }
+    if (pooled == null) {
+      pooled = new PooledConnection(openConnection());
+    }
+    return pooled.checkOut();
+  }
+
+  /**
+   * Called when a pooled connection is closed by its user.
+   */
+  static void release(final PooledConnection connection, final boolean reusable) {
+    if (reusable) {
+      synchronized (s_idleConnections) {
+        if (s_idleConnections.size() < MAX_IDLE_CONNECTIONS) {
+          s_idleConnections.addFirst(connection);
+          return;
+        }
+      }
+    }
+    connection.close();
+  }
+
+  /**
+   * Drops the in memory copies of the ban, mute and bad word tables. Call this after changing those tables with sql,
+   * the controllers take care of this themselves.
+   */
+  public static void invalidateCaches() {
+    TableCache.invalidateAll();
+  }
+
+  private static Connection openConnection() {
     Connection conn = null;
     final Properties props = getDbProps();
     /*
@@ -256,6 +300,12 @@ public class Database {
   }
 
   private static void shutDownDB() {
+    synchronized (s_idleConnections) {
+      for (final PooledConnection connection : s_idleConnections) {
+        connection.close();
+      }
+      s_idleConnections.clear();
+    }
     try {
       DriverManager.getConnection("jdbc:derby:ta_users;shutdown=true");
     } catch (final SQLException se) {
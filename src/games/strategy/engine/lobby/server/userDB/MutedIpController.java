@@ -2,12 +2,12 @@ package games.strategy.engine.lobby.server.userDB;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -16,6 +16,7 @@ import java.util.logging.Logger;
  */
 public class MutedIpController {
   private static final Logger s_logger = Logger.getLogger(MutedIpController.class.getName());
+  private static final TableCache s_cache = new TableCache("select ip, mute_till from muted_ips");
 
   /**
    * Mute the ip permanently
@@ -57,6 +58,7 @@ public class MutedIpController {
       throw new IllegalStateException(sqle.getMessage());
     } finally {
       DbUtil.closeConnection(con);
+      s_cache.invalidate();
     }
   }
 
@@ -74,6 +76,7 @@ public class MutedIpController {
       throw new IllegalStateException(sqle.getMessage());
     } finally {
       DbUtil.closeConnection(con);
+      s_cache.invalidate();
     }
   }
 
@@ -87,73 +90,32 @@ public class MutedIpController {
   }
 
   public long getIpUnmuteTime(final String ip) {
-    long result = -1;
-    boolean expired = false;
-    final String sql = "select ip, mute_till from muted_ips where ip = ?";
-    final Connection con = Database.getConnection();
-    try {
-      final PreparedStatement ps = con.prepareStatement(sql);
-      ps.setString(1, ip);
-      final ResultSet rs = ps.executeQuery();
-      final boolean found = rs.next();
-      if (found) {
-        final Timestamp muteTill = rs.getTimestamp(2);
-        result = muteTill.getTime();
-        if (result < System.currentTimeMillis()) {
-          s_logger.fine("Mute expired for:" + ip);
-          expired = true;
-        }
-      } else {
-        result = -1;
-      }
-      rs.close();
-      ps.close();
-    } catch (final SQLException sqle) {
-      s_logger.info("Error for testing muted ip existence:" + ip + " error:" + sqle.getMessage());
-      throw new IllegalStateException(sqle.getMessage());
-    } finally {
-      DbUtil.closeConnection(con);
+    final Map<String, Timestamp> muted = s_cache.getRows();
+    if (!muted.containsKey(ip)) {
+      return -1;
     }
+    final long result = muted.get(ip).getTime();
     // If the mute has expired, allow the ip
-    if (expired) {
+    if (result < System.currentTimeMillis()) {
+      s_logger.fine("Mute expired for:" + ip);
       removeMutedIp(ip);
       // Signal as not-muted
-      result = -1;
+      return -1;
     }
     return result;
   }
 
   public List<String> getIPsThatAreStillMuted(final List<String> ips) {
+    final Map<String, Timestamp> muted = s_cache.getRows();
     final List<String> results = new ArrayList<String>();
-    final String sql = "select ip, mute_till from muted_ips where ip = ?";
-    final Connection con = Database.getConnection();
-    try {
-      for (final String ip : ips) {
-        boolean found = false;
-        boolean expired = false;
-        final PreparedStatement ps = con.prepareStatement(sql);
-        ps.setString(1, ip);
-        final ResultSet rs = ps.executeQuery();
-        found = rs.next();
-        // If the mute has expired, allow the ip
-        if (found) {
-          final Timestamp muteTill = rs.getTimestamp(2);
-          if (muteTill != null && muteTill.getTime() < System.currentTimeMillis()) {
-            s_logger.fine("Mute expired for: " + ip);
-            expired = true;
-          }
-        }
-        rs.close();
-        ps.close();
-        if (found && !expired) {
+    for (final String ip : ips) {
+      // If the mute has expired, allow the ip
+      if (muted.containsKey(ip)) {
+        final Timestamp muteTill = muted.get(ip);
+        if (muteTill == null || muteTill.getTime() >= System.currentTimeMillis()) {
           results.add(ip);
         }
       }
-    } catch (final SQLException sqle) {
-      s_logger.info("Error testing whether ips were muted: " + ips);
-      throw new IllegalStateException(sqle.getMessage());
-    } finally {
-      DbUtil.closeConnection(con);
     }
     return results;
   }
@@ -2,12 +2,12 @@ package games.strategy.engine.lobby.server.userDB;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -16,6 +16,7 @@ import java.util.logging.Logger;
  */
 public class MutedMacController {
   private static final Logger s_logger = Logger.getLogger(MutedMacController.class.getName());
+  private static final TableCache s_cache = new TableCache("select mac, mute_till from muted_macs");
 
   /**
    * Mute the mac permanently
@@ -57,6 +58,7 @@ public class MutedMacController {
       throw new IllegalStateException(sqle.getMessage());
     } finally {
       DbUtil.closeConnection(con);
+      s_cache.invalidate();
     }
   }
 
@@ -74,6 +76,7 @@ public class MutedMacController {
       throw new IllegalStateException(sqle.getMessage());
     } finally {
       DbUtil.closeConnection(con);
+      s_cache.invalidate();
     }
   }
 
@@ -87,73 +90,32 @@ public class MutedMacController {
   }
 
   public long getMacUnmuteTime(final String mac) {
-    long result = -1;
-    boolean expired = false;
-    final String sql = "select mac, mute_till from muted_macs where mac = ?";
-    final Connection con = Database.getConnection();
-    try {
-      final PreparedStatement ps = con.prepareStatement(sql);
-      ps.setString(1, mac);
-      final ResultSet rs = ps.executeQuery();
-      final boolean found = rs.next();
-      if (found) {
-        final Timestamp muteTill = rs.getTimestamp(2);
-        result = muteTill.getTime();
-        if (result < System.currentTimeMillis()) {
-          s_logger.fine("Mute expired for:" + mac);
-          expired = true;
-        }
-      } else {
-        result = -1;
-      }
-      rs.close();
-      ps.close();
-    } catch (final SQLException sqle) {
-      s_logger.info("Error for testing muted mac existence:" + mac + " error:" + sqle.getMessage());
-      throw new IllegalStateException(sqle.getMessage());
-    } finally {
-      DbUtil.closeConnection(con);
+    final Map<String, Timestamp> muted = s_cache.getRows();
+    if (!muted.containsKey(mac)) {
+      return -1;
     }
+    final long result = muted.get(mac).getTime();
     // If the mute has expired, allow the mac
-    if (expired) {
+    if (result < System.currentTimeMillis()) {
+      s_logger.fine("Mute expired for:" + mac);
       removeMutedMac(mac);
       // Signal as not-muted
-      result = -1;
+      return -1;
     }
     return result;
   }
 
   public List<String> getMacsThatAreStillMuted(final List<String> macs) {
+    final Map<String, Timestamp> muted = s_cache.getRows();
     final List<String> results = new ArrayList<String>();
-    final String sql = "select mac, mute_till from muted_macs where mac = ?";
-    final Connection con = Database.getConnection();
-    try {
-      for (final String mac : macs) {
-        boolean found = false;
-        boolean expired = false;
-        final PreparedStatement ps = con.prepareStatement(sql);
-        ps.setString(1, mac);
-        final ResultSet rs = ps.executeQuery();
-        found = rs.next();
-        // If the mute has expired, allow the mac
-        if (found) {
-          final Timestamp muteTill = rs.getTimestamp(2);
-          if (muteTill != null && muteTill.getTime() < System.currentTimeMillis()) {
-            s_logger.fine("Mute expired for: " + mac);
-            expired = true;
-          }
-        }
-        rs.close();
-        ps.close();
-        if (found && !expired) {
+    for (final String mac : macs) {
+      // If the mute has expired, allow the mac
+      if (muted.containsKey(mac)) {
+        final Timestamp muteTill = muted.get(mac);
+        if (muteTill == null || muteTill.getTime() >= System.currentTimeMillis()) {
           results.add(mac);
         }
       }
-    } catch (final SQLException sqle) {
-      s_logger.info("Error testing whether macs were muted: " + macs);
-      throw new IllegalStateException(sqle.getMessage());
-    } finally {
-      DbUtil.closeConnection(con);
     }
     return results;
   }
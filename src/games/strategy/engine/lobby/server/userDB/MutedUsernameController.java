@@ -2,12 +2,12 @@ package games.strategy.engine.lobby.server.userDB;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -16,6 +16,7 @@ import java.util.logging.Logger;
  */
 public class MutedUsernameController {
   private static final Logger s_logger = Logger.getLogger(MutedUsernameController.class.getName());
+  private static final TableCache s_cache = new TableCache("select username, mute_till from muted_usernames");
 
   /**
    * Mute the username permanently
@@ -58,6 +59,7 @@ public class MutedUsernameController {
       throw new IllegalStateException(sqle.getMessage());
     } finally {
       DbUtil.closeConnection(con);
+      s_cache.invalidate();
     }
   }
 
@@ -75,6 +77,7 @@ public class MutedUsernameController {
       throw new IllegalStateException(sqle.getMessage());
     } finally {
       DbUtil.closeConnection(con);
+      s_cache.invalidate();
     }
   }
 
@@ -88,73 +91,32 @@ public class MutedUsernameController {
   }
 
   public long getUsernameUnmuteTime(final String username) {
-    long result = -1;
-    boolean expired = false;
-    final String sql = "select username, mute_till from muted_usernames where username = ?";
-    final Connection con = Database.getConnection();
-    try {
-      final PreparedStatement ps = con.prepareStatement(sql);
-      ps.setString(1, username);
-      final ResultSet rs = ps.executeQuery();
-      final boolean found = rs.next();
-      if (found) {
-        final Timestamp muteTill = rs.getTimestamp(2);
-        result = muteTill.getTime();
-        if (result < System.currentTimeMillis()) {
-          s_logger.fine("Mute expired for:" + username);
-          expired = true;
-        }
-      } else {
-        result = -1;
-      }
-      rs.close();
-      ps.close();
-    } catch (final SQLException sqle) {
-      s_logger.info("Error for testing muted username existence:" + username + " error:" + sqle.getMessage());
-      throw new IllegalStateException(sqle.getMessage());
-    } finally {
-      DbUtil.closeConnection(con);
+    final Map<String, Timestamp> muted = s_cache.getRows();
+    if (!muted.containsKey(username)) {
+      return -1;
     }
+    final long result = muted.get(username).getTime();
     // If the mute has expired, allow the username
-    if (expired) {
+    if (result < System.currentTimeMillis()) {
+      s_logger.fine("Mute expired for:" + username);
       removeMutedUsername(username);
       // Signal as not-muted
-      result = -1;
+      return -1;
     }
     return result;
   }
 
   public List<String> getUsernamesThatAreStillMuted(final List<String> usernames) {
+    final Map<String, Timestamp> muted = s_cache.getRows();
     final List<String> results = new ArrayList<String>();
-    final String sql = "select username, mute_till from muted_usernames where username = ?";
-    final Connection con = Database.getConnection();
-    try {
-      for (final String username : usernames) {
-        boolean found = false;
-        boolean expired = false;
-        final PreparedStatement ps = con.prepareStatement(sql);
-        ps.setString(1, username);
-        final ResultSet rs = ps.executeQuery();
-        found = rs.next();
-        // If the mute has expired, allow the username
-        if (found) {
-          final Timestamp muteTill = rs.getTimestamp(2);
-          if (muteTill != null && muteTill.getTime() < System.currentTimeMillis()) {
-            s_logger.fine("Mute expired for: " + username);
-            expired = true;
-          }
-        }
-        rs.close();
-        ps.close();
-        if (found && !expired) {
+    for (final String username : usernames) {
+      // If the mute has expired, allow the username
+      if (muted.containsKey(username)) {
+        final Timestamp muteTill = muted.get(username);
+        if (muteTill == null || muteTill.getTime() >= System.currentTimeMillis()) {
           results.add(username);
         }
       }
-    } catch (final SQLException sqle) {
-      s_logger.info("Error testing whether usernames were muted: " + usernames);
-      throw new IllegalStateException(sqle.getMessage());
-    } finally {
-      DbUtil.closeConnection(con);
     }
     return results;
   }
@@ -0,0 +1,155 @@
+package games.strategy.engine.lobby.server.userDB;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A database connection that is kept open and handed out again, rather than closed, when the user closes it.
+ * <p>
+ * The statements prepared with prepareStatement(sql) are kept too, so the same sql is only prepared once for each
+ * connection. Closing such a statement only clears its parameters. Any other statements are closed when the connection
+ * is given back.
+ */
+class PooledConnection {
+  private static final Logger s_logger = Logger.getLogger(PooledConnection.class.getName());
+  private static final int MAX_STATEMENTS = 64;
+  private final Connection m_connection;
+  private final Map<String, PreparedStatement> m_statements =
+      new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+        private static final long serialVersionUID = 6829713553406591327L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, PreparedStatement> eldest) {
+          if (size() <= MAX_STATEMENTS) {
+            return false;
+          }
+          closeQuietly(eldest.getValue());
+          return true;
+        }
+      };
+  private final List<Statement> m_otherStatements = new ArrayList<Statement>();
+
+  PooledConnection(final Connection connection) {
+    m_connection = connection;
+  }
+
+  /**
+   * Returns a connection for one user, which gives this connection back to the pool when it is closed.
+   */
+  Connection checkOut() {
+    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+        new ConnectionHandler());
+  }
+
+  /**
+   * Returns true if this connection can be handed out again.
+   */
+  private boolean reset() {
+    for (final Statement s : m_otherStatements) {
+      closeQuietly(s);
+    }
+    m_otherStatements.clear();
+    try {
+      if (m_connection.isClosed()) {
+        return false;
+      }
+      if (!m_connection.getAutoCommit()) {
+        m_connection.rollback();
+        m_connection.setAutoCommit(true);
+      }
+      return true;
+    } catch (final SQLException e) {
+      s_logger.log(Level.WARNING, "Could not reset connection", e);
+      return false;
+    }
+  }
+
+  /**
+   * Closes the connection for good.
+   */
+  void close() {
+    for (final PreparedStatement ps : m_statements.values()) {
+      closeQuietly(ps);
+    }
+    m_statements.clear();
+    DbUtil.closeConnection(m_connection);
+  }
+
+  private PreparedStatement prepareStatement(final String sql) throws SQLException {
+    PreparedStatement ps = m_statements.get(sql);
+    if (ps == null || ps.isClosed()) {
+      ps = m_connection.prepareStatement(sql);
+      m_statements.put(sql, ps);
+    }
+    final PreparedStatement real = ps;
+    return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+        new Class<?>[] {PreparedStatement.class}, new InvocationHandler() {
+          @Override
+          public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            if (method.getName().equals("close") && args == null) {
+              real.clearParameters();
+              return null;
+            }
+            return invokeOn(real, method, args);
+          }
+        });
+  }
+
+  private static Object invokeOn(final Object target, final Method method, final Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (final InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static void closeQuietly(final Statement s) {
+    try {
+      s.close();
+    } catch (final SQLException e) {
+      s_logger.log(Level.FINE, "Error closing statement", e);
+    }
+  }
+
+  private class ConnectionHandler implements InvocationHandler {
+    private boolean m_closed = false;
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+      final String name = method.getName();
+      if (name.equals("close") && args == null) {
+        if (!m_closed) {
+          m_closed = true;
+          Database.release(PooledConnection.this, reset());
+        }
+        return null;
+      }
+      if (name.equals("isClosed") && args == null) {
+        return m_closed || m_connection.isClosed();
+      }
+      if (m_closed) {
+        throw new SQLException("Connection closed");
+      }
+      if (name.equals("prepareStatement") && args.length == 1) {
+        return prepareStatement((String) args[0]);
+      }
+      final Object result = invokeOn(m_connection, method, args);
+      if (result instanceof Statement) {
+        m_otherStatements.add((Statement) result);
+      }
+      return result;
+    }
+  }
+}
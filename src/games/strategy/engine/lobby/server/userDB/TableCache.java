@@ -0,0 +1,75 @@
+package games.strategy.engine.lobby.server.userDB;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Logger;
+
+/**
+ * An in memory copy of a small table, such as the banned ips or the bad words, so that logging in and chatting do not
+ * have to go to the database each time.
+ * <p>
+ * The copy maps the first column of each row to the timestamp in its second column, or to null if the query only has
+ * one column. It is read when it is first needed, and dropped by invalidate(), which must be called whenever the table
+ * is changed.
+ */
+class TableCache {
+  private static final Logger s_logger = Logger.getLogger(TableCache.class.getName());
+  private static final List<TableCache> s_caches = new CopyOnWriteArrayList<TableCache>();
+  private final String m_sql;
+  private Map<String, Timestamp> m_rows;
+
+  /**
+   * @param sql
+   *        a query for the rows to keep
+   */
+  TableCache(final String sql) {
+    m_sql = sql;
+    s_caches.add(this);
+  }
+
+  /**
+   * Returns the rows, reading them from the database if they are not in memory.
+   */
+  synchronized Map<String, Timestamp> getRows() {
+    if (m_rows == null) {
+      m_rows = Collections.unmodifiableMap(read());
+    }
+    return m_rows;
+  }
+
+  synchronized void invalidate() {
+    m_rows = null;
+  }
+
+  static void invalidateAll() {
+    for (final TableCache cache : s_caches) {
+      cache.invalidate();
+    }
+  }
+
+  private Map<String, Timestamp> read() {
+    try (final Connection con = Database.getConnection()) {
+      final PreparedStatement ps = con.prepareStatement(m_sql);
+      final ResultSet rs = ps.executeQuery();
+      final boolean hasTimestamp = rs.getMetaData().getColumnCount() > 1;
+      final Map<String, Timestamp> rows = new HashMap<String, Timestamp>();
+      while (rs.next()) {
+        rows.put(rs.getString(1), hasTimestamp ? rs.getTimestamp(2) : null);
+      }
+      rs.close();
+      ps.close();
+      return rows;
+    } catch (final SQLException sqle) {
+      s_logger.info("Error reading " + m_sql + " error:" + sqle.getMessage());
+      throw new IllegalStateException(sqle.getMessage());
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package games.strategy.engine.message;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import games.strategy.net.GUID;
+import games.strategy.net.Node;
+
+/**
+ * A more compact way of writing the messages sent for remote method calls and their results.
+ * <p>
+ * Their arguments and return values are written with java serialization, which writes a description of the class of
+ * each one. Here the common ones (strings, ints, longs, booleans, ids and nodes) are written as a tag byte and their
+ * value instead, and everything else still goes through java serialization. The ids of the calls are written without
+ * their class description too.
+ * <p>
+ * Only used on connections where the other side can read it, which the two sides agree on while logging in, by
+ * sending PROPERTY with VERSION.
+ */
+public final class CompactMessageCodec {
+  /**
+   * The login property a side sends to show it can read compact messages, with VERSION as value.
+   */
+  public static final String PROPERTY = "Compact Messages";
+  public static final String VERSION = "1";
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte INTEGER = 2;
+  private static final byte TRUE = 3;
+  private static final byte FALSE = 4;
+  private static final byte LONG = 5;
+  private static final byte ID = 6;
+  private static final byte NODE = 7;
+  private static final byte OBJECT = Byte.MAX_VALUE;
+  // longer strings may not fit in writeUTF, which is limited to 65535 bytes and uses up to 3 bytes for a char
+  private static final int MAX_UTF_LENGTH = 65535 / 3;
+
+  private CompactMessageCodec() {}
+
+  /**
+   * @return true if the message can be written by write().
+   */
+  public static boolean canWrite(final Object message) {
+    return message instanceof Invoke || message instanceof InvocationResults;
+  }
+
+  public static void write(final Object message, final ObjectOutput out) throws IOException {
+    if (message instanceof Invoke) {
+      ((Invoke) message).writeCompact(out);
+    } else if (message instanceof InvocationResults) {
+      ((InvocationResults) message).writeCompact(out);
+    } else {
+      throw new IllegalArgumentException("Can not write compactly:" + message);
+    }
+  }
+
+  /**
+   * Reads a message written by write() into an empty message of the same class.
+   */
+  public static void read(final Externalizable message, final ObjectInput in)
+      throws IOException, ClassNotFoundException {
+    if (message instanceof Invoke) {
+      ((Invoke) message).readCompact(in);
+    } else if (message instanceof InvocationResults) {
+      ((InvocationResults) message).readCompact(in);
+    } else {
+      throw new IllegalArgumentException("Can not read compactly:" + message);
+    }
+  }
+
+  static void writeValue(final Object value, final ObjectOutput out) throws IOException {
+    if (value == null) {
+      out.writeByte(NULL);
+    } else if (value instanceof String && ((String) value).length() <= MAX_UTF_LENGTH) {
+      out.writeByte(STRING);
+      out.writeUTF((String) value);
+    } else if (value instanceof Integer) {
+      out.writeByte(INTEGER);
+      out.writeInt((Integer) value);
+    } else if (value instanceof Boolean) {
+      out.writeByte((Boolean) value ? TRUE : FALSE);
+    } else if (value instanceof Long) {
+      out.writeByte(LONG);
+      out.writeLong((Long) value);
+    } else if (value.getClass() == GUID.class) {
+      out.writeByte(ID);
+      ((GUID) value).writeExternal(out);
+    } else if (value.getClass() == Node.class) {
+      out.writeByte(NODE);
+      ((Node) value).writeExternal(out);
+    } else {
+      out.writeByte(OBJECT);
+      out.writeObject(value);
+    }
+  }
+
+  static Object readValue(final ObjectInput in) throws IOException, ClassNotFoundException {
+    final byte tag = in.readByte();
+    switch (tag) {
+      case NULL:
+        return null;
+      case STRING:
+        return in.readUTF();
+      case INTEGER:
+        return in.readInt();
+      case TRUE:
+        return Boolean.TRUE;
+      case FALSE:
+        return Boolean.FALSE;
+      case LONG:
+        return in.readLong();
+      case ID:
+        final GUID id = new GUID();
+        id.readExternal(in);
+        return id;
+      case NODE:
+        final Node node = new Node();
+        node.readExternal(in);
+        return node;
+      case OBJECT:
+        return in.readObject();
+      default:
+        throw new IOException("Unknown value tag:" + tag);
+    }
+  }
+}
@@ -166,6 +166,34 @@ public class RemoteMethodCall implements Externalizable {
     }
   }
 
+  /**
+   * Like writeExternal, but with the arguments written by CompactMessageCodec.
+   */
+  void writeCompact(final ObjectOutput out) throws IOException {
+    out.writeUTF(m_remoteName);
+    out.writeByte(m_methodNumber);
+    if (m_args == null) {
+      out.writeByte(Byte.MAX_VALUE);
+    } else {
+      out.writeByte(m_args.length);
+      for (final Object m_arg : m_args) {
+        CompactMessageCodec.writeValue(m_arg, out);
+      }
+    }
+  }
+
+  void readCompact(final ObjectInput in) throws IOException, ClassNotFoundException {
+    m_remoteName = in.readUTF();
+    m_methodNumber = in.readByte();
+    final byte count = in.readByte();
+    if (count != Byte.MAX_VALUE) {
+      m_args = new Object[count];
+      for (int i = 0; i < count; i++) {
+        m_args[i] = CompactMessageCodec.readValue(in);
+      }
+    }
+  }
+
   /**
    * After we have been de-serialized, we do not transmit enough
    * informatin to determine the method without being told
@@ -56,4 +56,26 @@ class RemoteMethodCallResults implements Externalizable {
       m_exception = (Throwable) in.readObject();
     }
   }
+
+  /**
+   * Like writeExternal, but with the return value written by CompactMessageCodec.
+   */
+  void writeCompact(final ObjectOutput out) throws IOException {
+    if (m_rVal != null) {
+      out.write(1);
+      CompactMessageCodec.writeValue(m_rVal, out);
+    } else {
+      out.write(0);
+      out.writeObject(m_exception);
+    }
+  }
+
+  void readCompact(final ObjectInput in) throws IOException, ClassNotFoundException {
+    final boolean rVal = in.read() == 1;
+    if (rVal) {
+      m_rVal = CompactMessageCodec.readValue(in);
+    } else {
+      m_exception = (Throwable) in.readObject();
+    }
+  }
 }
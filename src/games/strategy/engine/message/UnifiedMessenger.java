@@ -661,6 +661,27 @@ abstract class Invoke implements Externalizable {
     }
     call.writeExternal(out);
   }
+
+  /**
+   * Like writeExternal, but written as CompactMessageCodec does.
+   */
+  void writeCompact(final ObjectOutput out) throws IOException {
+    out.write(needReturnValues ? 1 : 0);
+    if (needReturnValues) {
+      methodCallID.writeExternal(out);
+    }
+    call.writeCompact(out);
+  }
+
+  void readCompact(final ObjectInput in) throws IOException, ClassNotFoundException {
+    needReturnValues = in.read() == 1;
+    if (needReturnValues) {
+      methodCallID = new GUID();
+      methodCallID.readExternal(in);
+    }
+    call = new RemoteMethodCall();
+    call.readCompact(in);
+  }
 }
 
 
@@ -701,4 +722,19 @@ abstract class InvocationResults implements Externalizable {
     methodCallID = new GUID();
     methodCallID.readExternal(in);
   }
+
+  /**
+   * Like writeExternal, but written as CompactMessageCodec does.
+   */
+  void writeCompact(final ObjectOutput out) throws IOException {
+    results.writeCompact(out);
+    methodCallID.writeExternal(out);
+  }
+
+  void readCompact(final ObjectInput in) throws IOException, ClassNotFoundException {
+    results = new RemoteMethodCallResults();
+    results.readCompact(in);
+    methodCallID = new GUID();
+    methodCallID.readExternal(in);
+  }
 }
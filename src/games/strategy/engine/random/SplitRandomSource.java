@@ -0,0 +1,60 @@
+package games.strategy.engine.random;
+
+import java.util.SplittableRandom;
+
+/**
+ * A random source for simulations (the battle calculator and the AI), which roll a lot of dice on many threads.
+ * Unlike PlainRandomSource it is not synchronized and does not share one generator between all instances, so an
+ * instance must only be used by one thread at a time. Give each thread or worker its own instance, made with split().
+ * All instances split from one seeded instance give the same numbers each time, which makes simulations reproducible.
+ * Not for rolling the dice of real games, use PlainRandomSource or a dice server for that.
+ */
+public class SplitRandomSource implements IRandomSource {
+  // the instances made with the no argument constructor are split from this one
+  private static final SplitRandomSource s_root = new SplitRandomSource(PlainRandomSource.getSeed());
+  private final SplittableRandom m_random;
+
+  /**
+   * Creates a source independent of all others, split from a randomly seeded one.
+   */
+  public SplitRandomSource() {
+    this(s_root.splitRandom());
+  }
+
+  public SplitRandomSource(final long seed) {
+    this(new SplittableRandom(seed));
+  }
+
+  private SplitRandomSource(final SplittableRandom random) {
+    m_random = random;
+  }
+
+  /**
+   * Creates a source independent of this one, which can be used by another thread.
+   * This may be called from any thread, but not while another thread is getting random numbers from this source.
+   */
+  public SplitRandomSource split() {
+    return new SplitRandomSource(splitRandom());
+  }
+
+  private synchronized SplittableRandom splitRandom() {
+    return m_random.split();
+  }
+
+  @Override
+  public int getRandom(final int max, final String annotation) throws IllegalArgumentException {
+    return m_random.nextInt(max);
+  }
+
+  @Override
+  public int[] getRandom(final int max, final int count, final String annotation) throws IllegalArgumentException {
+    if (count <= 0) {
+      throw new IllegalArgumentException("count must be > 0, annotation:" + annotation);
+    }
+    final int[] numbers = new int[count];
+    for (int i = 0; i < count; i++) {
+      numbers[i] = m_random.nextInt(max);
+    }
+    return numbers;
+  }
+}
@@ -0,0 +1,96 @@
+package games.strategy.net.nio;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A pool of direct buffers to read packets into and write packets from, so framing a packet does not create garbage.
+ * <p>
+ * Buffers come in size classes of powers of two, from MIN_SIZE to MAX_SIZE bytes, and a few buffers of each class are
+ * kept once released. Bigger buffers are not pooled, they are allocated on the heap each time. Buffers may be acquired
+ * and released from any thread.
+ */
+class BufferPool {
+  static final int MIN_SIZE = 1024;
+  static final int MAX_SIZE = 1024 * 1024;
+  // how many released buffers of each size class we keep
+  private static final int MAX_POOLED_PER_CLASS = 32;
+  private final Queue<ByteBuffer>[] m_pooled;
+  private final AtomicInteger[] m_pooledCounts;
+  private final AtomicLong m_allocated = new AtomicLong();
+  private final AtomicLong m_reused = new AtomicLong();
+
+  @SuppressWarnings("unchecked")
+  BufferPool() {
+    final int classes = sizeClass(MAX_SIZE) + 1;
+    m_pooled = new Queue[classes];
+    m_pooledCounts = new AtomicInteger[classes];
+    for (int i = 0; i < classes; i++) {
+      m_pooled[i] = new ConcurrentLinkedQueue<ByteBuffer>();
+      m_pooledCounts[i] = new AtomicInteger();
+    }
+  }
+
+  private static int sizeClass(final int size) {
+    if (size <= MIN_SIZE) {
+      return 0;
+    }
+    // the smallest power of two that is at least size, relative to MIN_SIZE
+    return (32 - Integer.numberOfLeadingZeros(size - 1)) - (32 - Integer.numberOfLeadingZeros(MIN_SIZE - 1));
+  }
+
+  /**
+   * @param statistics counts the allocation if the buffer is not from the pool, may be null.
+   * @return a buffer with its position at 0 and its limit at size.
+   */
+  ByteBuffer acquire(final int size, final ConnectionStatistics statistics) {
+    ByteBuffer buffer = null;
+    if (size <= MAX_SIZE) {
+      final int sizeClass = sizeClass(size);
+      buffer = m_pooled[sizeClass].poll();
+      if (buffer != null) {
+        m_pooledCounts[sizeClass].decrementAndGet();
+        m_reused.incrementAndGet();
+      }
+    }
+    if (buffer == null) {
+      buffer = size <= MAX_SIZE ? ByteBuffer.allocateDirect(MIN_SIZE << sizeClass(size)) : ByteBuffer.allocate(size);
+      m_allocated.incrementAndGet();
+      if (statistics != null) {
+        statistics.bufferAllocated();
+      }
+    }
+    buffer.clear();
+    buffer.limit(size);
+    return buffer;
+  }
+
+  /**
+   * Gives a buffer back to the pool. The buffer must not be used after this.
+   */
+  void release(final ByteBuffer buffer) {
+    if (buffer == null || !buffer.isDirect() || buffer.capacity() > MAX_SIZE) {
+      return;
+    }
+    final int sizeClass = sizeClass(buffer.capacity());
+    if ((MIN_SIZE << sizeClass) != buffer.capacity()) {
+      return;
+    }
+    if (m_pooledCounts[sizeClass].incrementAndGet() > MAX_POOLED_PER_CLASS) {
+      m_pooledCounts[sizeClass].decrementAndGet();
+      return;
+    }
+    m_pooled[sizeClass].offer(buffer);
+  }
+
+  long getAllocated() {
+    return m_allocated.get();
+  }
+
+  long getReused() {
+    return m_reused.get();
+  }
+}
@@ -0,0 +1,45 @@
+package games.strategy.net.nio;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads the remaining bytes of a buffer, without copying them first.
+ */
+class ByteBufferInputStream extends InputStream {
+  private final ByteBuffer m_buffer;
+
+  public ByteBufferInputStream(final ByteBuffer buffer) {
+    m_buffer = buffer;
+  }
+
+  @Override
+  public int read() {
+    return m_buffer.hasRemaining() ? m_buffer.get() & 0xFF : -1;
+  }
+
+  @Override
+  public int read(final byte[] bytes, final int offset, final int length) {
+    if (length == 0) {
+      return 0;
+    }
+    if (!m_buffer.hasRemaining()) {
+      return -1;
+    }
+    final int count = Math.min(length, m_buffer.remaining());
+    m_buffer.get(bytes, offset, count);
+    return count;
+  }
+
+  @Override
+  public long skip(final long n) {
+    final int count = (int) Math.max(0, Math.min(n, m_buffer.remaining()));
+    m_buffer.position(m_buffer.position() + count);
+    return count;
+  }
+
+  @Override
+  public int available() {
+    return m_buffer.remaining();
+  }
+}
@@ -3,11 +3,13 @@ package games.strategy.net.nio;
 import java.io.Serializable;
 import java.net.InetSocketAddress;
 import java.nio.channels.SocketChannel;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import games.strategy.engine.message.CompactMessageCodec;
 import games.strategy.net.IConnectionLogin;
 import games.strategy.net.MessageHeader;
 import games.strategy.net.Node;
@@ -113,13 +115,14 @@ public class ClientQuarantineConversation extends QuarantineConversation {
             if (s_logger.isLoggable(Level.FINER)) {
               s_logger.log(Level.FINER, "writing response" + challengeResponse);
             }
-            send((Serializable) challengeResponse);
+            send(withCompactMessages(challengeResponse));
           } else {
             showLatch.countDown();
             if (s_logger.isLoggable(Level.FINER)) {
-              s_logger.log(Level.FINER, "sending null response");
+              s_logger.log(Level.FINER, "sending empty response");
             }
-            send(null);
+            // servers without a challenge do not read the response
+            send(withCompactMessages(null));
           }
           step = STEP.READ_ERROR;
           return ACTION.NONE;
@@ -142,6 +145,10 @@ public class ClientQuarantineConversation extends QuarantineConversation {
           }
           localName = strings[0];
           serverName = strings[1];
+          // older servers only send the names
+          if (strings.length > 2 && CompactMessageCodec.VERSION.equals(strings[2])) {
+            socket.setReadsCompactMessages(channel);
+          }
           step = STEP.READ_ADDRESS;
           return ACTION.NONE;
         case READ_ADDRESS:
@@ -169,6 +176,16 @@ public class ClientQuarantineConversation extends QuarantineConversation {
     }
   }
 
+  /**
+   * @return the response with the property that says we read compact messages added.
+   */
+  private static HashMap<String, String> withCompactMessages(final Map<String, String> response) {
+    final HashMap<String, String> rVal =
+        response == null ? new HashMap<String, String>() : new HashMap<String, String>(response);
+    rVal.put(CompactMessageCodec.PROPERTY, CompactMessageCodec.VERSION);
+    return rVal;
+  }
+
   private void send(final Serializable object) {
     // this messenger is quarantined, so to and from dont matter
     final MessageHeader header = new MessageHeader(Node.NULL_NODE, Node.NULL_NODE, object);
@@ -0,0 +1,55 @@
+package games.strategy.net.nio;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the bytes and packets read from and written to one connection, and how many buffers had to be allocated
+ * for them because none were free in the buffer pool.
+ */
+public class ConnectionStatistics {
+  private final AtomicLong m_bytesRead = new AtomicLong();
+  private final AtomicLong m_packetsRead = new AtomicLong();
+  private final AtomicLong m_bytesWritten = new AtomicLong();
+  private final AtomicLong m_packetsWritten = new AtomicLong();
+  private final AtomicLong m_buffersAllocated = new AtomicLong();
+
+  void packetRead(final int size) {
+    m_bytesRead.addAndGet(size);
+    m_packetsRead.incrementAndGet();
+  }
+
+  void packetWritten(final int size) {
+    m_bytesWritten.addAndGet(size);
+    m_packetsWritten.incrementAndGet();
+  }
+
+  void bufferAllocated() {
+    m_buffersAllocated.incrementAndGet();
+  }
+
+  public long getBytesRead() {
+    return m_bytesRead.get();
+  }
+
+  public long getPacketsRead() {
+    return m_packetsRead.get();
+  }
+
+  public long getBytesWritten() {
+    return m_bytesWritten.get();
+  }
+
+  public long getPacketsWritten() {
+    return m_packetsWritten.get();
+  }
+
+  public long getBuffersAllocated() {
+    return m_buffersAllocated.get();
+  }
+
+  @Override
+  public String toString() {
+    return "read:" + getBytesRead() + " bytes in " + getPacketsRead() + " packets, written:" + getBytesWritten()
+        + " bytes in " + getPacketsWritten() + " packets, buffers allocated:" + getBuffersAllocated();
+  }
+}
@@ -1,6 +1,5 @@
 package games.strategy.net.nio;
 
-import java.io.ByteArrayInputStream;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -11,6 +10,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import games.strategy.engine.message.CompactMessageCodec;
 import games.strategy.engine.message.HubInvocationResults;
 import games.strategy.engine.message.HubInvoke;
 import games.strategy.engine.message.SpokeInvocationResults;
@@ -27,6 +27,10 @@ import games.strategy.net.nio.QuarantineConversation.ACTION;
  */
 public class Decoder {
   private static final Logger logger = Logger.getLogger(Decoder.class.getName());
+  /**
+   * Added to the type of a message written by CompactMessageCodec.
+   */
+  static final byte COMPACT = 0x40;
   private final NIOReader reader;
   private volatile boolean running = true;
   private final IErrorReporter errorReporter;
@@ -75,7 +79,8 @@ public class Decoder {
         if (logger.isLoggable(Level.FINEST)) {
           logger.finest("Decoding packet:" + data);
         }
-        final ByteArrayInputStream stream = new ByteArrayInputStream(data.getData());
+        // read the message straight from the buffer it was read into, and give the buffer back once decoded
+        final ByteBufferInputStream stream = new ByteBufferInputStream(data.getContent());
         try {
           final MessageHeader header = readMessageHeader(data.getChannel(), objectStreamFactory.create(stream));
           if (logger.isLoggable(Level.FINEST)) {
@@ -107,6 +112,8 @@ public class Decoder {
           // is odd
           logger.log(Level.SEVERE, "error reading object", ioe);
           errorReporter.error(data.getChannel(), ioe);
+        } finally {
+          data.release();
         }
       } catch (final Exception e) {
         // catch unhandles exceptions to that the decoder
@@ -162,12 +169,16 @@ public class Decoder {
     }
     Serializable message;
     final byte type = (byte) objectInput.read();
-    if (type != Byte.MAX_VALUE) {
+    if (type == Byte.MAX_VALUE) {
+      message = (Serializable) objectInput.readObject();
+    } else if ((type & COMPACT) != 0) {
+      final Externalizable template = getTemplate((byte) (type & ~COMPACT));
+      CompactMessageCodec.read(template, objectInput);
+      message = template;
+    } else {
       final Externalizable template = getTemplate(type);
       template.readExternal(objectInput);
       message = template;
-    } else {
-      message = (Serializable) objectInput.readObject();
     }
     return new MessageHeader(to, from, message);
   }
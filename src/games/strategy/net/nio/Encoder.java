@@ -4,9 +4,13 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import games.strategy.engine.message.CompactMessageCodec;
 import games.strategy.net.IObjectStreamFactory;
 import games.strategy.net.MessageHeader;
 import games.strategy.net.Node;
@@ -16,6 +20,10 @@ import games.strategy.net.Node;
  */
 public class Encoder {
   private static final Logger s_logger = Logger.getLogger(Encoder.class.getName());
+  // sinks bigger than this after encoding a message are not kept for the next message
+  private static final int MAX_KEPT_SINK_SIZE = 64 * 1024;
+  // messages are encoded by the threads sending them, each encodes into a sink of its own
+  private static final ThreadLocal<ByteArrayOutputStream2> s_sink = new ThreadLocal<ByteArrayOutputStream2>();
   private final NIOWriter m_writer;
   private final IObjectStreamFactory m_objectStreamFactory;
   private final NIOSocket m_nioSocket;
@@ -30,27 +38,86 @@ public class Encoder {
     if (s_logger.isLoggable(Level.FINEST)) {
       s_logger.log(Level.FINEST, "Encoding msg:" + header + " to:" + to);
     }
+    final SocketWriteData data = encode(to, header, m_nioSocket.getStatistics(to));
+    if (data != null) {
+      m_writer.enque(data, to);
+    }
+  }
+
+  /**
+   * Writes a broadcast to many channels.
+   * A broadcast is encoded the same way for every channel (or every channel that reads compact messages), so it is
+   * only encoded once (or twice), and the channels write from the same buffer.
+   */
+  public void write(final Collection<SocketChannel> to, final MessageHeader header) {
+    if (header.getFor() != null) {
+      throw new IllegalArgumentException("Not a broadcast:" + header);
+    }
+    if (to.isEmpty()) {
+      return;
+    }
+    if (s_logger.isLoggable(Level.FINEST)) {
+      s_logger.log(Level.FINEST, "Encoding broadcast:" + header + " to:" + to);
+    }
+    final List<SocketChannel> compact = new ArrayList<SocketChannel>();
+    final List<SocketChannel> notCompact = new ArrayList<SocketChannel>();
+    for (final SocketChannel channel : to) {
+      (m_nioSocket.readsCompactMessages(channel) ? compact : notCompact).add(channel);
+    }
+    writeToAll(compact, header);
+    writeToAll(notCompact, header);
+  }
+
+  private void writeToAll(final List<SocketChannel> to, final MessageHeader header) {
+    if (to.isEmpty()) {
+      return;
+    }
+    final SocketWriteData data = encode(to.get(0), header, null);
+    if (data == null) {
+      return;
+    }
+    for (final SocketChannel channel : to) {
+      m_writer.enque(data.copy(), channel);
+    }
+    // the copies keep the buffer
+    data.release();
+  }
+
+  /**
+   * @return the encoded message, or null if it could not be encoded.
+   */
+  private SocketWriteData encode(final SocketChannel to, final MessageHeader header,
+      final ConnectionStatistics statistics) {
     if (header.getFrom() == null) {
       throw new IllegalArgumentException("No from node");
     }
     if (to == null) {
       throw new IllegalArgumentException("No to channel!");
     }
-    final ByteArrayOutputStream2 sink = new ByteArrayOutputStream2(512);
+    ByteArrayOutputStream2 sink = s_sink.get();
+    if (sink == null) {
+      sink = new ByteArrayOutputStream2(512);
+      s_sink.set(sink);
+    }
+    sink.reset();
     SocketWriteData data;
     try {
       write(header, m_objectStreamFactory.create(sink), to);
-      data = new SocketWriteData(sink.getBuffer(), sink.size());
+      data = new SocketWriteData(sink.getBuffer(), sink.size(), m_nioSocket.getBufferPool(), statistics);
     } catch (final Exception e) {
       // we arent doing any io, just writing in memory
       // so something is very wrong
       s_logger.log(Level.SEVERE, "Error writing object:" + header, e);
-      return;
+      return null;
+    } finally {
+      if (sink.getBuffer().length > MAX_KEPT_SINK_SIZE) {
+        s_sink.remove();
+      }
     }
     if (s_logger.isLoggable(Level.FINER)) {
       s_logger.log(Level.FINER, "encoded  msg:" + header.getMessage() + " size:" + data.size());
     }
-    m_writer.enque(data, to);
+    return data;
   }
 
   private void write(final MessageHeader header, final ObjectOutputStream out, final SocketChannel remote)
@@ -82,10 +149,15 @@ public class Encoder {
       ((Node) header.getFrom()).writeExternal(out);
     }
     final byte type = Decoder.getType(header.getMessage());
-    out.write(type);
-    if (type != Byte.MAX_VALUE) {
+    if (type != Byte.MAX_VALUE && m_nioSocket.readsCompactMessages(remote)
+        && CompactMessageCodec.canWrite(header.getMessage())) {
+      out.write(type | Decoder.COMPACT);
+      CompactMessageCodec.write(header.getMessage(), out);
+    } else if (type != Byte.MAX_VALUE) {
+      out.write(type);
       ((Externalizable) header.getMessage()).writeExternal(out);
     } else {
+      out.write(type);
       out.writeObject(header.getMessage());
     }
     out.reset();
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.SocketException;
+import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
@@ -29,12 +30,16 @@ public class NIOReader {
   private volatile boolean running = true;
   private final Map<SocketChannel, SocketReadData> reading = new ConcurrentHashMap<SocketChannel, SocketReadData>();
   private final IErrorReporter errorReporter;
+  private final NIOSocket nioSocket;
+  // only used by the reading thread, what is read into it is kept by the packet being read
+  private final ByteBuffer sizeBuffer = ByteBuffer.allocateDirect(4);
   private final Selector selector;
   private final Object socketsToAddMutex = new Object();
   private final List<SocketChannel> socketsToAdd = new ArrayList<SocketChannel>();
   private long totalBytes;
 
-  public NIOReader(final IErrorReporter reporter, final String threadSuffix) {
+  public NIOReader(final NIOSocket nioSocket, final IErrorReporter reporter, final String threadSuffix) {
+    this.nioSocket = nioSocket;
     errorReporter = reporter;
     try {
       selector = Selector.open();
@@ -119,9 +124,13 @@ public class NIOReader {
               logger.finest("reading packet:" + packet + " from:" + channel.socket().getRemoteSocketAddress());
             }
             try {
-              final boolean done = packet.read(channel);
+              final boolean done = packet.read(channel, sizeBuffer);
               if (done) {
                 totalBytes += packet.size();
+                final ConnectionStatistics statistics = nioSocket.getStatistics(channel);
+                if (statistics != null) {
+                  statistics.packetRead(packet.size());
+                }
                 if (logger.isLoggable(Level.FINE)) {
                   String remote = "null";
                   final Socket s = channel.socket();
@@ -166,7 +175,8 @@ public class NIOReader {
     if (reading.containsKey(channel)) {
       return reading.get(channel);
     }
-    final SocketReadData packet = new SocketReadData(channel);
+    final SocketReadData packet =
+        new SocketReadData(channel, nioSocket.getBufferPool(), nioSocket.getStatistics(channel));
     reading.put(channel, packet);
     return packet;
   }
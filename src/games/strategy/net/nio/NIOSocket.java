@@ -3,6 +3,11 @@ package games.strategy.net.nio;
 import java.io.IOException;
 import java.net.Socket;
 import java.nio.channels.SocketChannel;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -25,11 +30,17 @@ public class NIOSocket implements IErrorReporter {
   private final NIOWriter m_writer;
   private final NIOReader m_reader;
   private final NIOSocketListener m_listener;
+  private final BufferPool m_bufferPool = new BufferPool();
+  private final Map<SocketChannel, ConnectionStatistics> m_statistics =
+      new ConcurrentHashMap<SocketChannel, ConnectionStatistics>();
+  // the channels whose other side said it reads messages written by CompactMessageCodec
+  private final Set<SocketChannel> m_compactChannels =
+      Collections.newSetFromMap(new ConcurrentHashMap<SocketChannel, Boolean>());
 
   public NIOSocket(final IObjectStreamFactory factory, final NIOSocketListener listener, final String name) {
     m_listener = listener;
-    m_writer = new NIOWriter(this, name);
-    m_reader = new NIOReader(this, name);
+    m_writer = new NIOWriter(this, this, name);
+    m_reader = new NIOReader(this, this, name);
     m_decoder = new Decoder(this, m_reader, this, factory, name);
     m_encoder = new Encoder(this, m_writer, factory);
   }
@@ -42,6 +53,45 @@ public class NIOSocket implements IErrorReporter {
     return m_listener.getRemoteNode(channel);
   }
 
+  /**
+   * @return true if messages to the channel may be written by CompactMessageCodec.
+   */
+  boolean readsCompactMessages(final SocketChannel channel) {
+    return m_compactChannels.contains(channel);
+  }
+
+  /**
+   * Called while logging in, once we know the other side of the channel reads compact messages.
+   */
+  void setReadsCompactMessages(final SocketChannel channel) {
+    m_compactChannels.add(channel);
+  }
+
+  BufferPool getBufferPool() {
+    return m_bufferPool;
+  }
+
+  /**
+   * @return the counts for the channel, or null if the channel has not been added or has been closed.
+   */
+  public ConnectionStatistics getStatistics(final SocketChannel channel) {
+    return m_statistics.get(channel);
+  }
+
+  /**
+   * @return how many buffers were allocated for reading and writing packets because none were free in the pool.
+   */
+  public long getBuffersAllocated() {
+    return m_bufferPool.getAllocated();
+  }
+
+  /**
+   * @return how many times a buffer from the pool was used for reading or writing a packet.
+   */
+  public long getBuffersReused() {
+    return m_bufferPool.getReused();
+  }
+
   /**
    * Stop our threads.
    * This does not close the sockets we are connected to.
@@ -62,6 +112,19 @@ public class NIOSocket implements IErrorReporter {
     m_encoder.write(to, header);
   }
 
+  /**
+   * Sends a broadcast to all the channels, encoding it only once.
+   */
+  public void send(final Collection<SocketChannel> to, final MessageHeader header) {
+    if (to == null) {
+      throw new IllegalArgumentException("to cant be null!");
+    }
+    if (header == null) {
+      throw new IllegalArgumentException("header cant be null");
+    }
+    m_encoder.write(to, header);
+  }
+
   /**
    * Add this channel.
    * The channel will either be unquarantined, or an error will be reported
@@ -70,6 +133,7 @@ public class NIOSocket implements IErrorReporter {
     if (channel.isBlocking()) {
       throw new IllegalArgumentException("Channel is blocking");
     }
+    m_statistics.put(channel, new ConnectionStatistics());
     // add the decoder first, so it can quarantine the messages!
     m_decoder.add(channel, conversation);
     m_reader.add(channel);
@@ -107,6 +171,11 @@ public class NIOSocket implements IErrorReporter {
     m_decoder.closed(channel);
     m_writer.closed(channel);
     m_reader.closed(channel);
+    m_compactChannels.remove(channel);
+    final ConnectionStatistics statistics = m_statistics.remove(channel);
+    if (statistics != null && s_logger.isLoggable(Level.FINE)) {
+      s_logger.log(Level.FINE, "closed channel, " + statistics);
+    }
   }
 
   void messageReceived(final MessageHeader header, final SocketChannel channel) {
@@ -25,6 +25,7 @@ public class NIOWriter {
   private static final Logger s_logger = Logger.getLogger(NIOWriter.class.getName());
   private final Selector m_selector;
   private final IErrorReporter m_errorReporter;
+  private final NIOSocket m_nioSocket;
   // this is the data we are writing
   private final Map<SocketChannel, List<SocketWriteData>> m_writing =
       new HashMap<SocketChannel, List<SocketWriteData>>();
@@ -35,7 +36,8 @@ public class NIOWriter {
   private long m_totalBytes = 0;
   private volatile boolean m_running = true;
 
-  public NIOWriter(final IErrorReporter reporter, final String threadSuffix) {
+  public NIOWriter(final NIOSocket nioSocket, final IErrorReporter reporter, final String threadSuffix) {
+    m_nioSocket = nioSocket;
     m_errorReporter = reporter;
     try {
       m_selector = Selector.open();
@@ -117,6 +119,10 @@ public class NIOWriter {
                 final boolean done = packet.write(channel);
                 if (done) {
                   m_totalBytes += packet.size();
+                  final ConnectionStatistics statistics = m_nioSocket.getStatistics(channel);
+                  if (statistics != null) {
+                    statistics.packetWritten(packet.size());
+                  }
                   if (s_logger.isLoggable(Level.FINE)) {
                     String remote = "null";
                     final Socket s = channel.socket();
@@ -131,6 +137,7 @@ public class NIOWriter {
                         + packet.getWriteCalls() + " total:" + m_totalBytes);
                   }
                   removeLast(channel);
+                  packet.release();
                 }
               } catch (final Exception e) {
                 s_logger.log(Level.FINER, "exception writing", e);
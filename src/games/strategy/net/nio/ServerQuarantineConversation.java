@@ -7,6 +7,7 @@ import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import games.strategy.engine.message.CompactMessageCodec;
 import games.strategy.net.ILoginValidator;
 import games.strategy.net.MessageHeader;
 import games.strategy.net.Node;
@@ -20,6 +21,8 @@ public class ServerQuarantineConversation extends QuarantineConversation {
    * 2) server sends challenge (or null if no challenge is to be made)
    * 3) server reads response (or null if no challenge)
    * 4) server send null then client name and node info on success, or an error message if there is an error
+   * The client response includes CompactMessageCodec.PROPERTY if the client reads compact messages, and then the
+   * server adds CompactMessageCodec.VERSION to the names it sends if it does too
    * 5) if the client reads an error message, the client sends an acknowledgment (we need to make sur the client gets
    * the message before
    * closing the socket)
@@ -88,6 +91,8 @@ public class ServerQuarantineConversation extends QuarantineConversation {
           if (s_logger.isLoggable(Level.FINER)) {
             s_logger.log(Level.FINER, "read challenge response:" + response);
           }
+          final boolean compact =
+              response != null && CompactMessageCodec.VERSION.equals(response.get(CompactMessageCodec.PROPERTY));
           if (m_validator != null) {
             final String error = m_validator.verifyConnection(challenge, response, m_remoteName, m_remoteMac,
                 m_channel.socket().getRemoteSocketAddress());
@@ -107,8 +112,13 @@ public class ServerQuarantineConversation extends QuarantineConversation {
           if (s_logger.isLoggable(Level.FINER)) {
             s_logger.log(Level.FINER, "Sending name:" + m_remoteName);
           }
-          // send the node its name and our name
-          send(new String[] {m_remoteName, m_serverMessenger.getLocalNode().getName()});
+          // send the node its name and our name, and tell it we read compact messages if it does
+          if (compact) {
+            send(new String[] {m_remoteName, m_serverMessenger.getLocalNode().getName(), CompactMessageCodec.VERSION});
+            m_socket.setReadsCompactMessages(m_channel);
+          } else {
+            send(new String[] {m_remoteName, m_serverMessenger.getLocalNode().getName()});
+          }
           // send the node its and our address as we see it
           send(new InetSocketAddress[] {(InetSocketAddress) m_channel.socket().getRemoteSocketAddress(),
               m_serverMessenger.getLocalNode().getSocketAddress()});
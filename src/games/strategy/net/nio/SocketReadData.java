@@ -23,33 +23,52 @@ class SocketReadData {
   // size we send is 0x9b
   public static final int MAGIC = 0x9b000000;
   private int targetSize = -1;
-  // we read into here the first four
-  // bytes to find out size
-  private ByteBuffer sizeBuffer;
-  // we read into here after knowing out size
+  // the first four bytes, which give our size, as far as we have read them
+  private int sizeBytesRead;
+  private int sizeValue;
+  // we read into here after knowing out size, it comes from the pool
   private ByteBuffer contentBuffer;
   private final SocketChannel channel;
+  private final BufferPool pool;
+  private final ConnectionStatistics statistics;
   private final int number = counter.incrementAndGet();
   private int readCalls;
 
   public SocketReadData(final SocketChannel channel) {
+    this(channel, new BufferPool(), null);
+  }
+
+  /**
+   * @param statistics counts the buffers allocated to read into, may be null.
+   */
+  SocketReadData(final SocketChannel channel, final BufferPool pool, final ConnectionStatistics statistics) {
     this.channel = channel;
+    this.pool = pool;
+    this.statistics = statistics;
+  }
+
+  /**
+   * Like read(channel, sizeBuffer), with a size buffer of its own.
+   */
+  public boolean read(final SocketChannel channel) throws IOException {
+    return read(channel, ByteBuffer.allocate(4));
   }
 
   /**
    * Read data from the channel, returning true if this packet is done.
    * <p>
    * If we detect the socket is closed, we will throw an IOExcpetion
+   *
+   * @param sizeBuffer a buffer of at least four bytes to read the size into, which the reader can use for all its
+   *        packets, since what is read into it is kept by the packet.
    */
-  public boolean read(final SocketChannel channel) throws IOException {
+  boolean read(final SocketChannel channel, final ByteBuffer sizeBuffer) throws IOException {
     readCalls++;
     // we dont know our size, read it
     if (targetSize < 0) {
-      // our first read
       // find out how big this packet is
-      if (sizeBuffer == null) {
-        sizeBuffer = ByteBuffer.allocate(4);
-      }
+      sizeBuffer.clear();
+      sizeBuffer.limit(4 - sizeBytesRead);
       final int size = channel.read(sizeBuffer);
       if (logger.isLoggable(Level.FINEST)) {
         logger.finest("read size_buffer bytes:" + size);
@@ -57,10 +76,14 @@ class SocketReadData {
       if (size == -1) {
         throw new IOException("Socket closed");
       }
+      sizeBuffer.flip();
+      while (sizeBuffer.hasRemaining()) {
+        sizeValue = (sizeValue << 8) | (sizeBuffer.get() & 0xFF);
+        sizeBytesRead++;
+      }
       // we have read all four bytes of our size
-      if (!sizeBuffer.hasRemaining()) {
-        sizeBuffer.flip();
-        targetSize = sizeBuffer.getInt();
+      if (sizeBytesRead == 4) {
+        targetSize = sizeValue;
         if ((targetSize & 0xFF000000) != MAGIC) {
           throw new IOException("Did not write magic!");
         }
@@ -69,8 +92,7 @@ class SocketReadData {
         if (targetSize <= 0 || targetSize > MAX_MESSAGE_SIZE) {
           throw new IOException("Invalid triplea packet size:" + targetSize);
         }
-        contentBuffer = ByteBuffer.allocate(targetSize);
-        sizeBuffer = null;
+        contentBuffer = pool.acquire(targetSize, statistics);
       } else {
         // we ddnt read all 4 bytes, return
         return false;
@@ -93,14 +115,29 @@ class SocketReadData {
 
   /**
    * Get the data as a byte[].
-   * This method can only be called once.
+   * This method can only be called once, and not together with getContent().
    */
   public byte[] getData() {
-    final byte[] rVal = new byte[contentBuffer.capacity()];
+    final byte[] rVal = new byte[targetSize];
+    getContent().get(rVal);
+    release();
+    return rVal;
+  }
+
+  /**
+   * Get the data without copying it. The buffer can be read until release() is called.
+   */
+  ByteBuffer getContent() {
     contentBuffer.flip();
-    contentBuffer.get(rVal);
+    return contentBuffer;
+  }
+
+  /**
+   * Gives the buffer holding the data back to the pool.
+   */
+  void release() {
+    pool.release(contentBuffer);
     contentBuffer = null;
-    return rVal;
   }
 
   public int size() {
@@ -13,31 +13,81 @@ import java.util.logging.Logger;
  * Packets do not correspond to ip packets. A packet is just the data for one serialized object.
  * <p>
  * The packet is written over the network as 32 bits indicating the size in bytes, then the data itself.
+ * <p>
+ * Packets with the same data for many sockets share the data, see copy(). If the data is in a buffer from a
+ * BufferPool, the buffer goes back to the pool once the packet and all its copies have been released.
  */
 public class SocketWriteData {
   private static final Logger s_logger = Logger.getLogger(SocketWriteData.class.getName());
   private static final AtomicInteger s_counter = new AtomicInteger();
-  private final ByteBuffer m_size;
-  private final ByteBuffer m_content;
+  // the size followed by the content
+  private final ByteBuffer m_buffer;
+  // the writable buffer all the copies read from, which is given back to the pool
+  private final ByteBuffer m_sharedBuffer;
+  private final int m_length;
+  private final BufferPool m_pool;
+  // how many packets share the buffer and have not been released yet
+  private final AtomicInteger m_references;
   private final int m_number = s_counter.incrementAndGet();
   // how many times we called write before we finished writing ourselves
   private int m_writeCalls = 0;
 
-  public SocketWriteData(final byte[] data, int count) {
-    m_content = ByteBuffer.allocate(count);
-    m_content.put(data, 0, count);
-    m_size = ByteBuffer.allocate(4);
+  public SocketWriteData(final byte[] data, final int count) {
+    this(data, count, ByteBuffer.allocate(count + 4), null);
+  }
+
+  /**
+   * Writes the data into a buffer from the pool.
+   */
+  SocketWriteData(final byte[] data, final int count, final BufferPool pool, final ConnectionStatistics statistics) {
+    this(data, count, pool.acquire(count + 4, statistics), pool);
+  }
+
+  private SocketWriteData(final byte[] data, final int count, final ByteBuffer buffer, final BufferPool pool) {
     if (count < 0 || count > SocketReadData.MAX_MESSAGE_SIZE) {
       throw new IllegalStateException("Invalid message size:" + count);
     }
-    count = count ^ SocketReadData.MAGIC;
-    m_size.putInt(count);
-    m_size.flip();
-    m_content.flip();
+    m_buffer = buffer;
+    m_buffer.putInt(count ^ SocketReadData.MAGIC);
+    m_buffer.put(data, 0, count);
+    m_buffer.flip();
+    m_sharedBuffer = m_buffer;
+    m_length = count + 4;
+    m_pool = pool;
+    m_references = new AtomicInteger(1);
+  }
+
+  private SocketWriteData(final SocketWriteData original) {
+    m_buffer = original.m_buffer.asReadOnlyBuffer();
+    m_buffer.position(0);
+    m_buffer.limit(original.m_length);
+    m_sharedBuffer = original.m_sharedBuffer;
+    m_length = original.m_length;
+    m_pool = original.m_pool;
+    m_references = original.m_references;
+  }
+
+  /**
+   * @return a packet with the same data, to be written to another socket. The data is not copied, both packets
+   *         read from the same read only buffer, but each keeps track of how much of it it has written.
+   *         Must not be called after this packet has been released.
+   */
+  public SocketWriteData copy() {
+    m_references.incrementAndGet();
+    return new SocketWriteData(this);
+  }
+
+  /**
+   * Called when this packet will not be written any more. Neither this packet nor its buffer may be used after this.
+   */
+  void release() {
+    if (m_references.decrementAndGet() == 0 && m_pool != null) {
+      m_pool.release(m_sharedBuffer);
+    }
   }
 
   public int size() {
-    return m_size.capacity() + m_content.capacity();
+    return m_length;
   }
 
   public int getWriteCalls() {
@@ -49,31 +99,18 @@ public class SocketWriteData {
    */
   public boolean write(final SocketChannel channel) throws IOException {
     m_writeCalls++;
-    if (m_size.hasRemaining()) {
-      final int count = channel.write(m_size);
-      if (count == -1) {
-        throw new IOException("triplea: end of stream detected");
-      }
-      if (s_logger.isLoggable(Level.FINEST)) {
-        s_logger.finest("wrote size_buffer bytes:" + count);
-      }
-      // we could not write everything
-      if (m_size.hasRemaining()) {
-        return false;
-      }
-    }
-    final int count = channel.write(m_content);
+    final int count = channel.write(m_buffer);
     if (count == -1) {
       throw new IOException("triplea: end of stream detected");
     }
     if (s_logger.isLoggable(Level.FINEST)) {
-      s_logger.finest("wrote content bytes:" + count);
+      s_logger.finest("wrote bytes:" + count);
     }
-    return !m_content.hasRemaining();
+    return !m_buffer.hasRemaining();
   }
 
   @Override
   public String toString() {
-    return "<id:" + m_number + " size:" + m_content.capacity() + ">";
+    return "<id:" + m_number + " size:" + (m_length - 4) + ">";
   }
 }
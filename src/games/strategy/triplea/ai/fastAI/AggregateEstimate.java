@@ -23,7 +23,7 @@ public class AggregateEstimate extends AggregateResults {
 
   public AggregateEstimate(final int battleRoundsFought, final double winPercentage,
       final List<Unit> remainingAttackingUnits, final List<Unit> remainingDefendingUnits) {
-    super(1);
+    super();
     this.battleRoundsFought = battleRoundsFought;
     this.winPercentage = winPercentage;
     this.remainingAttackingUnits = remainingAttackingUnits;
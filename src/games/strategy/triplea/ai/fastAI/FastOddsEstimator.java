@@ -5,6 +5,7 @@ import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.TerritoryEffect;
 import games.strategy.engine.data.Unit;
+import games.strategy.triplea.ai.proAI.ProData;
 import games.strategy.triplea.ai.proAI.util.ProBattleUtils;
 import games.strategy.triplea.oddsCalculator.ta.AggregateResults;
 import games.strategy.triplea.oddsCalculator.ta.IOddsCalculator;
@@ -16,10 +17,15 @@ import java.util.List;
 
 public class FastOddsEstimator implements IOddsCalculator {
 
+  private final ProData proData;
   private Territory location = null;
   private Collection<Unit> attackingUnits = new ArrayList<>();
   private Collection<Unit> defendingUnits = new ArrayList<>();
 
+  public FastOddsEstimator(final ProData proData) {
+    this.proData = proData;
+  }
+
   @Override
   public void setGameData(final GameData data) {
   }
@@ -36,7 +42,7 @@ public class FastOddsEstimator implements IOddsCalculator {
   @Override
   public AggregateResults calculate() {
     final double winPercentage =
-        ProBattleUtils.estimateStrengthDifference(location, new ArrayList<>(attackingUnits), new ArrayList<>(
+        ProBattleUtils.estimateStrengthDifference(proData, location, new ArrayList<>(attackingUnits), new ArrayList<>(
             defendingUnits));
     final int battleRoundsFought = 3;
     final List<Unit> remainingAttackingUnits = new ArrayList<>();
@@ -50,6 +56,12 @@ public class FastOddsEstimator implements IOddsCalculator {
         remainingDefendingUnits);
   }
 
+  @Override
+  public AggregateResults calculateUntilConfident(final double winPercentMargin, final double tuvSwingMargin,
+      final int maxRunCount, final long maxTimeMillis) {
+    return calculate();
+  }
+
   @Override
   public AggregateResults setCalculateDataAndCalculate(final PlayerID attacker, final PlayerID defender,
       final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
@@ -21,40 +21,40 @@ import java.util.List;
 import java.util.Map;
 
 /**
- * Pro AI data.
+ * Pro AI data. Each ProAI has its own, so several ProAIs can work out their moves at the same time.
  */
 public class ProData {
 
-  private static ProAI proAI;
-  private static GameData data;
-  private static PlayerID player;
+  private ProAI proAI;
+  private GameData data;
+  private PlayerID player;
 
   // Default values
-  public static boolean isSimulation = false;
-  public static double winPercentage = 95;
-  public static double minWinPercentage = 75;
-  public static boolean areNeutralsPassableByAir = false;
-  public static Territory myCapital = null;
-  public static List<Territory> myUnitTerritories = new ArrayList<>();
-  public static Map<Unit, Territory> unitTerritoryMap = new HashMap<>();
-  public static IntegerMap<UnitType> unitValueMap = new IntegerMap<>();
-  public static ProPurchaseOptionMap purchaseOptions = null;
-  public static double minCostPerHitPoint = Double.MAX_VALUE;
-
-  public static void initialize(final ProAI proAI) {
+  private boolean isSimulation = false;
+  private double winPercentage = 95;
+  private double minWinPercentage = 75;
+  private boolean areNeutralsPassableByAir = false;
+  private Territory myCapital = null;
+  private List<Territory> myUnitTerritories = new ArrayList<>();
+  private Map<Unit, Territory> unitTerritoryMap = new HashMap<>();
+  private IntegerMap<UnitType> unitValueMap = new IntegerMap<>();
+  private ProPurchaseOptionMap purchaseOptions = null;
+  private double minCostPerHitPoint = Double.MAX_VALUE;
+
+  public void initialize(final ProAI proAI) {
     hiddenInitialize(proAI, proAI.getGameData(), proAI.getPlayerID(), false);
   }
 
-  public static void initializeSimulation(final ProAI proAI, final GameData data, final PlayerID player) {
+  public void initializeSimulation(final ProAI proAI, final GameData data, final PlayerID player) {
     hiddenInitialize(proAI, data, player, true);
   }
 
-  private static void hiddenInitialize(final ProAI proAI, final GameData data, final PlayerID player,
+  private void hiddenInitialize(final ProAI proAI, final GameData data, final PlayerID player,
       final boolean isSimulation) {
-    ProData.proAI = proAI;
-    ProData.data = data;
-    ProData.player = player;
-    ProData.isSimulation = isSimulation;
+    this.proAI = proAI;
+    this.data = data;
+    this.player = player;
+    this.isSimulation = isSimulation;
 
     if (!games.strategy.triplea.Properties.getLow_Luck(data)) {
       winPercentage = 90;
@@ -63,24 +63,64 @@ public class ProData {
     areNeutralsPassableByAir = (Properties.getNeutralFlyoverAllowed(data) && !Properties.getNeutralsImpassable(data));
     myCapital = TerritoryAttachment.getFirstOwnedCapitalOrFirstUnownedCapital(player, data);
     myUnitTerritories = Match.getMatches(data.getMap().getTerritories(), Matches.territoryHasUnitsOwnedBy(player));
-    unitTerritoryMap = ProUtils.createUnitTerritoryMap();
+    unitTerritoryMap = ProUtils.createUnitTerritoryMap(data);
     unitValueMap = BattleCalculator.getCostsForTUV(player, data);
     purchaseOptions = new ProPurchaseOptionMap(player, data);
     minCostPerHitPoint = getMinCostPerHitPoint(player, purchaseOptions.getLandOptions());
   }
 
-  public static ProAI getProAI() {
+  public ProAI getProAI() {
     return proAI;
   }
 
-  public static GameData getData() {
+  public GameData getData() {
     return data;
   }
 
-  public static PlayerID getPlayer() {
+  public PlayerID getPlayer() {
     return player;
   }
 
+  public boolean isSimulation() {
+    return isSimulation;
+  }
+
+  public double getWinPercentage() {
+    return winPercentage;
+  }
+
+  public double getMinWinPercentage() {
+    return minWinPercentage;
+  }
+
+  public boolean areNeutralsPassableByAir() {
+    return areNeutralsPassableByAir;
+  }
+
+  public Territory getMyCapital() {
+    return myCapital;
+  }
+
+  public List<Territory> getMyUnitTerritories() {
+    return myUnitTerritories;
+  }
+
+  public Map<Unit, Territory> getUnitTerritoryMap() {
+    return unitTerritoryMap;
+  }
+
+  public IntegerMap<UnitType> getUnitValueMap() {
+    return unitValueMap;
+  }
+
+  public ProPurchaseOptionMap getPurchaseOptions() {
+    return purchaseOptions;
+  }
+
+  public double getMinCostPerHitPoint() {
+    return minCostPerHitPoint;
+  }
+
   private static double getMinCostPerHitPoint(final PlayerID player, final List<ProPurchaseOption> landPurchaseOptions) {
     double minCostPerHitPoint = Double.MAX_VALUE;
     for (final ProPurchaseOption ppo : landPurchaseOptions) {
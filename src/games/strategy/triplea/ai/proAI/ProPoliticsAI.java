@@ -30,18 +30,20 @@ import java.util.Map;
 public class ProPoliticsAI {
 
   private final ProOddsCalculator calc;
+  private final ProData proData;
 
   public ProPoliticsAI(final ProAI ai) {
     calc = ai.getCalc();
+    proData = ai.getProData();
   }
 
   public List<PoliticalActionAttachment> politicalActions() {
 
-    final GameData data = ProData.getData();
-    final PlayerID player = ProData.getPlayer();
+    final GameData data = proData.getData();
+    final PlayerID player = proData.getPlayer();
     final float numPlayers = data.getPlayerList().getPlayers().size();
     final double round = data.getSequence().getRound();
-    final ProTerritoryManager territoryManager = new ProTerritoryManager(calc);
+    final ProTerritoryManager territoryManager = new ProTerritoryManager(calc, proData);
     final PoliticsDelegate politicsDelegate = DelegateFinder.politicsDelegate(data);
     final List<PoliticalActionAttachment> results = new ArrayList<>();
     ProLogger.info("Politics for " + player.getName());
@@ -78,7 +80,7 @@ public class ProPoliticsAI {
         }
       }
       if (!warPlayers.isEmpty()) {
-        if (ProUtils.isNeutralPlayer(warPlayers.get(0))) {
+        if (ProUtils.isNeutralPlayer(proData, warPlayers.get(0))) {
           neutralMap.put(action, warPlayers);
         } else {
           enemyMap.put(action, warPlayers);
@@ -170,7 +172,7 @@ public class ProPoliticsAI {
   }
 
   public void doActions(final List<PoliticalActionAttachment> actions) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
     final PoliticsDelegate politicsDelegate = DelegateFinder.politicsDelegate(data);
     for (final PoliticalActionAttachment action : actions) {
       ProLogger.debug("Performing action: " + action);
@@ -45,17 +45,19 @@ import java.util.List;
 public class ProRetreatAI {
 
   private final ProOddsCalculator calc;
+  private final ProData proData;
 
   public ProRetreatAI(final ProAI ai) {
     calc = ai.getCalc();
+    proData = ai.getProData();
   }
 
   public Territory retreatQuery(final GUID battleID, final boolean submerge, final Territory battleTerritory,
       final Collection<Territory> possibleTerritories, final String message) {
 
     // Get battle data
-    final GameData data = ProData.getData();
-    final PlayerID player = ProData.getPlayer();
+    final GameData data = proData.getData();
+    final PlayerID player = proData.getPlayer();
     final BattleDelegate delegate = DelegateFinder.battleDelegate(data);
     final IBattle battle = delegate.getBattleTracker().getPendingBattle(battleID);
 
@@ -108,7 +110,7 @@ public class ProRetreatAI {
           break;
         }
         final double strength =
-            ProBattleUtils.estimateStrength(t, t.getUnits().getMatches(Matches.isUnitAllied(player, data)),
+            ProBattleUtils.estimateStrength(proData, t, t.getUnits().getMatches(Matches.isUnitAllied(player, data)),
                 new ArrayList<>(), false);
         if (strength > maxStrength) {
           retreatTerritory = t;
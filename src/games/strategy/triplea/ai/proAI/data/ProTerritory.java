@@ -20,6 +20,7 @@ import java.util.Set;
 
 public class ProTerritory {
 
+  private final ProData proData;
   private Territory territory;
   private List<Unit> maxUnits;
   private List<Unit> units;
@@ -57,8 +58,9 @@ public class ProTerritory {
   // Scramble variables
   private List<Unit> maxScrambleUnits;
 
-  public ProTerritory(final Territory territory) {
+  public ProTerritory(final Territory territory, final ProData proData) {
     this.territory = territory;
+    this.proData = proData;
     maxUnits = new ArrayList<>();
     units = new ArrayList<>();
     cantMoveUnits = new ArrayList<>();
@@ -90,6 +92,7 @@ public class ProTerritory {
 
   public ProTerritory(final ProTerritory patd) {
     this.territory = patd.getTerritory();
+    this.proData = patd.proData;
     maxUnits = new ArrayList<>(patd.getMaxUnits());
     units = new ArrayList<>(patd.getUnits());
     cantMoveUnits = new ArrayList<>(patd.getCantMoveUnits());
@@ -281,7 +284,7 @@ public class ProTerritory {
     this.battleResult = battleResult;
     if (battleResult == null) {
       currentlyWins = false;
-    } else if (battleResult.getWinPercentage() >= ProData.winPercentage && battleResult.isHasLandUnitRemaining()) {
+    } else if (battleResult.getWinPercentage() >= proData.getWinPercentage() && battleResult.isHasLandUnitRemaining()) {
       currentlyWins = true;
     }
   }
@@ -9,7 +9,7 @@ import games.strategy.util.IntegerMap;
 public class ProMetricUtils {
   private static IntegerMap<ProductionRule> totalPurchaseMap = new IntegerMap<>();
 
-  public static void collectPurchaseStats(final IntegerMap<ProductionRule> purchaseMap) {
+  public static synchronized void collectPurchaseStats(final IntegerMap<ProductionRule> purchaseMap) {
     totalPurchaseMap.add(purchaseMap);
     ProLogger.debug(totalPurchaseMap.toString());
   }
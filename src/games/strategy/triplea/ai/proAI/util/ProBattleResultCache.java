@@ -0,0 +1,140 @@
+package games.strategy.triplea.ai.proAI.util;
+
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.ai.proAI.data.ProBattleResult;
+import games.strategy.triplea.ai.proAI.logging.ProLogger;
+import games.strategy.triplea.delegate.Matches;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Remembers battle calculator results by the kind of units in the battle rather than by the units themselves, so the
+ * same match up is only simulated once while the game data of the calculator does not change.
+ * Units of the same type, owner, damage, transported and amphibious state are treated as the same. The units
+ * remaining in a cached result are mapped back onto the units of the battle being asked about.
+ */
+public class ProBattleResultCache {
+
+  private static final int MAX_SIZE = 10000;
+
+  private final Map<String, CachedResult> cache = new LinkedHashMap<String, CachedResult>(256, 0.75f, true) {
+    private static final long serialVersionUID = 4236184711460373541L;
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<String, CachedResult> eldest) {
+      return size() > MAX_SIZE;
+    }
+  };
+  private int hits = 0;
+  private int misses = 0;
+
+  /**
+   * Returns a key that is equal for all battles that the battle calculator can not tell apart.
+   */
+  public static String getKey(final PlayerID attacker, final PlayerID defender, final Territory t,
+      final Collection<Unit> attackingUnits, final Collection<Unit> defendingUnits,
+      final Collection<Unit> bombardingUnits, final boolean retreatWhenOnlyAirLeft) {
+    return attacker.getName() + "|" + defender.getName() + "|" + t.getName() + "|" + retreatWhenOnlyAirLeft + "|"
+        + getUnitsKey(attackingUnits) + "|" + getUnitsKey(defendingUnits) + "|" + getUnitsKey(bombardingUnits);
+  }
+
+  /**
+   * Returns the cached result for the key, with its remaining units replaced by units from the given battle, or null.
+   */
+  public ProBattleResult get(final String key, final List<Unit> attackingUnits, final List<Unit> defendingUnits) {
+    final CachedResult cached = cache.get(key);
+    if (cached == null) {
+      misses++;
+      return null;
+    }
+    hits++;
+    final ProBattleResult result = cached.result;
+    return new ProBattleResult(result.getWinPercentage(), result.getTUVSwing(), result.isHasLandUnitRemaining(),
+        getMatchingUnits(cached.attackersRemaining, attackingUnits),
+        getMatchingUnits(cached.defendersRemaining, defendingUnits), result.getBattleRounds());
+  }
+
+  public void put(final String key, final ProBattleResult result) {
+    cache.put(key, new CachedResult(result));
+  }
+
+  public void clear() {
+    if (hits + misses > 0) {
+      ProLogger.debug("Battle result cache: hits=" + hits + ", misses=" + misses + ", size=" + cache.size());
+    }
+    cache.clear();
+    hits = 0;
+    misses = 0;
+  }
+
+  public int getHits() {
+    return hits;
+  }
+
+  public int getMisses() {
+    return misses;
+  }
+
+  public int size() {
+    return cache.size();
+  }
+
+  private static String getUnitKey(final Unit u) {
+    // an amphibious attacker can not retreat and may fight differently, so it is not the same as one that is not
+    return u.getType().getName() + "/" + u.getOwner().getName() + "/" + u.getHits() + "/"
+        + Matches.unitIsBeingTransported().match(u) + "/" + Matches.UnitWasAmphibious.match(u);
+  }
+
+  private static String getUnitsKey(final Collection<Unit> units) {
+    final Map<String, Integer> counts = new TreeMap<>();
+    for (final Unit u : units) {
+      counts.merge(getUnitKey(u), 1, Integer::sum);
+    }
+    return counts.toString();
+  }
+
+  private static List<String> getUnitKeys(final List<Unit> units) {
+    final List<String> keys = new ArrayList<>(units.size());
+    for (final Unit u : units) {
+      keys.add(getUnitKey(u));
+    }
+    return keys;
+  }
+
+  private static List<Unit> getMatchingUnits(final List<String> unitKeys, final List<Unit> units) {
+    final Map<String, Deque<Unit>> unitsByKey = new HashMap<>();
+    for (final Unit u : units) {
+      unitsByKey.computeIfAbsent(getUnitKey(u), k -> new ArrayDeque<>()).add(u);
+    }
+    final List<Unit> result = new ArrayList<>(unitKeys.size());
+    for (final String unitKey : unitKeys) {
+      final Deque<Unit> matching = unitsByKey.get(unitKey);
+      if (matching != null && !matching.isEmpty()) {
+        result.add(matching.poll());
+      }
+    }
+    return result;
+  }
+
+  private static class CachedResult {
+    private final ProBattleResult result;
+    private final List<String> attackersRemaining;
+    private final List<String> defendersRemaining;
+
+    CachedResult(final ProBattleResult result) {
+      this.result = result;
+      attackersRemaining = getUnitKeys(result.getAverageAttackersRemaining());
+      defendersRemaining = getUnitKeys(result.getAverageDefendersRemaining());
+    }
+  }
+}
@@ -23,20 +23,60 @@ import java.util.Set;
  */
 public class ProOddsCalculator {
 
+  // runs per batch, and most runs for any battle, of the battle calculator
+  private static final int BATCH_RUN_COUNT = 16;
+  private static final int MAX_RUN_COUNT = 200;
+  private static final long MAX_TIME_MILLIS = 1000;
+  // how close the win percentage and TUV swing (as a fraction of the TUV in the battle) must be, with 95% confidence
+  private static final double WIN_PERCENTAGE_MARGIN = 0.05;
+  private static final double TUV_SWING_MARGIN = 0.05;
+
+  // the calculator of this AI, or null if calculators are taken from the pool for each battle
   private final IOddsCalculator calc;
+  private final ProOddsCalculatorPool pool;
+  private final ProData proData;
+  private final ProBattleResultCache cache = new ProBattleResultCache();
   private boolean isCanceled = false;
+  private volatile IOddsCalculator calcInUse = null;
+  private GameData data = null;
+  // a new key each time the data is set, so a pooled calculator still set for it does not have to be set again
+  private Object dataKey = new Object();
 
-  public ProOddsCalculator(final IOddsCalculator calc) {
+  public ProOddsCalculator(final IOddsCalculator calc, final ProData proData) {
     this.calc = calc;
+    this.pool = null;
+    this.proData = proData;
+  }
+
+  public ProOddsCalculator(final ProOddsCalculatorPool pool, final ProData proData) {
+    this.calc = null;
+    this.pool = pool;
+    this.proData = proData;
   }
 
   public void setData(final GameData data) {
-    calc.setGameData(data);
+    cache.clear();
+    if (pool == null) {
+      calc.setGameData(data);
+    } else {
+      this.data = data;
+      dataKey = new Object();
+    }
   }
 
   public void cancelCalcs() {
-    calc.cancel();
     isCanceled = true;
+    final IOddsCalculator inUse = pool == null ? calc : calcInUse;
+    if (inUse != null) {
+      inUse.cancel();
+    }
+  }
+
+  public void shutdown() {
+    // pooled calculators are shared with other AIs, so they are left running
+    if (pool == null) {
+      calc.shutdown();
+    }
   }
 
   public ProBattleResult estimateAttackBattleResults(final PlayerID player, final Territory t,
@@ -48,7 +88,8 @@ public class ProOddsCalculator {
     }
 
     // Determine if attackers have no chance
-    final double strengthDifference = ProBattleUtils.estimateStrengthDifference(t, attackingUnits, defendingUnits);
+    final double strengthDifference = ProBattleUtils.estimateStrengthDifference(proData, t, attackingUnits,
+        defendingUnits);
     if (strengthDifference < 45) {
       return new ProBattleResult(0, -999, false, new ArrayList<>(), defendingUnits, 1);
     }
@@ -64,7 +105,8 @@ public class ProOddsCalculator {
     }
 
     // Determine if defenders have no chance
-    final double strengthDifference = ProBattleUtils.estimateStrengthDifference(t, attackingUnits, defendingUnits);
+    final double strengthDifference = ProBattleUtils.estimateStrengthDifference(proData, t, attackingUnits,
+        defendingUnits);
     if (strengthDifference > 55) {
       final boolean isLandAndCanOnlyBeAttackedByAir = !t.isWater() && Match.allMatch(attackingUnits, Matches.UnitIsAir);
       return new ProBattleResult(100 + strengthDifference, 999 + strengthDifference, !isLandAndCanOnlyBeAttackedByAir,
@@ -86,7 +128,7 @@ public class ProOddsCalculator {
 
   private ProBattleResult checkIfNoAttackersOrDefenders(final Territory t, final List<Unit> attackingUnits,
       final List<Unit> defendingUnits) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     final boolean hasNoDefenders = Match.noneMatch(defendingUnits, Matches.UnitIsNotInfrastructure);
     final boolean isLandAndCanOnlyBeAttackedByAir = !t.isWater() && Match.allMatch(attackingUnits, Matches.UnitIsAir);
@@ -112,7 +154,7 @@ public class ProOddsCalculator {
   public ProBattleResult callBattleCalculator(final PlayerID player, final Territory t,
       final List<Unit> attackingUnits, final List<Unit> defendingUnits, final Set<Unit> bombardingUnits,
       final boolean retreatWhenOnlyAirLeft) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     if (isCanceled || attackingUnits.isEmpty() || defendingUnits.isEmpty()) {
       return new ProBattleResult();
@@ -120,18 +162,38 @@ public class ProOddsCalculator {
 
     // Use battle calculator (hasLandUnitRemaining is always true for naval territories)
     AggregateResults results = null;
-    final int minArmySize = Math.min(attackingUnits.size(), defendingUnits.size());
-    final int runCount = Math.max(16, 100 - minArmySize);
     final PlayerID attacker = attackingUnits.get(0).getOwner();
     final PlayerID defender = defendingUnits.get(0).getOwner();
-    if (retreatWhenOnlyAirLeft) {
-      calc.setRetreatWhenOnlyAirLeft(true);
+    final String key = ProBattleResultCache.getKey(attacker, defender, t, attackingUnits, defendingUnits,
+        bombardingUnits, retreatWhenOnlyAirLeft);
+    final ProBattleResult cachedResult = cache.get(key, attackingUnits, defendingUnits);
+    if (cachedResult != null) {
+      return cachedResult;
+    }
+    final IOddsCalculator battleCalc = pool == null ? calc : pool.take(dataKey, data);
+    if (battleCalc == null) {
+      return new ProBattleResult();
     }
-    results =
-        calc.setCalculateDataAndCalculate(attacker, defender, t, attackingUnits, defendingUnits, new ArrayList<>(
-            bombardingUnits), TerritoryEffectHelper.getEffects(t), runCount);
-    if (retreatWhenOnlyAirLeft) {
-      calc.setRetreatWhenOnlyAirLeft(false);
+    calcInUse = battleCalc;
+    try {
+      if (retreatWhenOnlyAirLeft) {
+        battleCalc.setRetreatWhenOnlyAirLeft(true);
+      }
+      // stop as soon as the result is known well enough, so lopsided battles only take a batch or two
+      final double tuvInBattle = BattleCalculator.getTUV(attackingUnits, proData.getUnitValueMap())
+          + BattleCalculator.getTUV(defendingUnits, proData.getUnitValueMap());
+      battleCalc.setCalculateData(attacker, defender, t, attackingUnits, defendingUnits,
+          new ArrayList<>(bombardingUnits), TerritoryEffectHelper.getEffects(t), BATCH_RUN_COUNT);
+      results = battleCalc.calculateUntilConfident(WIN_PERCENTAGE_MARGIN, Math.max(1, TUV_SWING_MARGIN * tuvInBattle),
+          MAX_RUN_COUNT, MAX_TIME_MILLIS);
+    } finally {
+      if (retreatWhenOnlyAirLeft) {
+        battleCalc.setRetreatWhenOnlyAirLeft(false);
+      }
+      if (pool != null) {
+        calcInUse = null;
+        pool.give(battleCalc);
+      }
     }
 
     // Find battle result statistics
@@ -145,29 +207,32 @@ public class ProOddsCalculator {
     double TUVswing = results.getAverageTUVswing(attacker, mainCombatAttackers, defender, mainCombatDefenders, data);
     if (Matches.TerritoryIsNeutralButNotWater.match(t)) // Set TUV swing for neutrals
     {
-      final double attackingUnitValue = BattleCalculator.getTUV(mainCombatAttackers, ProData.unitValueMap);
+      final double attackingUnitValue = BattleCalculator.getTUV(mainCombatAttackers, proData.getUnitValueMap());
       final double remainingUnitValue =
-          results.getAverageTUVofUnitsLeftOver(ProData.unitValueMap, ProData.unitValueMap).getFirst();
+          results.getAverageTUVofUnitsLeftOver(proData.getUnitValueMap(), proData.getUnitValueMap()).getFirst();
       TUVswing = remainingUnitValue - attackingUnitValue;
     }
     final List<Unit> defendingTransportedUnits = Match.getMatches(defendingUnits, Matches.unitIsBeingTransported());
     if (t.isWater() && !defendingTransportedUnits.isEmpty()) // Add TUV swing for transported units
     {
-      final double transportedUnitValue = BattleCalculator.getTUV(defendingTransportedUnits, ProData.unitValueMap);
+      final double transportedUnitValue = BattleCalculator.getTUV(defendingTransportedUnits, proData.getUnitValueMap());
       TUVswing += transportedUnitValue * winPercentage / 100;
     }
 
     // Create battle result object
     final List<Territory> tList = new ArrayList<>();
     tList.add(t);
+    final ProBattleResult result;
     if (Match.allMatch(tList, Matches.TerritoryIsLand)) {
-      return new ProBattleResult(winPercentage, TUVswing,
+      result = new ProBattleResult(winPercentage, TUVswing,
           Match.someMatch(averageAttackersRemaining, Matches.UnitIsLand), averageAttackersRemaining,
           averageDefendersRemaining, results.getAverageBattleRoundsFought());
     } else {
-      return new ProBattleResult(winPercentage, TUVswing, !averageAttackersRemaining.isEmpty(),
+      result = new ProBattleResult(winPercentage, TUVswing, !averageAttackersRemaining.isEmpty(),
           averageAttackersRemaining, averageDefendersRemaining, results.getAverageBattleRoundsFought());
     }
+    cache.put(key, result);
+    return result;
   }
 
 }
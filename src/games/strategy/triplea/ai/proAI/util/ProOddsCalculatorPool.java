@@ -0,0 +1,89 @@
+package games.strategy.triplea.ai.proAI.util;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.triplea.oddsCalculator.ta.ConcurrentOddsCalculator;
+import games.strategy.triplea.oddsCalculator.ta.IOddsCalculator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Battle calculators shared by AIs. An AI takes a calculator for each battle it calculates and gives it back after,
+ * so there is only a calculator, with its worker threads and copies of the game data, for each AI calculating at the
+ * same time, and never more than the maximum. Each calculator already uses every core, so an AI that would go over
+ * the maximum waits for one to be given back instead.
+ */
+public class ProOddsCalculatorPool {
+
+  private final int maxCalculators;
+  private final List<IOddsCalculator> idle = new ArrayList<>();
+  // what the game data of each calculator was last set for, a calculator set for the same thing is taken first
+  private final Map<IOddsCalculator, Object> dataKeys = new HashMap<>();
+  private int created = 0;
+
+  public ProOddsCalculatorPool(final int maxCalculators) {
+    this.maxCalculators = Math.max(1, maxCalculators);
+  }
+
+  protected IOddsCalculator createCalculator() {
+    return new ConcurrentOddsCalculator("ProAI");
+  }
+
+  /**
+   * Takes a calculator set to the data, waiting for one to be given back if all the calculators are in use.
+   *
+   * @param dataKey
+   *        - stands for the data as it was when it was set, a calculator last set for the same key is not set again
+   * @return the calculator, or null if the thread was interrupted while waiting
+   */
+  public IOddsCalculator take(final Object dataKey, final GameData data) {
+    final IOddsCalculator calc;
+    synchronized (this) {
+      while (idle.isEmpty() && created >= maxCalculators) {
+        try {
+          wait();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return null;
+        }
+      }
+      for (final IOddsCalculator idleCalc : idle) {
+        if (dataKeys.get(idleCalc) == dataKey) {
+          idle.remove(idleCalc);
+          return idleCalc;
+        }
+      }
+      if (!idle.isEmpty()) {
+        calc = idle.remove(idle.size() - 1);
+      } else {
+        calc = createCalculator();
+        created++;
+      }
+      dataKeys.put(calc, dataKey);
+    }
+    // copying the data can take a while, so it is done without holding the pool
+    calc.setGameData(data);
+    return calc;
+  }
+
+  public synchronized void give(final IOddsCalculator calc) {
+    idle.add(calc);
+    notify();
+  }
+
+  /**
+   * Lets go of the game data held by the idle calculators, so it is not kept around after a game is exited.
+   */
+  public synchronized void clear() {
+    for (final IOddsCalculator calc : idle) {
+      calc.setGameData(null);
+      dataKeys.remove(calc);
+    }
+  }
+
+  synchronized int getCreatedCount() {
+    return created;
+  }
+}
@@ -42,31 +42,32 @@ import java.util.Map;
  */
 public class ProPurchaseUtils {
 
-  public static List<ProPurchaseOption> findPurchaseOptionsForTerritory(final PlayerID player,
+  public static List<ProPurchaseOption> findPurchaseOptionsForTerritory(final ProData proData, final PlayerID player,
       final List<ProPurchaseOption> purchaseOptions, final Territory t) {
     final List<ProPurchaseOption> result = new ArrayList<>();
     for (final ProPurchaseOption ppo : purchaseOptions) {
-      if (canTerritoryUsePurchaseOption(player, ppo, t)) {
+      if (canTerritoryUsePurchaseOption(proData, player, ppo, t)) {
         result.add(ppo);
       }
     }
     return result;
   }
 
-  public static boolean canTerritoryUsePurchaseOption(final PlayerID player, final ProPurchaseOption ppo,
-      final Territory t) {
+  public static boolean canTerritoryUsePurchaseOption(final ProData proData, final PlayerID player,
+      final ProPurchaseOption ppo, final Territory t) {
     if (ppo == null) {
       return false;
     }
     final List<Unit> units = ppo.getUnitType().create(ppo.getQuantity(), player, true);
-    return canUnitsBePlaced(units, player, t);
+    return canUnitsBePlaced(proData, units, player, t);
   }
 
-  public static boolean canUnitsBePlaced(final List<Unit> units, final PlayerID player, final Territory t) {
-    final GameData data = ProData.getData();
+  public static boolean canUnitsBePlaced(final ProData proData, final List<Unit> units, final PlayerID player,
+      final Territory t) {
+    final GameData data = proData.getData();
 
     final AbstractPlaceDelegate placeDelegate = (AbstractPlaceDelegate) data.getDelegateList().getDelegate("place");
-    final IDelegateBridge bridge = new ProDummyDelegateBridge(ProData.getProAI(), player, data);
+    final IDelegateBridge bridge = new ProDummyDelegateBridge(proData.getProAI(), player, data);
     placeDelegate.setDelegateBridgeAndPlayer(bridge);
     final String s = placeDelegate.canUnitsBePlaced(t, units, player);
     if (s == null) {
@@ -145,17 +146,17 @@ public class ProPurchaseUtils {
     return purchasePercentages.keySet().iterator().next();
   }
 
-  public static List<Unit> findMaxPurchaseDefenders(final PlayerID player, final Territory t,
+  public static List<Unit> findMaxPurchaseDefenders(final ProData proData, final PlayerID player, final Territory t,
       final List<ProPurchaseOption> landPurchaseOptions) {
 
     ProLogger.info("Find max purchase defenders for " + t.getName());
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     // Determine most cost efficient defender that can be produced in this territory
     final Resource PUs = data.getResourceList().getResource(Constants.PUS);
     final int PUsRemaining = player.getResources().getQuantity(PUs);
     final List<ProPurchaseOption> purchaseOptionsForTerritory =
-        findPurchaseOptionsForTerritory(player, landPurchaseOptions, t);
+        findPurchaseOptionsForTerritory(proData, player, landPurchaseOptions, t);
     ProPurchaseOption bestDefenseOption = null;
     double maxDefenseEfficiency = 0;
     for (final ProPurchaseOption ppo : purchaseOptionsForTerritory) {
@@ -189,10 +190,11 @@ public class ProPurchaseUtils {
     return placeUnits;
   }
 
-  public static Map<Territory, ProPurchaseTerritory> findPurchaseTerritories(final PlayerID player) {
+  public static Map<Territory, ProPurchaseTerritory> findPurchaseTerritories(final ProData proData,
+      final PlayerID player) {
 
     ProLogger.info("Find all purchase territories");
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     // Find all territories that I can place units on
     final RulesAttachment ra = player.getRulesAttachment();
@@ -268,14 +270,14 @@ public class ProPurchaseUtils {
   /**
    * Comparator that sorts cheaper units before expensive ones.
    */
-  public static Comparator<Unit> getCostComparator() {
-    return (o1, o2) -> Double.compare(getCost(o1), getCost(o2));
+  public static Comparator<Unit> getCostComparator(final ProData proData) {
+    return (o1, o2) -> Double.compare(getCost(proData, o1), getCost(proData, o2));
   }
 
   /**
    * How many PU's does it cost the given player to produce the given unit including any dependents.
    */
-  public static double getCost(final Unit unit) {
+  public static double getCost(final ProData proData, final Unit unit) {
     final Resource PUs = unit.getData().getResourceList().getResource(Constants.PUS);
     final Collection<Unit> units = TransportTracker.transportingAndUnloaded(unit);
     units.add(unit);
@@ -283,7 +285,7 @@ public class ProPurchaseUtils {
     for (final Unit u : units) {
       final ProductionRule rule = getProductionRule(u.getType(), u.getOwner());
       if (rule == null) {
-        cost += ProData.unitValueMap.getInt(u.getType());
+        cost += proData.getUnitValueMap().getInt(u.getType());
       } else {
         cost += ((double) rule.getCosts().getInt(PUs)) / rule.getResults().totalValues();
       }
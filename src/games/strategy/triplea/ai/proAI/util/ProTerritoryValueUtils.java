@@ -23,25 +23,26 @@ import java.util.Set;
  */
 public class ProTerritoryValueUtils {
 
-  public static double findTerritoryAttackValue(final PlayerID player, final Territory t) {
-    final GameData data = ProData.getData();
+  public static double findTerritoryAttackValue(final ProData proData, final PlayerID player, final Territory t) {
+    final GameData data = proData.getData();
 
     final int isEnemyFactory = ProMatches.territoryHasInfraFactoryAndIsEnemyLand(player, data).match(t) ? 1 : 0;
     double value = 3 * TerritoryAttachment.getProduction(t) * (isEnemyFactory + 1);
     if (!t.isWater() && t.getOwner().isNull()) {
       final double strength =
-          ProBattleUtils.estimateStrength(t, new ArrayList<>(t.getUnits().getUnits()), new ArrayList<>(), false);
+          ProBattleUtils.estimateStrength(proData, t, new ArrayList<>(t.getUnits().getUnits()), new ArrayList<>(),
+              false);
 
       // Estimate TUV swing as number of casualties * cost
-      final double TUVSwing = -(strength / 8) * ProData.minCostPerHitPoint;
+      final double TUVSwing = -(strength / 8) * proData.getMinCostPerHitPoint();
       value += TUVSwing;
     }
     return value;
   }
 
-  public static Map<Territory, Double> findTerritoryValues(final PlayerID player,
+  public static Map<Territory, Double> findTerritoryValues(final ProData proData, final PlayerID player,
       final List<Territory> territoriesThatCantBeHeld, final List<Territory> territoriesToAttack) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
     final List<Territory> allTerritories = data.getMap().getTerritories();
 
     // Get all enemy factories and capitals (check if most territories have factories and if so remove them)
@@ -49,13 +50,14 @@ public class ProTerritoryValueUtils {
     enemyCapitalsAndFactories.addAll(Match.getMatches(
         allTerritories,
         ProMatches.territoryHasInfraFactoryAndIsOwnedByPlayersOrCantBeHeld(player, data,
-            ProUtils.getPotentialEnemyPlayers(player), territoriesThatCantBeHeld)));
+            ProUtils.getPotentialEnemyPlayers(proData, player), territoriesThatCantBeHeld)));
     final int numPotentialEnemyTerritories =
-        Match.countMatches(allTerritories, Matches.isTerritoryOwnedBy(ProUtils.getPotentialEnemyPlayers(player)));
+        Match.countMatches(allTerritories,
+            Matches.isTerritoryOwnedBy(ProUtils.getPotentialEnemyPlayers(proData, player)));
     if (enemyCapitalsAndFactories.size() * 2 >= numPotentialEnemyTerritories) {
       enemyCapitalsAndFactories.clear();
     }
-    enemyCapitalsAndFactories.addAll(ProUtils.getLiveEnemyCapitals(data, player));
+    enemyCapitalsAndFactories.addAll(ProUtils.getLiveEnemyCapitals(proData, data, player));
     enemyCapitalsAndFactories.removeAll(territoriesToAttack);
 
     // Find max land mass size
@@ -137,7 +139,7 @@ public class ProTerritoryValueUtils {
           if (distance > 0) {
             double value = TerritoryAttachment.getProduction(nearbyEnemyTerritory);
             if (nearbyEnemyTerritory.getOwner().isNull()) {
-              value = findTerritoryAttackValue(player, nearbyEnemyTerritory) / 3; // find neutral value
+              value = findTerritoryAttackValue(proData, player, nearbyEnemyTerritory) / 3; // find neutral value
             } else if (ProMatches.territoryIsAlliedLandAndHasNoEnemyNeighbors(player, data).match(nearbyEnemyTerritory)) {
               value *= 0.1; // reduce value for can't hold amphib allied territories
             }
@@ -203,7 +205,7 @@ public class ProTerritoryValueUtils {
                 nearbyLandTerritory)) {
               double value = TerritoryAttachment.getProduction(nearbyLandTerritory);
               if (nearbyLandTerritory.getOwner().isNull()) {
-                value = findTerritoryAttackValue(player, nearbyLandTerritory);
+                value = findTerritoryAttackValue(proData, player, nearbyLandTerritory);
               }
               nearbyLandValue += value;
             }
@@ -219,9 +221,9 @@ public class ProTerritoryValueUtils {
     return territoryValueMap;
   }
 
-  public static Map<Territory, Double> findSeaTerritoryValues(final PlayerID player,
+  public static Map<Territory, Double> findSeaTerritoryValues(final ProData proData, final PlayerID player,
       final List<Territory> territoriesThatCantBeHeld) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
     final List<Territory> allTerritories = data.getMap().getTerritories();
 
     // Determine value for water territories
@@ -40,8 +40,8 @@ public class ProTransportUtils {
     return maxMovement;
   }
 
-  public static int findNumUnitsThatCanBeTransported(final PlayerID player, final Territory t) {
-    final GameData data = ProData.getData();
+  public static int findNumUnitsThatCanBeTransported(final ProData proData, final PlayerID player, final Territory t) {
+    final GameData data = proData.getData();
     int numUnitsToLoad = 0;
     final Set<Territory> neighbors = data.getMap().getNeighbors(t, Matches.TerritoryIsLand);
     for (final Territory neighbor : neighbors) {
@@ -162,8 +162,9 @@ public class ProTransportUtils {
     return transportCost;
   }
 
-  public static List<Unit> getAirThatCantLandOnCarrier(final PlayerID player, final Territory t, final List<Unit> units) {
-    final GameData data = ProData.getData();
+  public static List<Unit> getAirThatCantLandOnCarrier(final ProData proData, final PlayerID player, final Territory t,
+      final List<Unit> units) {
+    final GameData data = proData.getData();
 
     int capacity = AirMovementValidator.carrierCapacity(units, t);
     final Collection<Unit> airUnits = Match.getMatches(units, ProMatches.unitIsAlliedAir(player, data));
@@ -182,9 +183,9 @@ public class ProTransportUtils {
     return airThatCantLand;
   }
 
-  public static boolean validateCarrierCapacity(final PlayerID player, final Territory t,
+  public static boolean validateCarrierCapacity(final ProData proData, final PlayerID player, final Territory t,
       final List<Unit> existingUnits, final Unit newUnit) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     int capacity = AirMovementValidator.carrierCapacity(existingUnits, t);
     final Collection<Unit> airUnits = Match.getMatches(existingUnits, ProMatches.unitIsAlliedAir(player, data));
@@ -202,9 +203,9 @@ public class ProTransportUtils {
     return true;
   }
 
-  public static int getUnusedLocalCarrierCapacity(final PlayerID player, final Territory t,
+  public static int getUnusedLocalCarrierCapacity(final ProData proData, final PlayerID player, final Territory t,
       final List<Unit> unitsToPlace) {
-    final GameData data = ProData.getData();
+    final GameData data = proData.getData();
 
     // Find nearby carrier capacity
     final Set<Territory> nearbyTerritories =
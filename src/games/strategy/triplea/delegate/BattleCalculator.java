@@ -646,6 +646,18 @@ public class BattleCalculator {
     return killed;
   }
 
+  /**
+   * Returns all the targets in the order the default casualty selection would take them, first casualty first.
+   * Only valid for units with a single hit point, in a battle that is not amphibious.
+   */
+  public static List<Unit> getDefaultCasualtyOrder(final Collection<Unit> targetsToPickFrom, final boolean defending,
+      final PlayerID player, final Collection<Unit> enemyUnits, final Territory battlesite,
+      final Collection<TerritoryEffect> territoryEffects, final GameData data) {
+    return sortUnitsForCasualtiesWithSupport(targetsToPickFrom, targetsToPickFrom.size(), defending, player,
+        enemyUnits, false, new ArrayList<Unit>(), battlesite, getCostsForTUV(player, data), territoryEffects, data,
+        true, true);
+  }
+
   /**
    * A unit with two hitpoints will be listed twice if they will die. The first time they are listed it is as damaged.
    * The second time they
@@ -1303,6 +1315,18 @@ public class BattleCalculator {
     return tuv;
   }
 
+  /**
+   * Return the total unit value of a number of units of each type, like those kept by the game data's ownership
+   * index.
+   */
+  public static int getTUV(final IntegerMap<UnitType> unitCounts, final IntegerMap<UnitType> costs) {
+    int tuv = 0;
+    for (final UnitType type : unitCounts.keySet()) {
+      tuv += unitCounts.getInt(type) * costs.getInt(type);
+    }
+    return tuv;
+  }
+
   /**
    * Return the total unit value for a certain player and his allies
    *
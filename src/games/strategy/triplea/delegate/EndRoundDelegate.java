@@ -221,14 +221,13 @@ public class EndRoundDelegate extends BaseTripleADelegate {
     final GameData data = aBridge.getData();
     final Iterator<String> allianceIter = data.getAllianceTracker().getAlliances().iterator();
     String allianceName = null;
-    final Collection<Territory> territories = data.getMap().getTerritories();
     while (allianceIter.hasNext()) {
       allianceName = allianceIter.next();
       final int vcAmount = getVCAmount(data, allianceName, victoryType);
       final Set<PlayerID> teamMembers = data.getAllianceTracker().getPlayersInAlliance(allianceName);
       int teamVCs = 0;
-      for (final Territory t : territories) {
-        if (Matches.isTerritoryOwnedBy(teamMembers).match(t)) {
+      for (final PlayerID member : teamMembers) {
+        for (final Territory t : data.getMap().getTerritoriesOwnedBy(member)) {
           final TerritoryAttachment ta = TerritoryAttachment.get(t);
           if (ta != null) {
             teamVCs += ta.getVictoryCity();
@@ -352,12 +351,8 @@ public class EndRoundDelegate extends BaseTripleADelegate {
 
   public int getProduction(final PlayerID id) {
     int sum = 0;
-    final Iterator<Territory> territories = getData().getMap().iterator();
-    while (territories.hasNext()) {
-      final Territory current = territories.next();
-      if (current.getOwner().equals(id)) {
-        sum += TerritoryAttachment.getProduction(current);
-      }
+    for (final Territory current : getData().getMap().getTerritoriesOwnedBy(id)) {
+      sum += TerritoryAttachment.getProduction(current);
     }
     return sum;
   }
@@ -3,6 +3,7 @@ package games.strategy.triplea.image;
 import java.awt.Image;
 import java.io.IOException;
 import java.net.URL;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -11,7 +12,8 @@ import javax.imageio.ImageIO;
 import games.strategy.triplea.ResourceLoader;
 
 public class ImageFactory {
-  private final Map<String, Image> m_images = new HashMap<String, Image>();
+  // images are looked up by the map panel's background drawers as well as the event thread
+  private final Map<String, Image> m_images = Collections.synchronizedMap(new HashMap<String, Image>());
   private ResourceLoader m_resourceLoader;
 
   public void setResourceLoader(final ResourceLoader loader) {
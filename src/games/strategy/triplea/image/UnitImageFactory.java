@@ -7,6 +7,7 @@ import java.awt.Image;
 import java.awt.Toolkit;
 import java.awt.image.BufferedImage;
 import java.net.URL;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -38,9 +39,9 @@ public class UnitImageFactory {
   private static int UNIT_COUNTER_OFFSET_HEIGHT = UNIT_ICON_HEIGHT;
   private static final String FILE_NAME_BASE = "units/";
   // maps Point -> image
-  private final Map<String, Image> m_images = new HashMap<String, Image>();
+  private final Map<String, Image> m_images = Collections.synchronizedMap(new HashMap<String, Image>());
   // maps Point -> Icon
-  private final Map<String, ImageIcon> m_icons = new HashMap<String, ImageIcon>();
+  private final Map<String, ImageIcon> m_icons = Collections.synchronizedMap(new HashMap<String, ImageIcon>());
   // Scaling factor for unit images
   private double m_scaleFactor;
   private ResourceLoader m_resourceLoader;
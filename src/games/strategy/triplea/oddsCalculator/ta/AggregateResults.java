@@ -3,7 +3,9 @@ package games.strategy.triplea.oddsCalculator.ta;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map.Entry;
 
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
@@ -13,40 +15,122 @@ import games.strategy.triplea.delegate.BattleCalculator;
 import games.strategy.util.IntegerMap;
 import games.strategy.util.Tuple;
 
+/**
+ * Accumulates the statistics of many battle results as they are added, so that memory use does not grow with the
+ * number of runs. Only running sums and counts are kept, plus one representative BattleResults for each distinct
+ * outcome (number of attacking and defending combat units left), which is bounded by the size of the battle rather
+ * than by the run count.
+ */
 public class AggregateResults implements Serializable {
-  private static final long serialVersionUID = -556699626060414738L;
-  // can be empty!
-  private final List<BattleResults> m_results;
+  private static final long serialVersionUID = -2089281693463462337L;
+  // standard normal quantile for a two sided 95% confidence interval
+  private static final double Z_95 = 1.96;
+  private int m_rollCount = 0;
+  private int m_attackerWins = 0;
+  private int m_defenderWins = 0;
+  private int m_draws = 0;
+  private long m_attackingUnitsLeft = 0;
+  private long m_defendingUnitsLeft = 0;
+  private long m_attackingUnitsLeftWhenAttackerWon = 0;
+  private long m_defendingUnitsLeftWhenDefenderWon = 0;
+  private long m_battleRoundsFought = 0;
+  private final IntegerMap<Integer> m_battleRoundsHistogram = new IntegerMap<Integer>();
+  // how many of each unit type were left over, summed over all results, so we can get the TUV left for any costs
+  private final IntegerMap<UnitType> m_attackingUnitTypesLeft = new IntegerMap<UnitType>();
+  private final IntegerMap<UnitType> m_defendingUnitTypesLeft = new IntegerMap<UnitType>();
+  // first result seen for each (attacking combat units left, defending combat units left), in the order first seen
+  private final LinkedHashMap<Tuple<Integer, Integer>, BattleResults> m_representativeResults =
+      new LinkedHashMap<Tuple<Integer, Integer>, BattleResults>();
+  // per result difference between the attacking and defending TUV left, so we know how much the TUV swing varies
+  private int m_tuvRollCount = 0;
+  private long m_tuvLeftDifference = 0;
+  private double m_tuvLeftDifferenceSquared = 0;
   private long m_time;
 
-  public AggregateResults(final int expectedCount) {
-    m_results = new ArrayList<BattleResults>(expectedCount);
-  }
+  public AggregateResults() {}
 
-  public void addResult(final BattleResults result) {
-    m_results.add(result);
+  /**
+   * Adds the result, and also remembers its TUV left over so that getAverageTUVswingMarginOfError() can be used.
+   */
+  public void addResult(final BattleResults result, final IntegerMap<UnitType> attackerCostsForTUV,
+      final IntegerMap<UnitType> defenderCostsForTUV) {
+    addResult(result);
+    final long difference = BattleCalculator.getTUV(result.getRemainingAttackingUnits(), attackerCostsForTUV)
+        - BattleCalculator.getTUV(result.getRemainingDefendingUnits(), defenderCostsForTUV);
+    m_tuvRollCount++;
+    m_tuvLeftDifference += difference;
+    m_tuvLeftDifferenceSquared += (double) difference * difference;
   }
 
-  public void addResults(final Collection<BattleResults> results) {
-    m_results.addAll(results);
+  public void addResult(final BattleResults result) {
+    final int attackingUnitsLeft = result.getAttackingCombatUnitsLeft();
+    final int defendingUnitsLeft = result.getDefendingCombatUnitsLeft();
+    m_rollCount++;
+    if (result.attackerWon()) {
+      m_attackerWins++;
+      m_attackingUnitsLeftWhenAttackerWon += attackingUnitsLeft;
+    } else if (result.defenderWon()) {
+      m_defenderWins++;
+      m_defendingUnitsLeftWhenDefenderWon += defendingUnitsLeft;
+    } else {
+      m_draws++;
+    }
+    m_attackingUnitsLeft += attackingUnitsLeft;
+    m_defendingUnitsLeft += defendingUnitsLeft;
+    m_battleRoundsFought += result.getBattleRoundsFought();
+    m_battleRoundsHistogram.add(Integer.valueOf(result.getBattleRoundsFought()), 1);
+    for (final Unit u : result.getRemainingAttackingUnits()) {
+      m_attackingUnitTypesLeft.add(u.getType(), 1);
+    }
+    for (final Unit u : result.getRemainingDefendingUnits()) {
+      m_defendingUnitTypesLeft.add(u.getType(), 1);
+    }
+    final Tuple<Integer, Integer> outcome = Tuple.of(attackingUnitsLeft, defendingUnitsLeft);
+    if (!m_representativeResults.containsKey(outcome)) {
+      m_representativeResults.put(outcome, result);
+    }
   }
 
-  public List<BattleResults> getResults() {
-    return m_results;
+  /**
+   * Merges the statistics of another aggregate (for example from a different worker) into this one.
+   */
+  public void addResults(final AggregateResults results) {
+    m_rollCount += results.m_rollCount;
+    m_attackerWins += results.m_attackerWins;
+    m_defenderWins += results.m_defenderWins;
+    m_draws += results.m_draws;
+    m_attackingUnitsLeft += results.m_attackingUnitsLeft;
+    m_defendingUnitsLeft += results.m_defendingUnitsLeft;
+    m_attackingUnitsLeftWhenAttackerWon += results.m_attackingUnitsLeftWhenAttackerWon;
+    m_defendingUnitsLeftWhenDefenderWon += results.m_defendingUnitsLeftWhenDefenderWon;
+    m_battleRoundsFought += results.m_battleRoundsFought;
+    m_battleRoundsHistogram.add(results.m_battleRoundsHistogram);
+    m_attackingUnitTypesLeft.add(results.m_attackingUnitTypesLeft);
+    m_defendingUnitTypesLeft.add(results.m_defendingUnitTypesLeft);
+    m_tuvRollCount += results.m_tuvRollCount;
+    m_tuvLeftDifference += results.m_tuvLeftDifference;
+    m_tuvLeftDifferenceSquared += results.m_tuvLeftDifferenceSquared;
+    for (final Entry<Tuple<Integer, Integer>, BattleResults> entry : results.m_representativeResults.entrySet()) {
+      if (!m_representativeResults.containsKey(entry.getKey())) {
+        m_representativeResults.put(entry.getKey(), entry.getValue());
+      }
+    }
   }
 
   /**
    * This could be null if we have zero results!
    */
   public BattleResults GetBattleResultsClosestToAverage() {
+    final double averageAttackingUnitsLeft = getAverageAttackingUnitsLeft();
+    final double averageDefendingUnitsLeft = getAverageDefendingUnitsLeft();
     double closestBattleDif = Integer.MAX_VALUE;
     BattleResults closestBattle = null;
-    for (final BattleResults results : m_results) {
-      double dif = Math.abs(results.getAttackingCombatUnitsLeft() - getAverageAttackingUnitsLeft());
-      dif += Math.abs(results.getDefendingCombatUnitsLeft() - getAverageDefendingUnitsLeft());
+    for (final Entry<Tuple<Integer, Integer>, BattleResults> entry : m_representativeResults.entrySet()) {
+      double dif = Math.abs(entry.getKey().getFirst() - averageAttackingUnitsLeft);
+      dif += Math.abs(entry.getKey().getSecond() - averageDefendingUnitsLeft);
       if (dif < closestBattleDif) {
         closestBattleDif = dif;
-        closestBattle = results;
+        closestBattle = entry.getValue();
       }
     }
     // can be null!
@@ -66,15 +150,11 @@ public class AggregateResults implements Serializable {
   }
 
   public double getAverageAttackingUnitsLeft() {
-    if (m_results.isEmpty()) // can be empty!
+    if (m_rollCount == 0) // can be empty!
     {
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      count += result.getAttackingCombatUnitsLeft();
-    }
-    return count / m_results.size();
+    return (double) m_attackingUnitsLeft / m_rollCount;
   }
 
   /**
@@ -82,22 +162,24 @@ public class AggregateResults implements Serializable {
    */
   public Tuple<Double, Double> getAverageTUVofUnitsLeftOver(final IntegerMap<UnitType> attackerCostsForTUV,
       final IntegerMap<UnitType> defenderCostsForTUV) {
-    if (m_results.isEmpty()) // can be empty!
+    if (m_rollCount == 0) // can be empty!
     {
       return Tuple.of(0.0, 0.0);
     }
     double attackerTUV = 0;
     double defenderTUV = 0;
-    for (final BattleResults result : m_results) {
-      attackerTUV += BattleCalculator.getTUV(result.getRemainingAttackingUnits(), attackerCostsForTUV);
-      defenderTUV += BattleCalculator.getTUV(result.getRemainingDefendingUnits(), defenderCostsForTUV);
+    for (final UnitType type : m_attackingUnitTypesLeft.keySet()) {
+      attackerTUV += (double) m_attackingUnitTypesLeft.getInt(type) * attackerCostsForTUV.getInt(type);
+    }
+    for (final UnitType type : m_defendingUnitTypesLeft.keySet()) {
+      defenderTUV += (double) m_defendingUnitTypesLeft.getInt(type) * defenderCostsForTUV.getInt(type);
     }
-    return Tuple.of(attackerTUV / m_results.size(), defenderTUV / m_results.size());
+    return Tuple.of(attackerTUV / m_rollCount, defenderTUV / m_rollCount);
   }
 
   public double getAverageTUVswing(final PlayerID attacker, final Collection<Unit> attackers, final PlayerID defender,
       final Collection<Unit> defenders, final GameData data) {
-    if (m_results.isEmpty()) // can be empty!
+    if (m_rollCount == 0) // can be empty!
     {
       return 0.0;
     }
@@ -112,116 +194,114 @@ public class AggregateResults implements Serializable {
     return defenderLost - attackerLost;
   }
 
-  public double getAverageAttackingUnitsLeftWhenAttackerWon() {
-    if (m_results.isEmpty()) // can be empty!
-    {
-      return 0.0;
-    }
-    double count = 0;
-    double total = 0;
-    for (final BattleResults result : m_results) {
-      if (result.attackerWon()) {
-        count += result.getAttackingCombatUnitsLeft();
-        total += 1;
-      }
+  /**
+   * @return half the width of the 95% confidence interval of getAttackerWinPercent(). This uses the Agresti-Coull
+   *         interval, so that it does not shrink to nothing when every result so far was a win (or a loss).
+   */
+  public double getAttackerWinPercentMarginOfError() {
+    final double adjustedRollCount = m_rollCount + Z_95 * Z_95;
+    final double adjustedWinPercent = (m_attackerWins + Z_95 * Z_95 / 2) / adjustedRollCount;
+    return Z_95 * Math.sqrt(adjustedWinPercent * (1 - adjustedWinPercent) / adjustedRollCount);
+  }
+
+  /**
+   * @return half the width of the 95% confidence interval of getAverageTUVswing(), or infinity if fewer than 2 results
+   *         were added together with their TUV costs.
+   */
+  public double getAverageTUVswingMarginOfError() {
+    if (m_tuvRollCount < 2) {
+      return Double.POSITIVE_INFINITY;
     }
-    if (total <= 0) {
+    final double mean = (double) m_tuvLeftDifference / m_tuvRollCount;
+    final double variance =
+        Math.max(0, (m_tuvLeftDifferenceSquared - mean * m_tuvLeftDifference) / (m_tuvRollCount - 1));
+    return Z_95 * Math.sqrt(variance / m_tuvRollCount);
+  }
+
+  /**
+   * @return true if both the attacker win percent and the average TUV swing are known to within the given margins.
+   */
+  public boolean isWithinMarginOfError(final double winPercentMargin, final double tuvSwingMargin) {
+    return getAttackerWinPercentMarginOfError() <= winPercentMargin
+        && getAverageTUVswingMarginOfError() <= tuvSwingMargin;
+  }
+
+  /**
+   * @return true if the attacker won every result or none of them, and the average TUV swing is known to within the
+   *         margin, so the battle is one sided and more runs would hardly change the results.
+   */
+  public boolean isOneSided(final double tuvSwingMargin) {
+    return m_rollCount > 0 && (m_attackerWins == 0 || m_attackerWins == m_rollCount)
+        && getAverageTUVswingMarginOfError() <= tuvSwingMargin;
+  }
+
+  public double getAverageAttackingUnitsLeftWhenAttackerWon() {
+    if (m_attackerWins <= 0) {
       return 0;
     }
-    return count / total;
+    return (double) m_attackingUnitsLeftWhenAttackerWon / m_attackerWins;
   }
 
   public double getAverageDefendingUnitsLeft() {
-    if (m_results.isEmpty()) // can be empty!
+    if (m_rollCount == 0) // can be empty!
     {
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      count += result.getDefendingCombatUnitsLeft();
-    }
-    return count / m_results.size();
+    return (double) m_defendingUnitsLeft / m_rollCount;
   }
 
   public double getAverageDefendingUnitsLeftWhenDefenderWon() {
-    if (m_results.isEmpty()) // can be empty!
-    {
-      return 0.0;
-    }
-    double count = 0;
-    double total = 0;
-    for (final BattleResults result : m_results) {
-      if (result.defenderWon()) {
-        count += result.getDefendingCombatUnitsLeft();
-        total += 1;
-      }
-    }
-    if (total <= 0) {
+    if (m_defenderWins <= 0) {
       return 0;
     }
-    return count / total;
+    return (double) m_defendingUnitsLeftWhenDefenderWon / m_defenderWins;
   }
 
   public double getAttackerWinPercent() {
-    if (m_results.isEmpty()) // can be empty!
+    if (m_rollCount == 0) // can be empty!
     {
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      if (result.attackerWon()) {
-        count++;
-      }
-    }
-    return count / m_results.size();
+    return (double) m_attackerWins / m_rollCount;
   }
 
   public double getDefenderWinPercent() {
-    if (m_results.isEmpty()) // can be empty!
+    if (m_rollCount == 0) // can be empty!
     {
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      if (result.defenderWon()) {
-        count++;
-      }
-    }
-    return count / m_results.size();
+    return (double) m_defenderWins / m_rollCount;
   }
 
   public double getAverageBattleRoundsFought() {
-    if (m_results.isEmpty()) // can be empty!
+    if (m_rollCount == 0) // can be empty!
     {
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      count += result.getBattleRoundsFought();
-    }
-    if (count == 0) {
+    if (m_battleRoundsFought == 0) {
       // If this is a 'fake' aggregate result, return 1.0
       return 1.0;
     }
-    return count / m_results.size();
+    return (double) m_battleRoundsFought / m_rollCount;
+  }
+
+  /**
+   * @return how many results ended after each number of battle rounds.
+   */
+  public IntegerMap<Integer> getBattleRoundsFoughtHistogram() {
+    return new IntegerMap<Integer>(m_battleRoundsHistogram);
   }
 
   public double getDrawPercent() {
-    if (m_results.isEmpty()) // can be empty!
+    if (m_rollCount == 0) // can be empty!
     {
       return 0.0;
     }
-    double count = 0;
-    for (final BattleResults result : m_results) {
-      if (result.draw()) {
-        count++;
-      }
-    }
-    return count / m_results.size();
+    return (double) m_draws / m_rollCount;
   }
 
   public int getRollCount() {
-    return m_results.size();
+    return m_rollCount;
   }
 
   public long getTime() {
@@ -49,6 +49,18 @@ public class BattleResults extends GameDataComponent implements Serializable {
     m_whoWon = scriptedWhoWon;
   }
 
+  /**
+   * For battles that were simulated without creating an IBattle.
+   */
+  public BattleResults(final int battleRoundsFought, final List<Unit> remainingAttackingUnits,
+      final List<Unit> remainingDefendingUnits, final WhoWon whoWon, final GameData data) {
+    super(data);
+    m_battleRoundsFought = battleRoundsFought;
+    m_remainingAttackingUnits = remainingAttackingUnits;
+    m_remainingDefendingUnits = remainingDefendingUnits;
+    m_whoWon = whoWon;
+  }
+
   public void setWhoWon(final WhoWon whoWon) {
     m_whoWon = whoWon;
   }
@@ -1,5 +1,8 @@
 package games.strategy.triplea.oddsCalculator.ta;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -7,6 +10,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -18,24 +22,37 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectOutputStream;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.TerritoryEffect;
 import games.strategy.engine.data.Unit;
-import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.engine.data.events.NumberedGameDataChangeListener;
+import games.strategy.engine.framework.GameDataCopier;
+import games.strategy.engine.random.SplitRandomSource;
 import games.strategy.util.CountUpAndDownLatch;
 
 /**
  * Concurrent wrapper class for the OddsCalculator. It spawns multiple worker threads and splits up the run count
  * across these workers. This is mainly to be used by AIs since they call the OddsCalculator a lot.
+ * <p>
+ * The workers keep their copies of the game data. When the same game data is set again, the changes performed on it
+ * since are performed on the copies too, instead of copying it again.
  */
 public class ConcurrentOddsCalculator implements IOddsCalculator {
   private static final Logger s_logger = Logger.getLogger(ConcurrentOddsCalculator.class.getName());
   private static final int MAX_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+  // past this many changes the workers copy the game data again, rather than performing them all
+  private static final int MAX_CHANGES_TO_SYNC = 2000;
   private int m_currentThreads = MAX_THREADS;
   private final ExecutorService m_executor;
   private final CopyOnWriteArrayList<OddsCalculator> m_workers = new CopyOnWriteArrayList<OddsCalculator>();
+  // each worker rolls its dice from its own stream split from this one, so the workers never wait on each other
+  private final SplitRandomSource m_randomSource = new SplitRandomSource();
+  // records the changes to the game data the workers were copied from
+  private volatile ChangeRecorder m_changeRecorder = null;
   // do not let calc be set up til data is set
   private volatile boolean m_isDataSet = false;
   // do not let calc start until it is set
@@ -64,6 +81,9 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
 
   @Override
   public void setGameData(final GameData data) {
+    if (data != null && syncWorkers(data)) {
+      return;
+    }
     // increment so that a new calc doesn't take place (since they all wait on this latch)
     m_latchSetData.increment();
     // cancel any current setting of data
@@ -82,6 +102,7 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
       m_isCalcSet = false;
       if (data == null || m_isShutDown) {
         m_workers.clear();
+        stopRecordingChanges();
         ++m_cancelCurrentOperation;
         // allow calcing and other stuff to go ahead
         m_latchSetData.countDown();
@@ -99,6 +120,79 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
     }
   }
 
+  /**
+   * Brings the workers up to date with the game data they were copied from, by performing the changes made to it since.
+   *
+   * @return false if the workers have to copy the game data instead
+   */
+  private boolean syncWorkers(final GameData data) {
+    final ChangeRecorder recorder = m_changeRecorder;
+    if (recorder == null || recorder.m_data != data) {
+      return false;
+    }
+    cancel();
+    synchronized (m_mutexCalcIsRunning) {
+      awaitLatch();
+      synchronized (m_mutexSetGameData) {
+        try {
+          m_latchWorkerThreadsCreation.await();
+        } catch (final InterruptedException e) {
+        }
+        if (m_changeRecorder != recorder || !m_isDataSet || m_isShutDown) {
+          return false;
+        }
+        final List<Change> changes = recorder.takeChanges();
+        if (changes == null) {
+          return false;
+        }
+        m_isCalcSet = false;
+        final long start = System.currentTimeMillis();
+        try {
+          final byte[] written = writeChanges(changes, data);
+          for (final OddsCalculator worker : m_workers) {
+            if (!worker.performChanges(written)) {
+              return false;
+            }
+          }
+        } catch (final IOException e) {
+          s_logger.log(Level.WARNING, "Failed to write game data changes for odds calculator", e);
+          return false;
+        }
+        s_logger.fine("Synced " + changes.size() + " changes to " + m_workers.size() + " workers in "
+            + (System.currentTimeMillis() - start) + " ms");
+        notifyListenersGameDataIsSet();
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Writes the changes, and the current round and step which are not changed by changes, so they can be performed on
+   * a copy of the game data with OddsCalculator.performChanges.
+   */
+  static byte[] writeChanges(final List<Change> changes, final GameData data) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new GameObjectOutputStream(bytes)) {
+      data.acquireReadLock();
+      try {
+        out.writeObject(changes);
+        out.writeInt(data.getSequence().getRound() - data.getSequence().getRoundOffset());
+        out.writeInt(data.getSequence().getStepIndex());
+      } finally {
+        data.releaseReadLock();
+      }
+    }
+    return bytes.toByteArray();
+  }
+
+  private void stopRecordingChanges() {
+    final ChangeRecorder recorder = m_changeRecorder;
+    if (recorder != null) {
+      recorder.m_data.removeNumberedDataChangeListener(recorder);
+      m_changeRecorder = null;
+    }
+  }
+
   @Override
   public int getThreadCount() {
     return m_currentThreads;
@@ -132,64 +226,83 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
 
   private void createWorkers(final GameData data) {
     m_workers.clear();
+    stopRecordingChanges();
+    final ChangeRecorder recorder = new ChangeRecorder(data);
     if (data != null && m_cancelCurrentOperation >= 0) {
       // see how long 1 copy takes (some games can get REALLY big)
       final long startTime = System.currentTimeMillis();
       final long startMemory = Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+      final GameDataCopier copier;
       final GameData newData;
-      try { // make first copy, then release lock on it so game can continue (ie: we don't want to lock on it while we
-            // copy it 16 times,
-            // when once is enough)
-        // don't let the data change while we make the first copy
+      try {
+        // write the data once, then release the lock on it so game can continue (ie: we don't want to lock on it
+        // while we make 16 copies, when once is enough). all copies are read from what we wrote here.
+        // a change performed just before can still be notified after the recorder is added, so the recorder skips
+        // the changes up to the last one the copy has
         data.acquireReadLock();
-        newData = GameDataUtils.cloneGameData(data, false);
-      } finally {
-        data.releaseReadLock();
+        try {
+          data.addNumberedDataChangeListener(recorder);
+          recorder.m_copiedChanges = data.getChangesPerformed();
+          copier = new GameDataCopier(data, false, false);
+        } finally {
+          data.releaseReadLock();
+        }
+        newData = copier.copy();
+      } catch (final IOException e) {
+        s_logger.log(Level.SEVERE, "Failed to copy game data for odds calculator", e);
+        data.removeNumberedDataChangeListener(recorder);
+        m_isDataSet = false;
+        m_latchWorkerThreadsCreation.countDown();
+        m_latchSetData.countDown();
+        return;
       }
       m_currentThreads = getThreadsToUse((System.currentTimeMillis() - startTime), startMemory);
-      try {
-        // make sure all workers are using the same data
-        newData.acquireReadLock();
-        int i = 0;
-        if (m_currentThreads <= 2 || MAX_THREADS <= 2) // we are already in 1 executor thread, so we have MAX_THREADS-1
-                                                       // threads left to use
-        { // if 2 or fewer threads, do not multi-thread the copying (we have already copied it once above, so at most
-          // only 1 more copy to
-          // make)
-          while (m_cancelCurrentOperation >= 0 && i < m_currentThreads) {
-            // the last one will use our already copied data from above, without copying it again
-            m_workers.add(new OddsCalculator(newData, (m_currentThreads == ++i)));
-          }
-        } else { // multi-thread our copying, cus why the heck not (it increases the speed of copying by about double)
-          final CountDownLatch workerLatch = new CountDownLatch(m_currentThreads - 1);
-          while (i < (m_currentThreads - 1)) {
-            ++i;
-            m_executor.submit(new Runnable() {
-              @Override
-              public void run() {
-                if (m_cancelCurrentOperation >= 0) {
-                  m_workers.add(new OddsCalculator(newData, false));
-                }
-                workerLatch.countDown();
-              }
-            });
-          }
+      int i = 0;
+      if (m_currentThreads <= 2 || MAX_THREADS <= 2) // we are already in 1 executor thread, so we have MAX_THREADS-1
+                                                     // threads left to use
+      { // if 2 or fewer threads, do not multi-thread the copying (we have already copied it once above, so at most
+        // only 1 more copy to make)
+        while (m_cancelCurrentOperation >= 0 && i < m_currentThreads) {
           // the last one will use our already copied data from above, without copying it again
-          m_workers.add(new OddsCalculator(newData, true));
-          try {
-            workerLatch.await();
-          } catch (final InterruptedException e) {
+          if (m_currentThreads == ++i) {
+            m_workers.add(new OddsCalculator(newData, true, m_randomSource.split()));
+          } else {
+            addWorkerCopy(copier);
           }
         }
-      } finally {
-        newData.releaseReadLock();
+      } else { // multi-thread our copying, cus why the heck not (it increases the speed of copying by about double)
+        final CountDownLatch workerLatch = new CountDownLatch(m_currentThreads - 1);
+        while (i < (m_currentThreads - 1)) {
+          ++i;
+          m_executor.submit(new Runnable() {
+            @Override
+            public void run() {
+              if (m_cancelCurrentOperation >= 0) {
+                addWorkerCopy(copier);
+              }
+              workerLatch.countDown();
+            }
+          });
+        }
+        // the last one will use our already copied data from above, without copying it again
+        m_workers.add(new OddsCalculator(newData, true, m_randomSource.split()));
+        try {
+          workerLatch.await();
+        } catch (final InterruptedException e) {
+        }
       }
+      // fewer if some copies failed
+      m_currentThreads = m_workers.size();
     }
     if (m_cancelCurrentOperation < 0 || data == null) {
       // we could have cancelled while setting data, so clear the workers again if so
       m_workers.clear();
+      if (data != null) {
+        data.removeNumberedDataChangeListener(recorder);
+      }
       m_isDataSet = false;
     } else {
+      m_changeRecorder = recorder;
       // should make sure that all workers have their game data set before we can call calculate and other things
       m_isDataSet = true;
       notifyListenersGameDataIsSet();
@@ -201,12 +314,24 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
     s_logger.fine("Initialized worker thread pool with size: " + m_workers.size());
   }
 
+  /**
+   * Adds a worker with its own copy of the data, or no worker if the copy fails.
+   */
+  private void addWorkerCopy(final GameDataCopier copier) {
+    try {
+      m_workers.add(new OddsCalculator(copier.copy(), true, m_randomSource.split()));
+    } catch (final IOException e) {
+      s_logger.log(Level.SEVERE, "Failed to copy game data for odds calculator worker", e);
+    }
+  }
+
   @Override
   public void shutdown() {
     m_isShutDown = true;
     m_cancelCurrentOperation = Integer.MIN_VALUE / 2;
     cancel();
     m_executor.shutdown();
+    stopRecordingChanges();
     synchronized (m_listeners) {
       m_listeners.clear();
     }
@@ -264,65 +389,114 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
       awaitLatch();
       final long start = System.currentTimeMillis();
       // Create worker thread pool and start all workers
-      int totalRunCount = 0;
       final List<Future<AggregateResults>> list = new ArrayList<Future<AggregateResults>>();
       for (final OddsCalculator worker : m_workers) {
         if (!getIsReady()) {
           // we could have attempted to set a new game data, while the old one was still being set, causing it to abort
           // with null data
-          return new AggregateResults(0);
+          return new AggregateResults();
         }
         if (!worker.getIsReady()) {
           throw new IllegalStateException("Called calculate before setting calculate data!");
         }
         if (worker.getRunCount() > 0) {
-          totalRunCount += worker.getRunCount();
           final Future<AggregateResults> workerResult = m_executor.submit(worker);
           list.add(workerResult);
         }
       }
-      // Wait for all worker futures to complete and combine results
-      final AggregateResults results = new AggregateResults(totalRunCount);
-      final Set<InterruptedException> interruptExceptions = new HashSet<InterruptedException>();
-      final Map<String, Set<ExecutionException>> executionExceptions = new HashMap<String, Set<ExecutionException>>();
-      for (final Future<AggregateResults> future : list) {
-        try {
-          final AggregateResults result = future.get();
-          results.addResults(result.getResults());
-        } catch (final InterruptedException e) {
-          interruptExceptions.add(e);
-        } catch (final ExecutionException e) {
-          final String cause = e.getCause().getLocalizedMessage();
-          Set<ExecutionException> exceptions = executionExceptions.get(cause);
-          if (exceptions == null) {
-            exceptions = new HashSet<ExecutionException>();
-          }
-          exceptions.add(e);
-          executionExceptions.put(cause, exceptions);
-        }
-      }
-      // we don't want to scare the user with 8+ errors all for the same thing
-      if (!interruptExceptions.isEmpty()) {
-        s_logger.log(Level.SEVERE, interruptExceptions.size() + " Battle results workers interrupted",
-            interruptExceptions.iterator().next());
+      return combineResults(list, start);
+    }
+  }
+
+  /**
+   * First runs one batch of the run count that was set over all workers, which is enough if the battle turns out to be
+   * one sided. Otherwise each worker calculates until its own results are within the margins widened by the square root
+   * of the number of workers, which is about when the combined results of all workers are within the margins asked
+   * for. The run count that was set is split up into the batch size of each worker.
+   */
+  @Override
+  public AggregateResults calculateUntilConfident(final double winPercentMargin, final double tuvSwingMargin,
+      final int maxRunCount, final long maxTimeMillis) {
+    synchronized (m_mutexCalcIsRunning) {
+      awaitLatch();
+      final long start = System.currentTimeMillis();
+      // the workers decide on their own runs, which are too few to tell a one sided battle from a likely one, so
+      // that is decided on the first batch of all of them together
+      final AggregateResults firstBatch = calculate();
+      final long timeLeft = maxTimeMillis - (System.currentTimeMillis() - start);
+      if (!getIsReady() || firstBatch.getRollCount() >= maxRunCount || timeLeft <= 0
+          || firstBatch.isOneSided(tuvSwingMargin)) {
+        return firstBatch;
       }
-      if (!executionExceptions.isEmpty()) {
-        Exception e = null;
-        for (final Set<ExecutionException> entry : executionExceptions.values()) {
-          if (!entry.isEmpty()) {
-            e = entry.iterator().next();
-            s_logger.log(Level.SEVERE, entry.size() + " Battle results workers aborted by exception", e.getCause());
-          }
+      final int workerNum = Math.max(1, m_workers.size());
+      final double workerMarginScale = Math.sqrt(workerNum);
+      final int workerMaxRunCount = Math.max(1, (maxRunCount - firstBatch.getRollCount()) / workerNum);
+      final List<Future<AggregateResults>> list = new ArrayList<Future<AggregateResults>>();
+      for (final OddsCalculator worker : m_workers) {
+        if (!getIsReady()) {
+          return firstBatch;
         }
-        if (e != null) {
-          throw new IllegalStateException(e.getCause());
+        if (!worker.getIsReady()) {
+          throw new IllegalStateException("Called calculate before setting calculate data!");
         }
+        list.add(m_executor.submit(new Callable<AggregateResults>() {
+          @Override
+          public AggregateResults call() {
+            return worker.calculateUntilConfident(winPercentMargin * workerMarginScale,
+                tuvSwingMargin * workerMarginScale, workerMaxRunCount, timeLeft);
+          }
+        }));
       }
-      results.setTime(System.currentTimeMillis() - start);
+      final AggregateResults results = combineResults(list, start);
+      results.addResults(firstBatch);
       return results;
     }
   }
 
+  /**
+   * Waits for all the worker futures to complete and combines their results.
+   */
+  private static AggregateResults combineResults(final List<Future<AggregateResults>> list, final long start) {
+    final AggregateResults results = new AggregateResults();
+    final Set<InterruptedException> interruptExceptions = new HashSet<InterruptedException>();
+    final Map<String, Set<ExecutionException>> executionExceptions = new HashMap<String, Set<ExecutionException>>();
+    for (final Future<AggregateResults> future : list) {
+      try {
+        final AggregateResults result = future.get();
+        results.addResults(result);
+      } catch (final InterruptedException e) {
+        interruptExceptions.add(e);
+      } catch (final ExecutionException e) {
+        final String cause = e.getCause().getLocalizedMessage();
+        Set<ExecutionException> exceptions = executionExceptions.get(cause);
+        if (exceptions == null) {
+          exceptions = new HashSet<ExecutionException>();
+        }
+        exceptions.add(e);
+        executionExceptions.put(cause, exceptions);
+      }
+    }
+    // we don't want to scare the user with 8+ errors all for the same thing
+    if (!interruptExceptions.isEmpty()) {
+      s_logger.log(Level.SEVERE, interruptExceptions.size() + " Battle results workers interrupted",
+          interruptExceptions.iterator().next());
+    }
+    if (!executionExceptions.isEmpty()) {
+      Exception e = null;
+      for (final Set<ExecutionException> entry : executionExceptions.values()) {
+        if (!entry.isEmpty()) {
+          e = entry.iterator().next();
+          s_logger.log(Level.SEVERE, entry.size() + " Battle results workers aborted by exception", e.getCause());
+        }
+      }
+      if (e != null) {
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+    results.setTime(System.currentTimeMillis() - start);
+    return results;
+  }
+
   @Override
   public AggregateResults setCalculateDataAndCalculate(final PlayerID attacker, final PlayerID defender,
       final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
@@ -456,6 +630,52 @@ public class ConcurrentOddsCalculator implements IOddsCalculator {
       }
     }
   }
+
+  /**
+   * Returns the workers, once their game data is set.
+   */
+  List<OddsCalculator> getWorkers() {
+    awaitLatch();
+    return m_workers;
+  }
+
+  /**
+   * Records the changes performed on a game data after it was copied, until there are too many of them.
+   */
+  private static final class ChangeRecorder implements NumberedGameDataChangeListener {
+    private final GameData m_data;
+    // the number of the last change the copy has
+    private volatile long m_copiedChanges = Long.MAX_VALUE;
+    private List<Change> m_changes = new ArrayList<Change>();
+
+    ChangeRecorder(final GameData data) {
+      m_data = data;
+    }
+
+    @Override
+    public synchronized void gameDataChanged(final Change change, final long changeNumber) {
+      if (changeNumber <= m_copiedChanges) {
+        return;
+      }
+      if (m_changes != null) {
+        m_changes.add(change);
+        if (m_changes.size() > MAX_CHANGES_TO_SYNC) {
+          m_changes = null;
+        }
+      }
+    }
+
+    /**
+     * Returns the changes recorded since the last call, or null if there were too many.
+     */
+    synchronized List<Change> takeChanges() {
+      final List<Change> changes = m_changes;
+      if (changes != null) {
+        m_changes = new ArrayList<Change>();
+      }
+      return changes;
+    }
+  }
 }
 
 
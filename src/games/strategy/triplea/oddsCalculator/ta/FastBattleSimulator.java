@@ -0,0 +1,253 @@
+package games.strategy.triplea.oddsCalculator.ta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import games.strategy.common.delegate.BaseEditDelegate;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.TerritoryEffect;
+import games.strategy.engine.data.Unit;
+import games.strategy.engine.data.UnitType;
+import games.strategy.engine.random.IRandomSource;
+import games.strategy.triplea.Properties;
+import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.triplea.attachments.UnitSupportAttachment;
+import games.strategy.triplea.delegate.BattleCalculator;
+import games.strategy.triplea.delegate.DiceRoll;
+import games.strategy.triplea.delegate.IBattle.WhoWon;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.util.Match;
+import games.strategy.util.Tuple;
+
+/**
+ * Fights plain battles for the odds calculator without going through MustFightBattle.
+ * Everything that does not change during a battle (the strength and rolls of each unit, and the order units are taken
+ * as casualties) is worked out once, so each simulated battle only rolls dice and counts casualties, and never changes
+ * the game data.
+ * A battle is plain if no unit has any special abilities (subs, transports, aa, infrastructure, support, multiple hit
+ * points, suicide, etc), it is not amphibious or bombarded, low luck is off, and none of the retreat or order of loss
+ * options are used. Use create() to find out if a battle can be simulated here, otherwise use MustFightBattle.
+ */
+class FastBattleSimulator {
+  private final GameData m_data;
+  private final IRandomSource m_random;
+  private final int m_diceSides;
+  private final int m_maxRounds;
+  // units in the order they are taken as casualties, so the units still alive are always the last ones
+  private final List<Unit> m_attackers;
+  private final List<Unit> m_defenders;
+  private final int[] m_attackerStrength;
+  private final int[] m_attackerRolls;
+  private final boolean[] m_attackerChooseBestRoll;
+  private final int[] m_defenderStrength;
+  private final int[] m_defenderRolls;
+  private final boolean[] m_defenderChooseBestRoll;
+  // index of the last unit with an attack (or defense) value, or -1 if there is none
+  private final int m_lastAttackerWithAttackValue;
+  private final int m_lastDefenderWithDefenseValue;
+
+  private FastBattleSimulator(final GameData data, final PlayerID attacker, final PlayerID defender,
+      final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
+      final Collection<TerritoryEffect> territoryEffects, final IRandomSource random) {
+    m_data = data;
+    m_random = random;
+    m_diceSides = data.getDiceSides();
+    m_maxRounds = location.isWater() ? Properties.getSeaBattleRounds(data) : Properties.getLandBattleRounds(data);
+    m_attackers = BattleCalculator.getDefaultCasualtyOrder(attacking, false, attacker, defending, location,
+        territoryEffects, data);
+    m_defenders = BattleCalculator.getDefaultCasualtyOrder(defending, true, defender, attacking, location,
+        territoryEffects, data);
+    m_attackerStrength = new int[m_attackers.size()];
+    m_attackerRolls = new int[m_attackers.size()];
+    m_attackerChooseBestRoll = new boolean[m_attackers.size()];
+    m_defenderStrength = new int[m_defenders.size()];
+    m_defenderRolls = new int[m_defenders.size()];
+    m_defenderChooseBestRoll = new boolean[m_defenders.size()];
+    final boolean alliedAirIndependent = Properties.getAlliedAirIndependent(data);
+    fillStrengthAndRolls(m_attackers, m_defenders, false, location, territoryEffects, m_attackerStrength,
+        m_attackerRolls, m_attackerChooseBestRoll);
+    for (int i = 0; i < m_attackers.size(); i++) {
+      // only the attacker's own units fire, unless allied air is independent
+      if (!alliedAirIndependent && !m_attackers.get(i).getOwner().equals(attacker)) {
+        m_attackerRolls[i] = 0;
+      }
+    }
+    fillStrengthAndRolls(m_defenders, m_attackers, true, location, territoryEffects, m_defenderStrength,
+        m_defenderRolls, m_defenderChooseBestRoll);
+    m_lastAttackerWithAttackValue = lastIndexOf(m_attackers, Matches.unitHasAttackValueOfAtLeast(1));
+    m_lastDefenderWithDefenseValue = lastIndexOf(m_defenders, Matches.unitHasDefendValueOfAtLeast(1));
+  }
+
+  /**
+   * @return a simulator for this battle, or null if the battle is not plain and must be fought by MustFightBattle.
+   */
+  static FastBattleSimulator create(final GameData data, final PlayerID attacker, final PlayerID defender,
+      final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
+      final Collection<Unit> bombarding, final Collection<TerritoryEffect> territoryEffects, final boolean amphibious,
+      final boolean keepOneAttackingLandUnit, final int retreatAfterRound, final int retreatAfterXUnitsLeft,
+      final boolean retreatWhenOnlyAirLeft, final boolean retreatWhenMetaPowerIsLower,
+      final String attackerOrderOfLosses, final String defenderOrderOfLosses, final IRandomSource random) {
+    if (amphibious || keepOneAttackingLandUnit || retreatAfterRound > -1 || retreatAfterXUnitsLeft > -1
+        || retreatWhenOnlyAirLeft || retreatWhenMetaPowerIsLower || !bombarding.isEmpty()) {
+      return null;
+    }
+    if ((attackerOrderOfLosses != null && attackerOrderOfLosses.trim().length() > 0)
+        || (defenderOrderOfLosses != null && defenderOrderOfLosses.trim().length() > 0)) {
+      return null;
+    }
+    if (attacking.isEmpty() || defending.isEmpty()) {
+      return null;
+    }
+    if (Properties.getLow_Luck(data) || BaseEditDelegate.getEditMode(data)) {
+      return null;
+    }
+    if (!Match.allMatch(attacking, plainUnit(attacker, location, data))
+        || !Match.allMatch(defending, plainUnit(attacker, location, data))) {
+      return null;
+    }
+    if (anySupportGiven(attacking, defending, data)) {
+      return null;
+    }
+    return new FastBattleSimulator(data, attacker, defender, location, attacking, defending, territoryEffects, random);
+  }
+
+  /**
+   * Fights the battle once.
+   */
+  BattleResults fight() {
+    final int attackerCount = m_attackers.size();
+    final int defenderCount = m_defenders.size();
+    int attackersKilled = 0;
+    int defendersKilled = 0;
+    int round = 1;
+    WhoWon whoWon;
+    while (true) {
+      // both sides fire with all the units alive at the start of the round
+      final int attackerHits =
+          rollHits(attackersKilled, attackerCount, m_attackerStrength, m_attackerRolls, m_attackerChooseBestRoll);
+      final int defenderHits =
+          rollHits(defendersKilled, defenderCount, m_defenderStrength, m_defenderRolls, m_defenderChooseBestRoll);
+      defendersKilled = Math.min(defenderCount, defendersKilled + attackerHits);
+      attackersKilled = Math.min(attackerCount, attackersKilled + defenderHits);
+      if (attackersKilled == attackerCount) {
+        whoWon = WhoWon.DEFENDER;
+        break;
+      }
+      if (defendersKilled == defenderCount) {
+        whoWon = WhoWon.ATTACKER;
+        break;
+      }
+      if ((m_maxRounds > 0 && m_maxRounds <= round)
+          || (attackersKilled > m_lastAttackerWithAttackValue && defendersKilled > m_lastDefenderWithDefenseValue)) {
+        whoWon = WhoWon.DRAW;
+        break;
+      }
+      round++;
+    }
+    return new BattleResults(round, new ArrayList<Unit>(m_attackers.subList(attackersKilled, attackerCount)),
+        new ArrayList<Unit>(m_defenders.subList(defendersKilled, defenderCount)), whoWon, m_data);
+  }
+
+  private int rollHits(final int firstAlive, final int count, final int[] strength, final int[] rolls,
+      final boolean[] chooseBestRoll) {
+    int hits = 0;
+    for (int i = firstAlive; i < count; i++) {
+      if (strength[i] <= 0 || rolls[i] <= 0) {
+        continue;
+      }
+      if (chooseBestRoll[i]) {
+        int best = m_diceSides;
+        for (int j = 0; j < rolls[i]; j++) {
+          best = Math.min(best, m_random.getRandom(m_diceSides, "battle calc"));
+        }
+        if (strength[i] > best) {
+          hits++;
+        }
+      } else {
+        for (int j = 0; j < rolls[i]; j++) {
+          // zero based
+          if (strength[i] > m_random.getRandom(m_diceSides, "battle calc")) {
+            hits++;
+          }
+        }
+      }
+    }
+    return hits;
+  }
+
+  private void fillStrengthAndRolls(final List<Unit> units, final List<Unit> enemyUnits, final boolean defending,
+      final Territory location, final Collection<TerritoryEffect> territoryEffects, final int[] strength,
+      final int[] rolls, final boolean[] chooseBestRoll) {
+    final Map<Unit, Tuple<Integer, Integer>> powerAndRolls = DiceRoll.getUnitPowerAndRollsForNormalBattles(units,
+        enemyUnits, defending, false, m_data, location, territoryEffects, false, new ArrayList<Unit>());
+    final boolean lhtrBombers = Properties.getLHTR_Heavy_Bombers(m_data);
+    for (int i = 0; i < units.size(); i++) {
+      final Tuple<Integer, Integer> unitPowerAndRolls = powerAndRolls.get(units.get(i));
+      strength[i] = unitPowerAndRolls.getFirst();
+      rolls[i] = unitPowerAndRolls.getSecond();
+      chooseBestRoll[i] =
+          rolls[i] > 1 && (lhtrBombers || UnitAttachment.get(units.get(i).getType()).getChooseBestRoll());
+    }
+  }
+
+  private static int lastIndexOf(final List<Unit> units, final Match<Unit> match) {
+    for (int i = units.size() - 1; i >= 0; i--) {
+      if (match.match(units.get(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Units that fight every round with the same strength, take one hit to kill, and have no effect on other units.
+   */
+  private static Match<Unit> plainUnit(final PlayerID attacker, final Territory location, final GameData data) {
+    return new Match<Unit>() {
+      @Override
+      public boolean match(final Unit unit) {
+        if (location.isWater() ? Matches.UnitIsLand.match(unit) : Matches.UnitIsSea.match(unit)) {
+          return false;
+        }
+        if (UnitAttachment.get(unit.getType()).getHitPoints() != 1) {
+          return false;
+        }
+        return !Matches.UnitIsInfrastructure.match(unit) && !Matches.UnitIsAAforAnything.match(unit)
+            && !Matches.UnitIsSub.match(unit) && !Matches.UnitIsTransport.match(unit)
+            && !Matches.UnitIsSuicide.match(unit) && !Matches.UnitIsDisabled.match(unit)
+            && !Matches.UnitWasInAirBattle.match(unit) && !Matches.unitIsBeingTransported().match(unit)
+            && !Matches.UnitCanBeCapturedOnEnteringToInThisTerritory(attacker, location, data).match(unit);
+      }
+    };
+  }
+
+  /**
+   * True if any unit in the battle could give support to any other unit in the battle.
+   */
+  private static boolean anySupportGiven(final Collection<Unit> attacking, final Collection<Unit> defending,
+      final GameData data) {
+    final Set<UnitType> types = new HashSet<UnitType>();
+    for (final Unit unit : attacking) {
+      types.add(unit.getType());
+    }
+    for (final Unit unit : defending) {
+      types.add(unit.getType());
+    }
+    for (final UnitSupportAttachment rule : UnitSupportAttachment.get(data)) {
+      if (types.contains(rule.getAttachedTo())) {
+        for (final UnitType supported : rule.getUnitType()) {
+          if (types.contains(supported)) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+}
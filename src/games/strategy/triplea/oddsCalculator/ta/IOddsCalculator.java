@@ -20,6 +20,13 @@ public interface IOddsCalculator {
 
   public AggregateResults calculate();
 
+  /**
+   * Calculates in batches of the run count that was set, until both the attacker win percent and the average TUV swing
+   * are known to within the given margins (95% confidence), or maxRunCount runs were done, or maxTimeMillis has passed.
+   */
+  public AggregateResults calculateUntilConfident(final double winPercentMargin, final double tuvSwingMargin,
+      final int maxRunCount, final long maxTimeMillis);
+
   public AggregateResults setCalculateDataAndCalculate(final PlayerID attacker, final PlayerID defender,
       final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
       final Collection<Unit> bombarding, final Collection<TerritoryEffect> territoryEffects, final int runCount);
@@ -1,5 +1,8 @@
 package games.strategy.triplea.oddsCalculator.ta;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -10,12 +13,15 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import games.strategy.common.delegate.GameDelegateBridge;
 import games.strategy.engine.data.Change;
 import games.strategy.engine.data.ChangeFactory;
 import games.strategy.engine.data.CompositeChange;
 import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.GameObjectInputStream;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.TerritoryEffect;
@@ -26,12 +32,14 @@ import games.strategy.engine.data.UnitTypeList;
 import games.strategy.engine.delegate.IDelegateBridge;
 import games.strategy.engine.display.IDisplay;
 import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.engine.framework.GameObjectStreamFactory;
 import games.strategy.engine.framework.IGameModifiedChannel;
 import games.strategy.engine.gamePlayer.IRemotePlayer;
 import games.strategy.engine.history.DelegateHistoryWriter;
 import games.strategy.engine.history.IDelegateHistoryWriter;
+import games.strategy.engine.random.IRandomSource;
 import games.strategy.engine.random.IRandomStats.DiceType;
-import games.strategy.engine.random.PlainRandomSource;
+import games.strategy.engine.random.SplitRandomSource;
 import games.strategy.net.GUID;
 import games.strategy.sound.DummySoundChannel;
 import games.strategy.sound.ISound;
@@ -51,10 +59,12 @@ import games.strategy.triplea.delegate.remote.ITechDelegate;
 import games.strategy.triplea.ui.display.DummyTripleaDisplay;
 import games.strategy.util.CompositeMatch;
 import games.strategy.util.CompositeMatchAnd;
+import games.strategy.util.IntegerMap;
 import games.strategy.util.Match;
 import games.strategy.util.Tuple;
 
 public class OddsCalculator implements IOddsCalculator, Callable<AggregateResults> {
+  private static final Logger s_logger = Logger.getLogger(OddsCalculator.class.getName());
   public static final String OOL_ALL = "*";
   public static final String OOL_ALL_REGEX = "\\*";
   public static final String OOL_SEPARATOR = ";";
@@ -77,7 +87,13 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
   private boolean m_retreatWhenMetaPowerIsLower = false;
   private String m_attackerOrderOfLosses = null;
   private String m_defenderOrderOfLosses = null;
+  private IntegerMap<UnitType> m_attackerCostsForTUV = new IntegerMap<UnitType>();
+  private IntegerMap<UnitType> m_defenderCostsForTUV = new IntegerMap<UnitType>();
   private int m_runCount = 0;
+  // what setCalculateData did to the units in the location, undone before the data is used for anything else
+  private Change m_locationChange = null;
+  // only used by the thread running the calculation, so it does not need to be shared or locked
+  private final SplitRandomSource m_randomSource;
   private volatile boolean m_cancelled = false;
   private volatile boolean m_isDataSet = false;
   private volatile boolean m_isCalcSet = false;
@@ -89,7 +105,12 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
   }
 
   public OddsCalculator(final GameData data, final boolean dataHasAlreadyBeenCloned) {
-    m_data = data == null ? null : (dataHasAlreadyBeenCloned ? data : GameDataUtils.cloneGameData(data, false));
+    this(data, dataHasAlreadyBeenCloned, new SplitRandomSource());
+  }
+
+  OddsCalculator(final GameData data, final boolean dataHasAlreadyBeenCloned, final SplitRandomSource randomSource) {
+    m_randomSource = randomSource;
+    m_data = data == null ? null : (dataHasAlreadyBeenCloned ? data : GameDataUtils.cloneGameData(data, false, false));
     if (data != null) {
       m_isDataSet = true;
       notifyListenersGameDataIsSet();
@@ -103,7 +124,8 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
     }
     m_isDataSet = false;
     m_isCalcSet = false;
-    m_data = (data == null ? null : GameDataUtils.cloneGameData(data, false));
+    m_data = (data == null ? null : GameDataUtils.cloneGameData(data, false, false));
+    m_locationChange = null;
     // reset old data
     m_attacker = null;
     m_defender = null;
@@ -134,23 +156,68 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
     if (!m_isDataSet) {
       throw new IllegalStateException("Called set calculation before setting game data!");
     }
+    restoreLocation();
     m_attacker =
         m_data.getPlayerList().getPlayerID((attacker == null ? PlayerID.NULL_PLAYERID.getName() : attacker.getName()));
     m_defender =
         m_data.getPlayerList().getPlayerID((defender == null ? PlayerID.NULL_PLAYERID.getName() : defender.getName()));
     m_location = m_data.getMap().getTerritory(location.getName());
+    m_attackerCostsForTUV = BattleCalculator.getCostsForTUV(m_attacker, m_data);
+    m_defenderCostsForTUV = BattleCalculator.getCostsForTUV(m_defender, m_data);
     m_attackingUnits = (Collection<Unit>) GameDataUtils.translateIntoOtherGameData(attacking, m_data);
     m_defendingUnits = (Collection<Unit>) GameDataUtils.translateIntoOtherGameData(defending, m_data);
     m_bombardingUnits = (Collection<Unit>) GameDataUtils.translateIntoOtherGameData(bombarding, m_data);
     m_territoryEffects =
         (Collection<TerritoryEffect>) GameDataUtils.translateIntoOtherGameData(territoryEffects, m_data);
-    m_data.performChange(ChangeFactory.removeUnits(m_location, m_location.getUnits().getUnits()));
-    m_data.performChange(ChangeFactory.addUnits(m_location, m_attackingUnits));
-    m_data.performChange(ChangeFactory.addUnits(m_location, m_defendingUnits));
+    final CompositeChange locationChange = new CompositeChange();
+    locationChange.add(ChangeFactory.removeUnits(m_location, m_location.getUnits().getUnits()));
+    locationChange.add(ChangeFactory.addUnits(m_location, m_attackingUnits));
+    locationChange.add(ChangeFactory.addUnits(m_location, m_defendingUnits));
+    m_data.performChange(locationChange);
+    m_locationChange = locationChange;
     m_runCount = runCount;
     m_isCalcSet = true;
   }
 
+  private void restoreLocation() {
+    if (m_locationChange != null) {
+      m_data.performChange(m_locationChange.invert());
+      m_locationChange = null;
+    }
+  }
+
+  /**
+   * Brings the game data up to date with the game data it was copied from, by performing the changes written by
+   * ConcurrentOddsCalculator.writeChanges. The calculate data has to be set again afterwards.
+   *
+   * @return false if the changes could not be performed, the game data then has to be copied again
+   */
+  @SuppressWarnings("unchecked")
+  boolean performChanges(final byte[] changes) {
+    if (m_isRunning || !m_isDataSet) {
+      return false;
+    }
+    m_isCalcSet = false;
+    try (final ObjectInputStream in =
+        new GameObjectInputStream(new GameObjectStreamFactory(m_data), new ByteArrayInputStream(changes))) {
+      restoreLocation();
+      for (final Change change : (List<Change>) in.readObject()) {
+        m_data.performChange(change);
+      }
+      // the sequence is not changed by changes
+      m_data.getSequence().setRoundAndStepIndex(in.readInt(), in.readInt());
+    } catch (final IOException | ClassNotFoundException | RuntimeException e) {
+      s_logger.log(Level.WARNING, "Could not bring odds calculator game data up to date", e);
+      m_isDataSet = false;
+      return false;
+    }
+    return true;
+  }
+
+  GameData getGameData() {
+    return m_data;
+  }
+
   @Override
   public AggregateResults setCalculateDataAndCalculate(final PlayerID attacker, final PlayerID defender,
       final Territory location, final Collection<Unit> attacking, final Collection<Unit> defending,
@@ -167,6 +234,16 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
     return calculate(m_runCount);
   }
 
+  @Override
+  public AggregateResults calculateUntilConfident(final double winPercentMargin, final double tuvSwingMargin,
+      final int maxRunCount, final long maxTimeMillis) {
+    if (!getIsReady()) {
+      throw new IllegalStateException("Called calculate before setting calculate data!");
+    }
+    return calculate(Math.max(1, m_runCount), Math.max(m_runCount, maxRunCount), winPercentMargin, tuvSwingMargin,
+        maxTimeMillis);
+  }
+
   @Override
   public AggregateResults call() throws Exception {
     return calculate();
@@ -241,9 +318,35 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
   }
 
   private AggregateResults calculate(final int count) {
+    // a margin below zero is never reached, so exactly count runs are done
+    return calculate(count, count, -1, -1, Long.MAX_VALUE);
+  }
+
+  /**
+   * Runs up to maxRunCount battles, and after each batch of batchSize runs stops early if the results are within the
+   * margins of error or maxTimeMillis has passed.
+   */
+  private AggregateResults calculate(final int batchSize, final int count, final double winPercentMargin,
+      final double tuvSwingMargin, final long maxTimeMillis) {
     m_isRunning = true;
     final long start = System.currentTimeMillis();
-    final AggregateResults rVal = new AggregateResults(count);
+    final AggregateResults rVal = new AggregateResults();
+    final FastBattleSimulator simulator = FastBattleSimulator.create(m_data, m_attacker, m_defender, m_location,
+        m_attackingUnits, m_defendingUnits, m_bombardingUnits, m_territoryEffects, m_amphibious,
+        m_keepOneAttackingLandUnit, m_retreatAfterRound, m_retreatAfterXUnitsLeft, m_retreatWhenOnlyAirLeft,
+        m_retreatWhenMetaPowerIsLower, m_attackerOrderOfLosses, m_defenderOrderOfLosses, m_randomSource);
+    if (simulator != null) {
+      for (int i = 0; i < count && !m_cancelled; i++) {
+        rVal.addResult(simulator.fight(), m_attackerCostsForTUV, m_defenderCostsForTUV);
+        if (isDone(i + 1, batchSize, rVal, winPercentMargin, tuvSwingMargin, start, maxTimeMillis)) {
+          break;
+        }
+      }
+      rVal.setTime(System.currentTimeMillis() - start);
+      m_isRunning = false;
+      m_cancelled = false;
+      return rVal;
+    }
     final BattleTracker battleTracker = new BattleTracker();
     // CasualtySortingCaching can cause issues if there is more than 1 one battle being calced at the same time (like if
     // the AI and a human
@@ -259,7 +362,7 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
       final CompositeChange allChanges = new CompositeChange();
       final DummyDelegateBridge bridge1 = new DummyDelegateBridge(m_attacker, m_data, allChanges, attackerOrderOfLosses,
           defenderOrderOfLosses, m_keepOneAttackingLandUnit, m_retreatAfterRound, m_retreatAfterXUnitsLeft,
-          m_retreatWhenOnlyAirLeft, m_retreatWhenMetaPowerIsLower);
+          m_retreatWhenOnlyAirLeft, m_retreatWhenMetaPowerIsLower, m_randomSource);
       final GameDelegateBridge bridge = new GameDelegateBridge(bridge1);
       final MustFightBattle battle = new MustFightBattle(m_location, m_attacker, m_data, battleTracker);
       battle.setHeadless(true);
@@ -269,11 +372,14 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
       // battle.setAttackingFromAndMap(attackingFromMap);
       bridge1.setBattle(battle);
       battle.fight(bridge);
-      rVal.addResult(new BattleResults(battle, m_data));
+      rVal.addResult(new BattleResults(battle, m_data), m_attackerCostsForTUV, m_defenderCostsForTUV);
       // restore the game to its original state
       m_data.performChange(allChanges.invert());
       battleTracker.clear();
       battleTracker.clearBattleRecords();
+      if (isDone(i + 1, batchSize, rVal, winPercentMargin, tuvSwingMargin, start, maxTimeMillis)) {
+        break;
+      }
     }
     // BattleCalculator.DisableCasualtySortingCaching();
     rVal.setTime(System.currentTimeMillis() - start);
@@ -282,6 +388,15 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
     return rVal;
   }
 
+  private static boolean isDone(final int runsDone, final int batchSize, final AggregateResults results,
+      final double winPercentMargin, final double tuvSwingMargin, final long start, final long maxTimeMillis) {
+    if (runsDone % batchSize != 0) {
+      return false;
+    }
+    return results.isWithinMarginOfError(winPercentMargin, tuvSwingMargin)
+        || System.currentTimeMillis() - start >= maxTimeMillis;
+  }
+
   public static boolean isValidOrderOfLoss(final String orderOfLoss, final GameData data) {
     if (orderOfLoss == null || orderOfLoss.trim().length() == 0) {
       return true;
@@ -386,7 +501,7 @@ public class OddsCalculator implements IOddsCalculator, Callable<AggregateResult
 
 
 class DummyDelegateBridge implements IDelegateBridge {
-  private final PlainRandomSource m_randomSource = new PlainRandomSource();
+  private final IRandomSource m_randomSource;
   private final DummyTripleaDisplay m_display = new DummyTripleaDisplay();
   private final DummySoundChannel m_soundChannel = new DummySoundChannel();
   private final DummyPlayer m_attackingPlayer;
@@ -400,7 +515,9 @@ class DummyDelegateBridge implements IDelegateBridge {
   public DummyDelegateBridge(final PlayerID attacker, final GameData data, final CompositeChange allChanges,
       final List<Unit> attackerOrderOfLosses, final List<Unit> defenderOrderOfLosses,
       final boolean attackerKeepOneLandUnit, final int retreatAfterRound, final int retreatAfterXUnitsLeft,
-      final boolean retreatWhenOnlyAirLeft, final boolean retreatWhenMetaPowerIsLower) {
+      final boolean retreatWhenOnlyAirLeft, final boolean retreatWhenMetaPowerIsLower,
+      final IRandomSource randomSource) {
+    m_randomSource = randomSource;
     m_attackingPlayer =
         new DummyPlayer(this, true, "battle calc dummy", "None (AI)", attackerOrderOfLosses, attackerKeepOneLandUnit,
             retreatAfterRound, retreatAfterXUnitsLeft, retreatWhenOnlyAirLeft, retreatWhenMetaPowerIsLower);
@@ -0,0 +1,319 @@
+package games.strategy.triplea.ui;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.ProductionRule;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.UnitType;
+import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.engine.history.History;
+import games.strategy.engine.history.HistoryNode;
+import games.strategy.engine.history.Round;
+import games.strategy.engine.history.Step;
+import games.strategy.engine.stats.IStat;
+import games.strategy.triplea.attachments.UnitAttachment;
+import games.strategy.triplea.delegate.EndRoundDelegate;
+import games.strategy.triplea.util.PlayerOrderComparator;
+import games.strategy.util.Tuple;
+
+/**
+ * Exports the stats of a game as csv, for each player turn, or each phase that had activity, in its history.
+ * <p>
+ * The stats are worked out on a copy of the game data, which is stepped forward through its history once, and each
+ * row is written as soon as it is worked out. The game is only held up while the copy is made, so the export can run
+ * in the background, and it can be canceled between rows.
+ */
+class GameStatsExporter {
+  private final GameData m_data;
+  private final IStat[] m_stats;
+  private final IStat[] m_statsExtended;
+  private final List<PlayerID> m_players;
+  private final List<String> m_alliances;
+  private final boolean m_showPhaseStats;
+
+  /**
+   * Is told how far the export has got.
+   */
+  interface Progress {
+    /**
+     * @return false to cancel the export
+     */
+    boolean update(int stepsDone, int steps);
+  }
+
+  /**
+   * @param stats
+   *        the stats that show up in the game stats menu bar
+   * @param statsExtended
+   *        the stats that do not, like custom resources or tech tokens or # techs, etc.
+   * @param showPhaseStats
+   *        if true, every phase that had activity gets a row, otherwise only the first phase of each player turn
+   */
+  GameStatsExporter(final GameData data, final IStat[] stats, final IStat[] statsExtended,
+      final List<PlayerID> players, final Collection<String> alliances, final boolean showPhaseStats) {
+    m_data = data;
+    m_stats = stats;
+    m_statsExtended = statsExtended;
+    m_players = players;
+    m_alliances = new ArrayList<String>(alliances);
+    m_showPhaseStats = showPhaseStats;
+  }
+
+  /**
+   * Writes the stats, reporting progress after each row.
+   *
+   * @return false if the export was canceled
+   */
+  boolean export(final String title, final Writer out, final Progress progress) throws IOException {
+    final GameData clone;
+    m_data.acquireReadLock();
+    try {
+      clone = GameDataUtils.cloneGameData(m_data);
+      writeHeader(title, out);
+    } finally {
+      m_data.releaseReadLock();
+    }
+    // its important here to translate the player objects into our game data
+    // the players for the stat panel are only relevant with respect to
+    // the game data they belong to
+    final List<PlayerID> players = new ArrayList<PlayerID>();
+    for (final PlayerID player : m_players) {
+      players.add(clone.getPlayerList().getPlayerID(player.getName()));
+    }
+    writeColumnNames(out, players);
+    final History history = clone.getHistory();
+    history.gotoNode(history.getLastNode());
+    final List<Tuple<Integer, Step>> steps = getSteps(history);
+    int stepsDone = 0;
+    if (!progress.update(stepsDone, steps.size())) {
+      return false;
+    }
+    for (final Tuple<Integer, Step> step : steps) {
+      // only the first step goes backwards, to the start of the game, the rest each go forward a little
+      history.gotoNode(step.getSecond());
+      writeRow(out, clone, players, step.getFirst(), step.getSecond());
+      if (!progress.update(++stepsDone, steps.size())) {
+        return false;
+      }
+    }
+    out.flush();
+    return true;
+  }
+
+  /**
+   * Returns the steps to write a row for, with the number of the round each is in.
+   */
+  private List<Tuple<Integer, Step>> getSteps(final History history) {
+    final List<Tuple<Integer, Step>> steps = new ArrayList<Tuple<Integer, Step>>();
+    @SuppressWarnings("rawtypes")
+    final Enumeration nodes = ((DefaultMutableTreeNode) history.getRoot()).preorderEnumeration();
+    PlayerID currentPlayer = null;
+    int round = 0;
+    while (nodes.hasMoreElements()) {
+      // we want to export on change of turn
+      final HistoryNode element = (HistoryNode) nodes.nextElement();
+      if (element instanceof Round) {
+        round++;
+      }
+      if (!(element instanceof Step)) {
+        continue;
+      }
+      final Step step = (Step) element;
+      if (step.getPlayerID() == null || step.getPlayerID().isNull()) {
+        continue;
+      }
+      // this is to stop from having multiple entries for each players turn.
+      if (!m_showPhaseStats) {
+        if (step.getPlayerID() == currentPlayer) {
+          continue;
+        }
+      }
+      currentPlayer = step.getPlayerID();
+      steps.add(Tuple.of(round, step));
+    }
+    return steps;
+  }
+
+  private void writeHeader(final String title, final Writer out) throws IOException {
+    final int currentRound = m_data.getSequence().getRound();
+    out.append(title + ",");
+    out.append("\n");
+    out.append("TripleA Engine Version: ,");
+    out.append(games.strategy.engine.ClientContext.engineVersion() + ",");
+    out.append("\n");
+    out.append("Game Name: ,");
+    out.append(m_data.getGameName() + ",");
+    out.append("\n");
+    out.append("Game Version: ,");
+    out.append(m_data.getGameVersion() + ",");
+    out.append("\n");
+    out.append("\n");
+    out.append("Current Round: ,");
+    out.append(currentRound + ",");
+    out.append("\n");
+    out.append("Number of Players: ,");
+    out.append(m_players.size() + ",");
+    out.append("\n");
+    out.append("Number of Alliances: ,");
+    out.append(m_alliances.size() + ",");
+    out.append("\n");
+    out.append("\n");
+    out.append("Turn Order: ,");
+    out.append("\n");
+    final List<PlayerID> playerOrderList = new ArrayList<PlayerID>();
+    playerOrderList.addAll(m_data.getPlayerList().getPlayers());
+    Collections.sort(playerOrderList, new PlayerOrderComparator(m_data));
+    for (final PlayerID currentPlayerID : new LinkedHashSet<PlayerID>(playerOrderList)) {
+      out.append(currentPlayerID.getName() + ",");
+      for (final String allianceName : m_data.getAllianceTracker().getAlliancesPlayerIsIn(currentPlayerID)) {
+        out.append(allianceName + ",");
+      }
+      out.append("\n");
+    }
+    out.append("\n");
+    out.append("Winners: ,");
+    final EndRoundDelegate delegateEndRound = (EndRoundDelegate) m_data.getDelegateList().getDelegate("endRound");
+    if (delegateEndRound != null && delegateEndRound.getWinners() != null) {
+      for (final PlayerID p : delegateEndRound.getWinners()) {
+        out.append(p.getName() + ",");
+      }
+    } else {
+      out.append("none yet; game not over,");
+    }
+    out.append("\n");
+    out.append("\n");
+    out.append("Resource Chart: ,");
+    out.append("\n");
+    for (final Resource resource : m_data.getResourceList().getResources()) {
+      out.append(resource.getName() + ",");
+      out.append("\n");
+    }
+    // if short, we won't both showing production and unit info
+    if (m_showPhaseStats) {
+      out.append("\n");
+      out.append("Production Rules: ,");
+      out.append("\n");
+      out.append("Name,Result,Quantity,Cost,Resource,\n");
+      for (final ProductionRule pr : m_data.getProductionRuleList().getProductionRules()) {
+        String costString = pr.toStringCosts().replaceAll("; ", ",");
+        costString = costString.replaceAll(" ", ",");
+        out.append(pr.getName() + "," + pr.getResults().keySet().iterator().next().getName() + ","
+            + pr.getResults().getInt(pr.getResults().keySet().iterator().next()) + "," + costString + ",");
+        out.append("\n");
+      }
+      out.append("\n");
+      out.append("Unit Types: ,");
+      out.append("\n");
+      out.append("Name,Listed Abilities\n");
+      for (final UnitType unitType : m_data.getUnitTypeList()) {
+        final UnitAttachment ua = UnitAttachment.get(unitType);
+        if (ua == null) {
+          continue;
+        }
+        String toModify = ua.allUnitStatsForExporter();
+        toModify = toModify.replaceFirst("UnitType called ", "").replaceFirst(" with:", "")
+            .replaceAll("games.strategy.engine.data.", "").replaceAll("\n", ";").replaceAll(",", ";");
+        toModify = toModify.replaceAll("  ", ",");
+        toModify = toModify.replaceAll(", ", ",").replaceAll(" ,", ",");
+        out.append(toModify);
+        out.append("\n");
+      }
+    }
+    out.append("\n");
+    out.append((m_showPhaseStats ? "Full Stats (includes each phase that had activity),"
+        : "Short Stats (only shows first phase with activity per player per round),"));
+    out.append("\n");
+  }
+
+  private void writeColumnNames(final Writer out, final List<PlayerID> players) throws IOException {
+    out.append("Turn Stats: ,");
+    out.append("\n");
+    out.append("Round,Player Turn,Phase Name,");
+    for (final IStat stat : m_stats) {
+      writeColumnNames(out, stat, players);
+    }
+    for (final IStat stat : m_statsExtended) {
+      writeColumnNames(out, stat, players);
+    }
+    out.append("\n");
+  }
+
+  private void writeColumnNames(final Writer out, final IStat stat, final List<PlayerID> players) throws IOException {
+    for (final PlayerID player : players) {
+      out.append(stat.getName()).append(" ");
+      out.append(player.getName());
+      out.append(",");
+    }
+    for (final String alliance : m_alliances) {
+      out.append(stat.getName()).append(" ");
+      out.append(alliance);
+      out.append(",");
+    }
+  }
+
+  private void writeRow(final Writer out, final GameData clone, final List<PlayerID> players, final int round,
+      final Step step) throws IOException {
+    final String playerName = step.getPlayerID() == null ? "" : step.getPlayerID().getName() + ": ";
+    out.append(String.valueOf(round)).append(",").append(playerName).append(",").append(getPhaseName(step))
+        .append(",");
+    for (final IStat stat : m_stats) {
+      writeValues(out, clone, stat, players);
+    }
+    for (final IStat stat : m_statsExtended) {
+      writeValues(out, clone, stat, players);
+    }
+    out.append("\n");
+  }
+
+  private void writeValues(final Writer out, final GameData clone, final IStat stat, final List<PlayerID> players)
+      throws IOException {
+    for (final PlayerID player : players) {
+      out.append(stat.getFormatter().format(stat.getValue(player, clone)));
+      out.append(",");
+    }
+    for (final String alliance : m_alliances) {
+      out.append(stat.getFormatter().format(stat.getValue(alliance, clone)));
+      out.append(",");
+    }
+  }
+
+  private static String getPhaseName(final Step step) {
+    final String stepName = step.getStepName();
+    // copied directly from TripleAPlayer, will probably have to be updated in the future if more delegates are made
+    if (stepName.endsWith("Bid")) {
+      return "Bid";
+    } else if (stepName.endsWith("Tech")) {
+      return "Tech";
+    } else if (stepName.endsWith("TechActivation")) {
+      return "TechActivation";
+    } else if (stepName.endsWith("Purchase")) {
+      return "Purchase";
+    } else if (stepName.endsWith("NonCombatMove")) {
+      return "NonCombatMove";
+    } else if (stepName.endsWith("Move")) {
+      return "Move";
+    } else if (stepName.endsWith("Battle")) {
+      return "Battle";
+    } else if (stepName.endsWith("BidPlace")) {
+      return "BidPlace";
+    } else if (stepName.endsWith("Place")) {
+      return "Place";
+    } else if (stepName.endsWith("Politics")) {
+      return "Politics";
+    } else if (stepName.endsWith("EndTurn")) {
+      return "EndTurn";
+    }
+    return "";
+  }
+}
@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.imageio.ImageIO;
 
@@ -96,6 +97,10 @@ public class MapData {
   private Map<String, List<Point>> m_place;
   // maps String -> Collection of Polygons
   private Map<String, List<Polygon>> m_polys;
+  // built from m_polys when the map is loaded, and again when territories are removed from it
+  private volatile TerritoryGrid m_territoryGrid;
+  private final Map<String, Rectangle> m_boundingRects = new ConcurrentHashMap<String, Rectangle>();
+  private volatile Dimension m_mapDimensions;
   // maps String -> Point
   private Map<String, Point> m_centers;
   // maps String -> Point
@@ -181,6 +186,7 @@ public class MapData {
         System.out.println("Error reading map.properties:" + e);
       }
       initializeContains();
+      m_territoryGrid = new TerritoryGrid(m_polys);
     } catch (final IOException ex) {
       ex.printStackTrace();
     }
@@ -418,7 +424,7 @@ public class MapData {
     return null;
   }
 
-  public Color getPlayerColor(final String playerName) {
+  public synchronized Color getPlayerColor(final String playerName) {
     // already loaded, just return
     if (m_playerColors.containsKey(playerName)) {
       return m_playerColors.get(playerName);
@@ -485,6 +491,8 @@ public class MapData {
     verifyKeys(data, m_centers, "centers");
     verifyKeys(data, m_polys, "polygons");
     verifyKeys(data, m_place, "place");
+    m_territoryGrid = new TerritoryGrid(m_polys);
+    m_boundingRects.clear();
   }
 
   private void verifyKeys(final GameData data, final Map<String, ?> aMap, final String dataTypeForErrorMessage)
@@ -595,29 +603,21 @@ public class MapData {
    * Get the territory at the x,y co-ordinates could be null.
    */
   public String getTerritoryAt(final double x, final double y) {
-    String seaName = null;
     // try to find a land territory.
     // sea zones often surround a land territory
-    final Iterator<String> keyIter = m_polys.keySet().iterator();
-    while (keyIter.hasNext()) {
-      final String name = keyIter.next();
-      final Collection<Polygon> polygons = m_polys.get(name);
-      final Iterator<Polygon> polyIter = polygons.iterator();
-      while (polyIter.hasNext()) {
-        final Polygon poly = polyIter.next();
-        if (poly.contains(x, y)) {
-          if (name.endsWith("Sea Zone") || name.startsWith("Sea Zone")) {
-            seaName = name;
-          } else {
-            return name;
-          }
-        }
-      }
-    }
-    return seaName;
+    return m_territoryGrid.getTerritoryAt(x, y);
   }
 
   public Dimension getMapDimensions() {
+    Dimension mapDimensions = m_mapDimensions;
+    if (mapDimensions == null) {
+      mapDimensions = readMapDimensions();
+      m_mapDimensions = mapDimensions;
+    }
+    return new Dimension(mapDimensions);
+  }
+
+  private Dimension readMapDimensions() {
     final String widthProperty = m_mapProperties.getProperty(PROPERTY_MAP_WIDTH);
     final String heightProperty = m_mapProperties.getProperty(PROPERTY_MAP_HEIGHT);
     if (widthProperty == null || heightProperty == null) {
@@ -635,6 +635,15 @@ public class MapData {
   }
 
   public Rectangle getBoundingRect(final String name) {
+    Rectangle bounds = m_boundingRects.get(name);
+    if (bounds == null) {
+      bounds = readBoundingRect(name);
+      m_boundingRects.put(name, bounds);
+    }
+    return new Rectangle(bounds);
+  }
+
+  private Rectangle readBoundingRect(final String name) {
     final List<Polygon> polys = m_polys.get(name);
     if (polys == null) {
       throw new IllegalStateException("No polygons found for:" + name + " All territories:" + m_polys.keySet());
@@ -706,27 +715,7 @@ public class MapData {
    * @return List of territory names as Strings
    */
   public List<String> territoriesThatOverlap(final Rectangle2D bounds) {
-    List<String> rVal = null;
-    final Iterator<String> terrIter = getTerritories().iterator();
-    while (terrIter.hasNext()) {
-      final String terr = terrIter.next();
-      final List<Polygon> polygons = getPolygons(terr);
-      for (int i = 0; i < polygons.size(); i++) {
-        final Polygon item = polygons.get(i);
-        if (item.intersects(bounds) || item.contains(bounds) || bounds.contains(item.getBounds2D())) {
-          if (rVal == null) {
-            rVal = new ArrayList<String>(4);
-          }
-          rVal.add(terr);
-          // only add it once
-          break;
-        }
-      }
-    }
-    if (rVal == null) {
-      return Collections.emptyList();
-    }
-    return rVal;
+    return m_territoryGrid.territoriesThatOverlap(bounds);
   }
 
   public Image getVCImage() {
@@ -805,7 +794,7 @@ public class MapData {
     return m_territoryEffects.get(territory.getName());
   }
 
-  public Image getTerritoryEffectImage(final String m_effectName) {
+  public synchronized Image getTerritoryEffectImage(final String m_effectName) {
     if (m_effectImages.get(m_effectName) != null) {
       return m_effectImages.get(m_effectName);
     }
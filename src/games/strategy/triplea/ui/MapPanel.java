@@ -69,6 +69,9 @@ import games.strategy.util.Tuple;
  * Responsible for drawing the large map and keeping it updated.
  */
 public class MapPanel extends ImageScrollerLargeView {
+  // one background drawer per core, keeping one core for the event thread
+  private static final int BACKGROUND_DRAWER_THREADS =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
   private static final long serialVersionUID = -3571551538356292556L;
   private static Logger s_logger = Logger.getLogger(MapPanel.class.getName());
   private final ListenerList<MapSelectionListener> m_mapSelectionListeners = new ListenerList<MapSelectionListener>();
@@ -107,9 +110,11 @@ public class MapPanel extends ImageScrollerLargeView {
     m_scale = m_uiContext.getScale();
     m_backgroundDrawer = new BackgroundDrawer(this);
     m_tileManager = new TileManager(m_uiContext);
-    final Thread t = new Thread(m_backgroundDrawer, "Map panel background drawer");
-    t.setDaemon(true);
-    t.start();
+    for (int i = 0; i < BACKGROUND_DRAWER_THREADS; i++) {
+      final Thread t = new Thread(m_backgroundDrawer, "Map panel background drawer " + i);
+      t.setDaemon(true);
+      t.start();
+    }
     setDoubleBuffered(false);
     m_smallView = smallView;
     m_smallMapImageManager =
@@ -940,6 +945,10 @@ class RouteDescription {
 }
 
 
+/**
+ * Draws the tiles the map panel queues, the visible ones first. Several threads run the same drawer, and each paint
+ * replaces the queue, so tiles that scrolled out of view are not drawn.
+ */
 class BackgroundDrawer implements Runnable {
   // use a weak reference, if we see the panel is gc'd, then we can stop this thread
   private final WeakReference<MapPanel> m_mapPanelRef;
@@ -949,7 +958,7 @@ class BackgroundDrawer implements Runnable {
   }
 
   public void stop() {
-    // the thread will eventually wake up and notice we are done
+    // the threads will eventually wake up and notice we are done
     m_mapPanelRef.clear();
   }
 
@@ -969,7 +978,8 @@ class BackgroundDrawer implements Runnable {
       } catch (final InterruptedException e) {
         continue;
       }
-      if (tile == null) {
+      // another drawer or the event thread may have drawn it since it was queued
+      if (tile == null || !tile.isDirty()) {
         continue;
       }
       final MapPanel mapPanel = m_mapPanelRef.get();
@@ -27,7 +27,6 @@ import games.strategy.engine.data.Change;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
-import games.strategy.engine.data.Unit;
 import games.strategy.engine.data.UnitType;
 import games.strategy.engine.data.events.GameDataChangeListener;
 import games.strategy.engine.stats.AbstractStat;
@@ -466,11 +465,11 @@ public class StatPanel extends AbstractStatPanel {
     @Override
     public double getValue(final PlayerID player, final GameData data) {
       int rVal = 0;
-      for (final Territory place : data.getMap().getTerritories()) {
+      for (final Territory place : data.getMap().getTerritoriesOwnedBy(player)) {
         /*
          * Match will Check if terr is a Land Convoy Route and check ownership of neighboring Sea Zone, or if contested
          */
-        if (place.getOwner().equals(player) && Matches.territoryCanCollectIncomeFrom(player, data).match(place)) {
+        if (Matches.territoryCanCollectIncomeFrom(player, data).match(place)) {
           rVal += TerritoryAttachment.getProduction(place);
         }
       }
@@ -491,12 +490,7 @@ public class StatPanel extends AbstractStatPanel {
 
     @Override
     public double getValue(final PlayerID player, final GameData data) {
-      int rVal = 0;
-      final Match<Unit> ownedBy = Matches.unitIsOwnedBy(player);
-      for (final Territory place : data.getMap().getTerritories()) {
-        rVal += place.getUnits().countMatches(ownedBy);
-      }
-      return rVal;
+      return data.getOwnershipIndex().getUnitCount(player);
     }
   }
   class TUVStat extends AbstractStat {
@@ -508,13 +502,7 @@ public class StatPanel extends AbstractStatPanel {
     @Override
     public double getValue(final PlayerID player, final GameData data) {
       final IntegerMap<UnitType> costs = BattleCalculator.getCostsForTUV(player, data);
-      final Match<Unit> unitIsOwnedBy = Matches.unitIsOwnedBy(player);
-      int rVal = 0;
-      for (final Territory place : data.getMap().getTerritories()) {
-        final Collection<Unit> owned = place.getUnits().getMatches(unitIsOwnedBy);
-        rVal += BattleCalculator.getTUV(owned, costs);
-      }
-      return rVal;
+      return BattleCalculator.getTUV(data.getOwnershipIndex().getUnitCounts(player), costs);
     }
   }
   class VictoryCityStat extends AbstractStat {
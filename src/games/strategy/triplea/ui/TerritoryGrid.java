@@ -0,0 +1,146 @@
+package games.strategy.triplea.ui;
+
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buckets the territories of a map by the grid cells their polygons overlap, so finding the territory at a point, or
+ * the territories in a rectangle, only has to look at the polygons near it.
+ * <p>
+ * Territories are kept in the order of the polygon map, so the results are the same as going over all of them.
+ */
+class TerritoryGrid {
+  private static final int CELL_SIZE = 128;
+  private final String[] m_names;
+  private final List<List<Polygon>> m_polygons;
+  private final int m_x;
+  private final int m_y;
+  private final int m_columns;
+  private final int m_rows;
+  // the territories with a polygon in each cell, as ascending indexes into m_names
+  private final int[][] m_cells;
+
+  TerritoryGrid(final Map<String, List<Polygon>> polygons) {
+    m_names = new String[polygons.size()];
+    m_polygons = new ArrayList<List<Polygon>>(polygons.size());
+    Rectangle bounds = null;
+    for (final Map.Entry<String, List<Polygon>> entry : polygons.entrySet()) {
+      m_names[m_polygons.size()] = entry.getKey();
+      m_polygons.add(entry.getValue());
+      for (final Polygon polygon : entry.getValue()) {
+        if (bounds == null) {
+          bounds = polygon.getBounds();
+        } else {
+          bounds.add(polygon.getBounds());
+        }
+      }
+    }
+    if (bounds == null) {
+      bounds = new Rectangle();
+    }
+    m_x = bounds.x;
+    m_y = bounds.y;
+    m_columns = bounds.width / CELL_SIZE + 1;
+    m_rows = bounds.height / CELL_SIZE + 1;
+    final List<List<Integer>> cells = new ArrayList<List<Integer>>(m_columns * m_rows);
+    for (int i = 0; i < m_columns * m_rows; i++) {
+      cells.add(new ArrayList<Integer>(2));
+    }
+    for (int i = 0; i < m_names.length; i++) {
+      for (final Polygon polygon : m_polygons.get(i)) {
+        final Rectangle polygonBounds = polygon.getBounds();
+        for (int column = getColumn(polygonBounds.x); column <= getColumn(polygonBounds.getMaxX()); column++) {
+          for (int row = getRow(polygonBounds.y); row <= getRow(polygonBounds.getMaxY()); row++) {
+            final List<Integer> cell = cells.get(row * m_columns + column);
+            // territories are added in order, so a territory already in the cell is the last one
+            if (cell.isEmpty() || cell.get(cell.size() - 1) != i) {
+              cell.add(i);
+            }
+          }
+        }
+      }
+    }
+    m_cells = new int[cells.size()][];
+    for (int i = 0; i < m_cells.length; i++) {
+      final List<Integer> cell = cells.get(i);
+      m_cells[i] = new int[cell.size()];
+      for (int j = 0; j < m_cells[i].length; j++) {
+        m_cells[i][j] = cell.get(j);
+      }
+    }
+  }
+
+  private int getColumn(final double x) {
+    return (int) Math.floor((x - m_x) / CELL_SIZE);
+  }
+
+  private int getRow(final double y) {
+    return (int) Math.floor((y - m_y) / CELL_SIZE);
+  }
+
+  /**
+   * @return a land territory at the point if there is one, otherwise a sea zone, or null
+   */
+  String getTerritoryAt(final double x, final double y) {
+    final int column = getColumn(x);
+    final int row = getRow(y);
+    if (column < 0 || column >= m_columns || row < 0 || row >= m_rows) {
+      return null;
+    }
+    String seaName = null;
+    for (final int i : m_cells[row * m_columns + column]) {
+      for (final Polygon polygon : m_polygons.get(i)) {
+        if (polygon.contains(x, y)) {
+          final String name = m_names[i];
+          if (name.endsWith("Sea Zone") || name.startsWith("Sea Zone")) {
+            seaName = name;
+          } else {
+            return name;
+          }
+        }
+      }
+    }
+    return seaName;
+  }
+
+  /**
+   * @return the territories with a polygon that intersects, contains or is inside the bounds
+   */
+  List<String> territoriesThatOverlap(final Rectangle2D bounds) {
+    final int firstColumn = Math.max(0, getColumn(bounds.getMinX()));
+    final int lastColumn = Math.min(m_columns - 1, getColumn(bounds.getMaxX()));
+    final int firstRow = Math.max(0, getRow(bounds.getMinY()));
+    final int lastRow = Math.min(m_rows - 1, getRow(bounds.getMaxY()));
+    final BitSet candidates = new BitSet(m_names.length);
+    for (int row = firstRow; row <= lastRow; row++) {
+      for (int column = firstColumn; column <= lastColumn; column++) {
+        for (final int i : m_cells[row * m_columns + column]) {
+          candidates.set(i);
+        }
+      }
+    }
+    List<String> rVal = null;
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      for (final Polygon item : m_polygons.get(i)) {
+        if (item.intersects(bounds) || item.contains(bounds) || bounds.contains(item.getBounds2D())) {
+          if (rVal == null) {
+            rVal = new ArrayList<String>(4);
+          }
+          rVal.add(m_names[i]);
+          // only add it once
+          break;
+        }
+      }
+    }
+    if (rVal == null) {
+      return Collections.emptyList();
+    }
+    return rVal;
+  }
+}
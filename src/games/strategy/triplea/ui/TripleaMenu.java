@@ -13,19 +13,18 @@ import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.text.DateFormat;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
 import java.util.Enumeration;
-import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -56,19 +55,18 @@ import javax.swing.JScrollPane;
 import javax.swing.JSpinner;
 import javax.swing.JTextField;
 import javax.swing.KeyStroke;
+import javax.swing.ProgressMonitor;
 import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
 import javax.swing.WindowConstants;
 import javax.swing.event.MenuEvent;
 import javax.swing.event.MenuListener;
-import javax.swing.tree.DefaultMutableTreeNode;
 
 import games.strategy.common.swing.SwingAction;
 import games.strategy.common.ui.BasicGameMenuBar;
 import games.strategy.debug.ClientLogger;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
-import games.strategy.engine.data.ProductionRule;
-import games.strategy.engine.data.Resource;
 import games.strategy.engine.data.ResourceCollection;
 import games.strategy.engine.data.UnitType;
 import games.strategy.engine.data.properties.ColorProperty;
@@ -77,24 +75,17 @@ import games.strategy.engine.data.properties.NumberProperty;
 import games.strategy.engine.data.properties.PropertiesUI;
 import games.strategy.engine.framework.ClientGame;
 import games.strategy.engine.framework.GameDataUtils;
-import games.strategy.engine.history.HistoryNode;
-import games.strategy.engine.history.Round;
-import games.strategy.engine.history.Step;
 import games.strategy.engine.random.IRandomStats;
 import games.strategy.engine.random.RandomStatsDetails;
-import games.strategy.engine.stats.IStat;
 import games.strategy.sound.SoundOptions;
 import games.strategy.sound.SoundPath;
-import games.strategy.triplea.attachments.UnitAttachment;
 import games.strategy.triplea.delegate.BattleCalculator;
-import games.strategy.triplea.delegate.EndRoundDelegate;
 import games.strategy.triplea.image.MapImage;
 import games.strategy.triplea.image.TileImageFactory;
 import games.strategy.triplea.image.UnitImageFactory;
 import games.strategy.triplea.oddsCalculator.ta.OddsCalculatorDialog;
 import games.strategy.triplea.printgenerator.SetupFrame;
 import games.strategy.triplea.ui.screen.IDrawable.OptionalExtraBorderLevel;
-import games.strategy.triplea.util.PlayerOrderComparator;
 import games.strategy.ui.IntTextField;
 import games.strategy.util.IllegalCharacterRemover;
 import games.strategy.util.LocalizeHTML;
@@ -848,233 +839,41 @@ public class TripleaMenu extends BasicGameMenuBar<TripleAFrame> {
     if (chooser.showSaveDialog(frame) != JOptionPane.OK_OPTION) {
       return;
     }
-    final StringBuilder text = new StringBuilder(1000);
-    GameData clone;
+    final File file = chooser.getSelectedFile();
+    final String title = defaultFileName;
+    final GameStatsExporter exporter;
     try {
       getData().acquireReadLock();
-      clone = GameDataUtils.cloneGameData(getData());
-      final IStat[] stats = statPanel.getStats();
-      // extended stats covers stuff that doesn't show up in the game stats menu bar, like custom resources or tech
-      // tokens or # techs, etc.
-      final IStat[] statsExtended = statPanel.getStatsExtended(getData());
-      final String[] alliances = statPanel.getAlliances().toArray(new String[statPanel.getAlliances().size()]);
-      final PlayerID[] players = statPanel.getPlayers().toArray(new PlayerID[statPanel.getPlayers().size()]);
-      // its important here to translate the player objects into our game data
-      // the players for the stat panel are only relevant with respect to
-      // the game data they belong to
-      for (int i = 0; i < players.length; i++) {
-        players[i] = clone.getPlayerList().getPlayerID(players[i].getName());
-      }
-      text.append(defaultFileName + ",");
-      text.append("\n");
-      text.append("TripleA Engine Version: ,");
-      text.append(games.strategy.engine.ClientContext.engineVersion() + ",");
-      text.append("\n");
-      text.append("Game Name: ,");
-      text.append(getData().getGameName() + ",");
-      text.append("\n");
-      text.append("Game Version: ,");
-      text.append(getData().getGameVersion() + ",");
-      text.append("\n");
-      text.append("\n");
-      text.append("Current Round: ,");
-      text.append(currentRound + ",");
-      text.append("\n");
-      text.append("Number of Players: ,");
-      text.append(statPanel.getPlayers().size() + ",");
-      text.append("\n");
-      text.append("Number of Alliances: ,");
-      text.append(statPanel.getAlliances().size() + ",");
-      text.append("\n");
-      text.append("\n");
-      text.append("Turn Order: ,");
-      text.append("\n");
-      final List<PlayerID> playerOrderList = new ArrayList<PlayerID>();
-      playerOrderList.addAll(getData().getPlayerList().getPlayers());
-      Collections.sort(playerOrderList, new PlayerOrderComparator(getData()));
-      final Set<PlayerID> playerOrderSetNoDuplicates = new LinkedHashSet<PlayerID>(playerOrderList);
-      final Iterator<PlayerID> playerOrderIterator = playerOrderSetNoDuplicates.iterator();
-      while (playerOrderIterator.hasNext()) {
-        final PlayerID currentPlayerID = playerOrderIterator.next();
-        text.append(currentPlayerID.getName() + ",");
-        final Iterator<String> allianceName =
-            getData().getAllianceTracker().getAlliancesPlayerIsIn(currentPlayerID).iterator();
-        while (allianceName.hasNext()) {
-          text.append(allianceName.next() + ",");
-        }
-        text.append("\n");
-      }
-      text.append("\n");
-      text.append("Winners: ,");
-      final EndRoundDelegate delegateEndRound = (EndRoundDelegate) getData().getDelegateList().getDelegate("endRound");
-      if (delegateEndRound != null && delegateEndRound.getWinners() != null) {
-        for (final PlayerID p : delegateEndRound.getWinners()) {
-          text.append(p.getName() + ",");
-        }
-      } else {
-        text.append("none yet; game not over,");
-      }
-      text.append("\n");
-      text.append("\n");
-      text.append("Resource Chart: ,");
-      text.append("\n");
-      final Iterator<Resource> resourceIterator = getData().getResourceList().getResources().iterator();
-      while (resourceIterator.hasNext()) {
-        text.append(resourceIterator.next().getName() + ",");
-        text.append("\n");
-      }
-      // if short, we won't both showing production and unit info
-      if (showPhaseStats) {
-        text.append("\n");
-        text.append("Production Rules: ,");
-        text.append("\n");
-        text.append("Name,Result,Quantity,Cost,Resource,\n");
-        final Iterator<ProductionRule> purchaseOptionsIterator =
-            getData().getProductionRuleList().getProductionRules().iterator();
-        while (purchaseOptionsIterator.hasNext()) {
-          final ProductionRule pr = purchaseOptionsIterator.next();
-          String costString = pr.toStringCosts().replaceAll("; ", ",");
-          costString = costString.replaceAll(" ", ",");
-          text.append(pr.getName() + "," + pr.getResults().keySet().iterator().next().getName() + ","
-              + pr.getResults().getInt(pr.getResults().keySet().iterator().next()) + "," + costString + ",");
-          text.append("\n");
-        }
-        text.append("\n");
-        text.append("Unit Types: ,");
-        text.append("\n");
-        text.append("Name,Listed Abilities\n");
-        final Iterator<UnitType> allUnitsIterator = getData().getUnitTypeList().iterator();
-        while (allUnitsIterator.hasNext()) {
-          final UnitAttachment ua = UnitAttachment.get(allUnitsIterator.next());
-          if (ua == null) {
-            continue;
-          }
-          String toModify = ua.allUnitStatsForExporter();
-          toModify = toModify.replaceFirst("UnitType called ", "").replaceFirst(" with:", "")
-              .replaceAll("games.strategy.engine.data.", "").replaceAll("\n", ";").replaceAll(",", ";");
-          toModify = toModify.replaceAll("  ", ",");
-          toModify = toModify.replaceAll(", ", ",").replaceAll(" ,", ",");
-          text.append(toModify);
-          text.append("\n");
-        }
-      }
-      text.append("\n");
-      text.append((showPhaseStats ? "Full Stats (includes each phase that had activity),"
-          : "Short Stats (only shows first phase with activity per player per round),"));
-      text.append("\n");
-      text.append("Turn Stats: ,");
-      text.append("\n");
-      text.append("Round,Player Turn,Phase Name,");
-      for (final IStat stat : stats) {
-        for (final PlayerID player : players) {
-          text.append(stat.getName()).append(" ");
-          text.append(player.getName());
-          text.append(",");
-        }
-        for (final String alliance : alliances) {
-          text.append(stat.getName()).append(" ");
-          text.append(alliance);
-          text.append(",");
-        }
-      }
-      for (final IStat element : statsExtended) {
-        for (final PlayerID player : players) {
-          text.append(element.getName()).append(" ");
-          text.append(player.getName());
-          text.append(",");
-        }
-        for (final String alliance : alliances) {
-          text.append(element.getName()).append(" ");
-          text.append(alliance);
-          text.append(",");
-        }
-      }
-      text.append("\n");
-      clone.getHistory().gotoNode(clone.getHistory().getLastNode());
-      @SuppressWarnings("rawtypes")
-      final Enumeration nodes = ((DefaultMutableTreeNode) clone.getHistory().getRoot()).preorderEnumeration();
-      PlayerID currentPlayer = null;
-      int round = 0;
-      while (nodes.hasMoreElements()) {
-        // we want to export on change of turn
-        final HistoryNode element = (HistoryNode) nodes.nextElement();
-        if (element instanceof Round) {
-          round++;
-        }
-        if (!(element instanceof Step)) {
-          continue;
-        }
-        final Step step = (Step) element;
-        if (step.getPlayerID() == null || step.getPlayerID().isNull()) {
-          continue;
-        }
-        // this is to stop from having multiple entries for each players turn.
-        if (!showPhaseStats) {
-          if (step.getPlayerID() == currentPlayer) {
-            continue;
-          }
-        }
-        currentPlayer = step.getPlayerID();
-        clone.getHistory().gotoNode(element);
-        final String playerName = step.getPlayerID() == null ? "" : step.getPlayerID().getName() + ": ";
-        String stepName = step.getStepName();
-        // copied directly from TripleAPlayer, will probably have to be updated in the future if more delegates are made
-        if (stepName.endsWith("Bid")) {
-          stepName = "Bid";
-        } else if (stepName.endsWith("Tech")) {
-          stepName = "Tech";
-        } else if (stepName.endsWith("TechActivation")) {
-          stepName = "TechActivation";
-        } else if (stepName.endsWith("Purchase")) {
-          stepName = "Purchase";
-        } else if (stepName.endsWith("NonCombatMove")) {
-          stepName = "NonCombatMove";
-        } else if (stepName.endsWith("Move")) {
-          stepName = "Move";
-        } else if (stepName.endsWith("Battle")) {
-          stepName = "Battle";
-        } else if (stepName.endsWith("BidPlace")) {
-          stepName = "BidPlace";
-        } else if (stepName.endsWith("Place")) {
-          stepName = "Place";
-        } else if (stepName.endsWith("Politics")) {
-          stepName = "Politics";
-        } else if (stepName.endsWith("EndTurn")) {
-          stepName = "EndTurn";
-        } else {
-          stepName = "";
-        }
-        text.append(round).append(",").append(playerName).append(",").append(stepName).append(",");
-        for (final IStat stat : stats) {
-          for (final PlayerID player : players) {
-            text.append(stat.getFormatter().format(stat.getValue(player, clone)));
-            text.append(",");
-          }
-          for (final String alliance : alliances) {
-            text.append(stat.getFormatter().format(stat.getValue(alliance, clone)));
-            text.append(",");
-          }
-        }
-        for (final IStat element2 : statsExtended) {
-          for (final PlayerID player : players) {
-            text.append(element2.getFormatter().format(element2.getValue(player, clone)));
-            text.append(",");
-          }
-          for (final String alliance : alliances) {
-            text.append(element2.getFormatter().format(element2.getValue(alliance, clone)));
-            text.append(",");
-          }
-        }
-        text.append("\n");
-      }
+      exporter = new GameStatsExporter(getData(), statPanel.getStats(), statPanel.getStatsExtended(getData()),
+          statPanel.getPlayers(), statPanel.getAlliances(), showPhaseStats);
     } finally {
       getData().releaseReadLock();
     }
-    try (final FileWriter writer = new FileWriter(chooser.getSelectedFile())) {
-      writer.write(text.toString());
-    } catch (final IOException e1) {
-      ClientLogger.logQuietly(e1);
-    }
+    final ProgressMonitor monitor = new ProgressMonitor(frame, "Exporting game stats to " + file.getName(),
+        "Copying game", 0, 1);
+    // replaying the history of a long game takes a while, so it is done in the background
+    final Thread exportThread = new Thread(() -> {
+      boolean exported = false;
+      try (final Writer out = new BufferedWriter(new FileWriter(file))) {
+        exported = exporter.export(title, out, (stepsDone, steps) -> {
+          SwingUtilities.invokeLater(() -> {
+            monitor.setNote("Row " + stepsDone + " of " + steps);
+            monitor.setMaximum(steps);
+            monitor.setProgress(stepsDone);
+          });
+          return !monitor.isCanceled();
+        });
+      } catch (final IOException e) {
+        ClientLogger.logQuietly(e);
+      } finally {
+        SwingUtilities.invokeLater(() -> monitor.close());
+      }
+      if (!exported) {
+        file.delete();
+      }
+    }, "Export game stats");
+    exportThread.setDaemon(true);
+    exportThread.start();
   }
 
   private void addExportUnitStats(final JMenu parentMenu) {
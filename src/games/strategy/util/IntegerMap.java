@@ -1,32 +1,58 @@
 package games.strategy.util;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.ObjIntConsumer;
 
 /**
  * A utility class for mapping Objects to ints. <br>
- * Supports adding and comparing of maps.
+ * Supports adding and comparing of maps. <br>
+ * The ints are kept unboxed in an open addressing hash table (linear probing), so adding to and reading from the map
+ * does not create Integers. Use forEachEntry to go over the map without creating anything either.
+ * It is serialized the same way as when it wrapped a HashMap of Integers, so old save games still load.
  */
 public class IntegerMap<T> implements Cloneable, Serializable {
   private static final long serialVersionUID = 6856531659284300930L;
-  private final HashMap<T, Integer> mapValues;
+  // the serialized form is still a HashMap<T, Integer> named mapValues
+  private static final ObjectStreamField[] serialPersistentFields = {new ObjectStreamField("mapValues", HashMap.class)};
+  private static final int MIN_CAPACITY = 8;
+  // stands in for the null key, since an empty slot is null
+  private static final Object NULL_KEY = new Object();
+  private transient Object[] m_keys;
+  private transient int[] m_values;
+  private transient int m_size;
+  // changed whenever a key is added or removed, so iterators can tell that the map changed under them
+  private transient int m_modCount;
+  // the entries read when deserializing, put into the table when the map is first used, because the keys may not be
+  // completely read yet (and so not have their final hash code) while this map is being read
+  private transient volatile Map<T, Integer> m_deserialized;
 
   /** Creates new IntegerMap */
   public IntegerMap() {
-    mapValues = new HashMap<T, Integer>();
+    this(MIN_CAPACITY);
   }
 
   public IntegerMap(final int size) {
-    mapValues = new HashMap<T, Integer>(size);
+    this(size, 0.5f);
   }
 
   public IntegerMap(final int size, final float loadFactor) {
-    mapValues = new HashMap<T, Integer>(size, loadFactor);
+    allocate(capacityFor((int) Math.min(Integer.MAX_VALUE / 4, size / Math.min(0.5f, loadFactor))));
   }
 
   public IntegerMap(final T object, final int value) {
@@ -46,10 +72,10 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * @param integerMap
    */
   public IntegerMap(final IntegerMap<T> integerMap) {
-    mapValues = new HashMap<T, Integer>(integerMap.size());
-    for (final T t : integerMap.keySet()) {
-      mapValues.put(t, integerMap.getInt(t));
-    }
+    integerMap.checkDeserialized();
+    m_keys = integerMap.m_keys.clone();
+    m_values = integerMap.m_values.clone();
+    m_size = integerMap.m_size;
   }
 
   /**
@@ -59,30 +85,35 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * @param integerMaps
    */
   public IntegerMap(final IntegerMap<T>[] integerMaps) {
-    mapValues = new HashMap<T, Integer>();
+    this();
     for (final IntegerMap<T> integerMap : integerMaps) {
       this.add(integerMap);
     }
   }
 
   public int size() {
-    return mapValues.size();
+    checkDeserialized();
+    return m_size;
   }
 
   public void put(final T key, final Integer value) {
-    mapValues.put(key, value);
+    put(key, value == null ? 0 : value.intValue());
   }
 
   public void put(final T key, final int value) {
-    final Integer obj = Integer.valueOf(value);
-    mapValues.put(key, obj);
+    checkDeserialized();
+    final int slot = findSlot(key);
+    if (m_keys[slot] == null) {
+      insert(slot, key, value);
+    } else {
+      m_values[slot] = value;
+    }
   }
 
   public void putAll(final Collection<T> keys, final int value) {
-    final Integer obj = Integer.valueOf(value);
     final Iterator<T> iter = keys.iterator();
     while (iter.hasNext()) {
-      put(iter.next(), obj);
+      put(iter.next(), value);
     }
   }
 
@@ -97,11 +128,9 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * returns 0 if no key found.
    */
   public int getInt(final T key) {
-    final Integer val = mapValues.get(key);
-    if (val == null) {
-      return 0;
-    }
-    return val.intValue();
+    checkDeserialized();
+    final int slot = findSlot(key);
+    return m_keys[slot] == null ? 0 : m_values[slot];
   }
 
   public void add(final T key, final Integer value) {
@@ -109,12 +138,12 @@ public class IntegerMap<T> implements Cloneable, Serializable {
   }
 
   public void add(final T key, final int value) {
-    if (mapValues.get(key) == null) {
-      put(key, value);
+    checkDeserialized();
+    final int slot = findSlot(key);
+    if (m_keys[slot] == null) {
+      insert(slot, key, value);
     } else {
-      final Integer oldVal = mapValues.get(key);
-      final int newVal = oldVal.intValue() + value;
-      put(key, newVal);
+      m_values[slot] += value;
     }
   }
 
@@ -128,8 +157,12 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    *        (1 = floor, 2 = round, 3 = ceil)
    */
   public void multiplyAllValuesBy(final double multiplyBy, final int RoundType) {
-    for (final T t : keySet()) {
-      double val = mapValues.get(t);
+    checkDeserialized();
+    for (int i = 0; i < m_keys.length; i++) {
+      if (m_keys[i] == null) {
+        continue;
+      }
+      double val = m_values[i];
       switch (RoundType) {
         case 1:
           val = Math.floor(val * multiplyBy);
@@ -144,20 +177,75 @@ public class IntegerMap<T> implements Cloneable, Serializable {
           val = val * multiplyBy;
           break;
       }
-      put(t, (int) val);
+      m_values[i] = (int) val;
     }
   }
 
   public void clear() {
-    mapValues.clear();
+    checkDeserialized();
+    Arrays.fill(m_keys, null);
+    m_size = 0;
+    m_modCount++;
   }
 
+  /**
+   * @return a view of the keys. Keys can not be removed through it, use removeKey().
+   */
   public Set<T> keySet() {
-    return mapValues.keySet();
+    return new AbstractSet<T>() {
+      @Override
+      public Iterator<T> iterator() {
+        return new SlotIterator<T>() {
+          @Override
+          T get(final int slot) {
+            return getKey(slot);
+          }
+        };
+      }
+
+      @Override
+      @SuppressWarnings("unchecked")
+      public boolean contains(final Object o) {
+        return containsKey((T) o);
+      }
+
+      @Override
+      public int size() {
+        return IntegerMap.this.size();
+      }
+    };
   }
 
   public Collection<Integer> values() {
-    return mapValues.values();
+    return new AbstractCollection<Integer>() {
+      @Override
+      public Iterator<Integer> iterator() {
+        return new SlotIterator<Integer>() {
+          @Override
+          Integer get(final int slot) {
+            return m_values[slot];
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return IntegerMap.this.size();
+      }
+    };
+  }
+
+  /**
+   * Calls the action with each key and its value, without creating an entry (or an Integer) for each.
+   * The map must not be changed by the action, other than changing the values of keys that are already in it.
+   */
+  public void forEachEntry(final ObjIntConsumer<T> action) {
+    checkDeserialized();
+    for (int i = 0; i < m_keys.length; i++) {
+      if (m_keys[i] != null) {
+        action.accept(getKey(i), m_values[i]);
+      }
+    }
   }
 
   /**
@@ -166,16 +254,12 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * @return true if at least one value and all values are the same.
    */
   public boolean allValuesAreSame() {
-    if (mapValues.isEmpty()) {
+    checkDeserialized();
+    if (m_size == 0) {
       return false;
     }
-    final int first = mapValues.values().iterator().next();
-    for (final int value : mapValues.values()) {
-      if (first != value) {
-        return false;
-      }
-    }
-    return true;
+    final int first = m_values[nextSlot(0)];
+    return allValuesEqual(first);
   }
 
   /**
@@ -184,11 +268,12 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * @return true if all values are equal to the given integer.
    */
   public boolean allValuesEqual(final int integer) {
-    if (mapValues.isEmpty()) {
+    checkDeserialized();
+    if (m_size == 0) {
       return false;
     }
-    for (final int value : mapValues.values()) {
-      if (integer != value) {
+    for (int i = 0; i < m_keys.length; i++) {
+      if (m_keys[i] != null && m_values[i] != integer) {
         return false;
       }
     }
@@ -199,13 +284,14 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * Will return zero if empty.
    */
   public int highestValue() {
-    if (mapValues.isEmpty()) {
+    checkDeserialized();
+    if (m_size == 0) {
       return 0;
     }
     int max = Integer.MIN_VALUE;
-    for (final int value : mapValues.values()) {
-      if (value > max) {
-        max = value;
+    for (int i = 0; i < m_keys.length; i++) {
+      if (m_keys[i] != null && m_values[i] > max) {
+        max = m_values[i];
       }
     }
     return max;
@@ -215,13 +301,14 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * Will return zero if empty.
    */
   public int lowestValue() {
-    if (mapValues.isEmpty()) {
+    checkDeserialized();
+    if (m_size == 0) {
       return 0;
     }
     int min = Integer.MAX_VALUE;
-    for (final int value : mapValues.values()) {
-      if (value < min) {
-        min = value;
+    for (int i = 0; i < m_keys.length; i++) {
+      if (m_keys[i] != null && m_values[i] < min) {
+        min = m_values[i];
       }
     }
     return min;
@@ -231,15 +318,13 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * Will return null if empty.
    */
   public T highestKey() {
-    if (mapValues.isEmpty()) {
-      return null;
-    }
+    checkDeserialized();
     int max = Integer.MIN_VALUE;
     T rVal = null;
-    for (final Entry<T, Integer> entry : mapValues.entrySet()) {
-      if (entry.getValue() > max) {
-        max = entry.getValue();
-        rVal = entry.getKey();
+    for (int i = 0; i < m_keys.length; i++) {
+      if (m_keys[i] != null && m_values[i] > max) {
+        max = m_values[i];
+        rVal = getKey(i);
       }
     }
     return rVal;
@@ -249,15 +334,13 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * Will return null if empty.
    */
   public T lowestKey() {
-    if (mapValues.isEmpty()) {
-      return null;
-    }
+    checkDeserialized();
     int min = Integer.MAX_VALUE;
     T rVal = null;
-    for (final Entry<T, Integer> entry : mapValues.entrySet()) {
-      if (entry.getValue() < min) {
-        min = entry.getValue();
-        rVal = entry.getKey();
+    for (int i = 0; i < m_keys.length; i++) {
+      if (m_keys[i] != null && m_values[i] < min) {
+        min = m_values[i];
+        rVal = getKey(i);
       }
     }
     return rVal;
@@ -267,23 +350,22 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * @return the sum of all keys.
    */
   public int totalValues() {
+    checkDeserialized();
     int sum = 0;
-    for (final Integer value : mapValues.values()) {
-      sum += value.intValue();
+    for (int i = 0; i < m_keys.length; i++) {
+      if (m_keys[i] != null) {
+        sum += m_values[i];
+      }
     }
     return sum;
   }
 
   public void add(final IntegerMap<T> map) {
-    for (final T key : map.keySet()) {
-      add(key, map.getInt(key));
-    }
+    addMultiple(map, 1);
   }
 
   public void subtract(final IntegerMap<T> map) {
-    for (final T key : map.keySet()) {
-      add(key, -map.getInt(key));
-    }
+    addMultiple(map, -1);
   }
 
   /**
@@ -295,8 +377,9 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * that a and b are not equal.
    */
   public boolean greaterThanOrEqualTo(final IntegerMap<T> map) {
-    for (final T key : map.keySet()) {
-      if (!(this.getInt(key) >= map.getInt(key))) {
+    map.checkDeserialized();
+    for (int i = 0; i < map.m_keys.length; i++) {
+      if (map.m_keys[i] != null && !(this.getInt(map.getKey(i)) >= map.m_values[i])) {
         return false;
       }
     }
@@ -307,8 +390,9 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * True if all values are >= 0.
    */
   public boolean isPositive() {
-    for (final T key : mapValues.keySet()) {
-      if (getInt(key) < 0) {
+    checkDeserialized();
+    for (int i = 0; i < m_keys.length; i++) {
+      if (m_keys[i] != null && m_values[i] < 0) {
         return false;
       }
     }
@@ -316,9 +400,7 @@ public class IntegerMap<T> implements Cloneable, Serializable {
   }
 
   public IntegerMap<T> copy() {
-    final IntegerMap<T> copy = new IntegerMap<T>();
-    copy.add(this);
-    return copy;
+    return new IntegerMap<T>(this);
   }
 
   @Override
@@ -330,13 +412,20 @@ public class IntegerMap<T> implements Cloneable, Serializable {
    * Add map * multiple
    */
   public void addMultiple(final IntegerMap<T> map, final int multiple) {
-    for (final T key : map.keySet()) {
-      add(key, map.getInt(key) * multiple);
+    map.checkDeserialized();
+    if (map == this) {
+      multiplyAllValuesBy(1 + multiple, 0);
+      return;
+    }
+    for (int i = 0; i < map.m_keys.length; i++) {
+      if (map.m_keys[i] != null) {
+        add(map.getKey(i), map.m_values[i] * multiple);
+      }
     }
   }
 
   public boolean someKeysMatch(final Match<T> matcher) {
-    for (final T obj : mapValues.keySet()) {
+    for (final T obj : keySet()) {
       if (matcher.match(obj)) {
         return true;
       }
@@ -345,7 +434,7 @@ public class IntegerMap<T> implements Cloneable, Serializable {
   }
 
   public boolean allKeysMatch(final Match<T> matcher) {
-    for (final T obj : mapValues.keySet()) {
+    for (final T obj : keySet()) {
       if (!matcher.match(obj)) {
         return false;
       }
@@ -355,7 +444,7 @@ public class IntegerMap<T> implements Cloneable, Serializable {
 
   public Collection<T> getKeyMatches(final Match<T> matcher) {
     final Collection<T> values = new ArrayList<T>();
-    for (final T obj : mapValues.keySet()) {
+    for (final T obj : keySet()) {
       if (matcher.match(obj)) {
         values.add(obj);
       }
@@ -364,10 +453,11 @@ public class IntegerMap<T> implements Cloneable, Serializable {
   }
 
   public int sumMatches(final Match<T> matcher) {
+    checkDeserialized();
     int sum = 0;
-    for (final T obj : mapValues.keySet()) {
-      if (matcher.match(obj)) {
-        sum += getInt(obj);
+    for (int i = 0; i < m_keys.length; i++) {
+      if (m_keys[i] != null && matcher.match(getKey(i))) {
+        sum += m_values[i];
       }
     }
     return sum;
@@ -384,7 +474,11 @@ public class IntegerMap<T> implements Cloneable, Serializable {
   }
 
   public void removeKey(final T key) {
-    mapValues.remove(key);
+    checkDeserialized();
+    final int slot = findSlot(key);
+    if (m_keys[slot] != null) {
+      delete(slot);
+    }
   }
 
   private void removeKeys(final Collection<T> keys) {
@@ -394,35 +488,66 @@ public class IntegerMap<T> implements Cloneable, Serializable {
   }
 
   public boolean containsKey(final T key) {
-    return mapValues.containsKey(key);
+    checkDeserialized();
+    return m_keys[findSlot(key)] != null;
   }
 
   public boolean isEmpty() {
-    return mapValues.isEmpty();
+    return size() == 0;
   }
 
+  /**
+   * @return a view of the entries. Setting the value of an entry changes the map, but entries can not be removed
+   *         through it. Use forEachEntry to avoid creating an entry for each key.
+   */
   public Set<Entry<T, Integer>> entrySet() {
-    return mapValues.entrySet();
+    return new AbstractSet<Entry<T, Integer>>() {
+      @Override
+      public Iterator<Entry<T, Integer>> iterator() {
+        return new SlotIterator<Entry<T, Integer>>() {
+          @Override
+          Entry<T, Integer> get(final int slot) {
+            return new SlotEntry(slot);
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return IntegerMap.this.size();
+      }
+    };
   }
 
   @Override
   public String toString() {
     final StringBuilder buf = new StringBuilder();
     buf.append("IntegerMap:\n");
-    final Iterator<T> iter = mapValues.keySet().iterator();
-    if (!iter.hasNext()) {
+    if (isEmpty()) {
       buf.append("empty\n");
     }
-    while (iter.hasNext()) {
-      final T current = iter.next();
-      buf.append(current).append(" -> ").append(getInt(current)).append("\n");
+    for (int i = 0; i < m_keys.length; i++) {
+      if (m_keys[i] != null) {
+        buf.append(getKey(i)).append(" -> ").append(m_values[i]).append("\n");
+      }
     }
     return buf.toString();
   }
 
+  /**
+   * The same hash code as a HashMap with the same entries would have.
+   */
   @Override
   public int hashCode() {
-    return mapValues.hashCode();
+    checkDeserialized();
+    int hash = 0;
+    for (int i = 0; i < m_keys.length; i++) {
+      if (m_keys[i] != null) {
+        final T key = getKey(i);
+        hash += (key == null ? 0 : key.hashCode()) ^ m_values[i];
+      }
+    }
+    return hash;
   }
 
   /**
@@ -440,17 +565,236 @@ public class IntegerMap<T> implements Cloneable, Serializable {
       return false;
     }
     final IntegerMap<T> map = (IntegerMap<T>) o;
-    if (!map.keySet().equals(this.keySet())) {
+    if (map.size() != this.size()) {
       return false;
     }
-    if (!map.mapValues.equals(this.mapValues)) {
-      return false;
-    }
-    for (final T key : map.keySet()) {
-      if (!(this.getInt(key) == map.getInt(key))) {
+    for (int i = 0; i < map.m_keys.length; i++) {
+      if (map.m_keys[i] == null) {
+        continue;
+      }
+      final T key = map.getKey(i);
+      if (!this.containsKey(key) || this.getInt(key) != map.m_values[i]) {
         return false;
       }
     }
     return true;
   }
+
+  private static int capacityFor(final int slots) {
+    int capacity = MIN_CAPACITY;
+    while (capacity < slots) {
+      capacity <<= 1;
+    }
+    return capacity;
+  }
+
+  private void allocate(final int capacity) {
+    m_keys = new Object[capacity];
+    m_values = new int[capacity];
+  }
+
+  @SuppressWarnings("unchecked")
+  private T getKey(final int slot) {
+    final Object key = m_keys[slot];
+    return key == NULL_KEY ? null : (T) key;
+  }
+
+  private static int hash(final Object key) {
+    final int h = key.hashCode() * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * @return the slot holding the key, or the empty slot where it would go.
+   */
+  private int findSlot(final T key) {
+    final Object k = key == null ? NULL_KEY : key;
+    final int mask = m_keys.length - 1;
+    int slot = hash(k) & mask;
+    while (m_keys[slot] != null) {
+      if (m_keys[slot] == k || m_keys[slot].equals(k)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void insert(final int slot, final T key, final int value) {
+    m_keys[slot] = key == null ? NULL_KEY : key;
+    m_values[slot] = value;
+    m_size++;
+    m_modCount++;
+    // keep at least half the slots empty, so probe sequences stay short
+    if (m_size * 2 > m_keys.length) {
+      resize(m_keys.length * 2);
+    }
+  }
+
+  private void resize(final int capacity) {
+    final Object[] oldKeys = m_keys;
+    final int[] oldValues = m_values;
+    allocate(capacity);
+    final int mask = capacity - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != null) {
+        int slot = hash(oldKeys[i]) & mask;
+        while (m_keys[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        m_keys[slot] = oldKeys[i];
+        m_values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /**
+   * Removes the key in the slot, and moves back any later keys in the same run that would otherwise no longer be found.
+   */
+  private void delete(int slot) {
+    final int mask = m_keys.length - 1;
+    m_size--;
+    m_modCount++;
+    int next = (slot + 1) & mask;
+    while (m_keys[next] != null) {
+      final int home = hash(m_keys[next]) & mask;
+      // move the key back if its home slot is not between the empty slot and where it is now (cyclically)
+      if (((next - home) & mask) >= ((next - slot) & mask)) {
+        m_keys[slot] = m_keys[next];
+        m_values[slot] = m_values[next];
+        slot = next;
+      }
+      next = (next + 1) & mask;
+    }
+    m_keys[slot] = null;
+  }
+
+  private int nextSlot(int slot) {
+    while (slot < m_keys.length && m_keys[slot] == null) {
+      slot++;
+    }
+    return slot;
+  }
+
+  private void checkDeserialized() {
+    if (m_deserialized != null) {
+      synchronized (this) {
+        final Map<T, Integer> deserialized = m_deserialized;
+        if (deserialized != null) {
+          allocate(capacityFor(deserialized.size() * 2));
+          m_size = 0;
+          for (final Entry<T, Integer> entry : deserialized.entrySet()) {
+            final int slot = findSlot(entry.getKey());
+            if (m_keys[slot] == null) {
+              m_keys[slot] = entry.getKey() == null ? NULL_KEY : entry.getKey();
+              m_size++;
+            }
+            m_values[slot] = entry.getValue() == null ? 0 : entry.getValue();
+          }
+          m_deserialized = null;
+        }
+      }
+    }
+  }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    checkDeserialized();
+    final HashMap<T, Integer> mapValues = new HashMap<T, Integer>(Math.max(MIN_CAPACITY, m_size * 2));
+    for (int i = 0; i < m_keys.length; i++) {
+      if (m_keys[i] != null) {
+        mapValues.put(getKey(i), m_values[i]);
+      }
+    }
+    final ObjectOutputStream.PutField fields = out.putFields();
+    fields.put("mapValues", mapValues);
+    out.writeFields();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    final ObjectInputStream.GetField fields = in.readFields();
+    final Map<T, Integer> mapValues = (Map<T, Integer>) fields.get("mapValues", null);
+    allocate(MIN_CAPACITY);
+    m_deserialized = mapValues == null ? new HashMap<T, Integer>() : mapValues;
+  }
+
+  /**
+   * Iterates over the used slots, failing fast if keys are added or removed meanwhile.
+   */
+  private abstract class SlotIterator<E> implements Iterator<E> {
+    private final int m_expectedModCount;
+    private int m_next;
+
+    SlotIterator() {
+      checkDeserialized();
+      m_expectedModCount = m_modCount;
+      m_next = nextSlot(0);
+    }
+
+    abstract E get(int slot);
+
+    @Override
+    public boolean hasNext() {
+      return m_next < m_keys.length;
+    }
+
+    @Override
+    public E next() {
+      if (m_modCount != m_expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (m_next >= m_keys.length) {
+        throw new NoSuchElementException();
+      }
+      final E e = get(m_next);
+      m_next = nextSlot(m_next + 1);
+      return e;
+    }
+  }
+
+  private class SlotEntry implements Entry<T, Integer> {
+    private final int m_slot;
+    private final T m_key;
+
+    SlotEntry(final int slot) {
+      m_slot = slot;
+      m_key = IntegerMap.this.getKey(slot);
+    }
+
+    @Override
+    public T getKey() {
+      return m_key;
+    }
+
+    @Override
+    public Integer getValue() {
+      return m_values[m_slot];
+    }
+
+    @Override
+    public Integer setValue(final Integer value) {
+      final Integer old = m_values[m_slot];
+      m_values[m_slot] = value;
+      return old;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (!(o instanceof Entry)) {
+        return false;
+      }
+      final Entry<?, ?> e = (Entry<?, ?>) o;
+      return (m_key == null ? e.getKey() == null : m_key.equals(e.getKey())) && getValue().equals(e.getValue());
+    }
+
+    @Override
+    public int hashCode() {
+      return (m_key == null ? 0 : m_key.hashCode()) ^ m_values[m_slot];
+    }
+
+    @Override
+    public String toString() {
+      return m_key + "=" + m_values[m_slot];
+    }
+  }
 }
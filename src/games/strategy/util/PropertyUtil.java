@@ -2,16 +2,27 @@ package games.strategy.util;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Utility for getting/setting java bean style properties on an object.
+ * The fields, setters and resetters are looked up once per class and property name, and then reused, since changes
+ * (and their inverses) get and set properties all the time.
  */
 public class PropertyUtil {
+  private static final ConcurrentMap<Class<?>, ConcurrentMap<String, Field>> s_fields =
+      new ConcurrentHashMap<Class<?>, ConcurrentMap<String, Field>>();
+  private static final ConcurrentMap<Class<?>, ConcurrentMap<String, Setters>> s_setters =
+      new ConcurrentHashMap<Class<?>, ConcurrentMap<String, Setters>>();
+  private static final ConcurrentMap<Class<?>, ConcurrentMap<String, Method[]>> s_resetters =
+      new ConcurrentHashMap<Class<?>, ConcurrentMap<String, Method[]>>();
 
   public static void set(final String propertyName, final Object value, final Object subject) {
     final Method m = getSetter(propertyName, subject, value);
     try {
-      m.setAccessible(true);
       m.invoke(subject, value);
     } catch (final Exception e) {
       throw new IllegalStateException(
@@ -35,7 +46,6 @@ public class PropertyUtil {
   public static void reset(final String propertyName, final Object subject) {
     try {
       final Method c = getResetter(propertyName, subject);
-      c.setAccessible(true);
       c.invoke(subject);
     } catch (final Exception e) {
       throw new IllegalStateException("Could not reset property:" + propertyName + " subject:" + subject, e);
@@ -67,9 +77,7 @@ public class PropertyUtil {
 
   public static Object getPropertyFieldObject(final String propertyName, final Object subject) {
     try {
-      Field field = getPropertyField(propertyName, subject);
-      field.setAccessible(true);
-      return field.get(subject);
+      return getPropertyField(propertyName, subject).get(subject);
     } catch (final Exception e) {
       String msg = "No such Property Field named: " + "m_" + propertyName + ", or: " + propertyName + ", for Subject: "
           + subject.toString();
@@ -78,6 +86,17 @@ public class PropertyUtil {
   }
 
   private static Field getPropertyField(final String propertyName, final Object subject) {
+    final ConcurrentMap<String, Field> fields = getCache(s_fields, subject.getClass());
+    Field field = fields.get(propertyName);
+    if (field == null) {
+      field = findPropertyField(propertyName, subject);
+      field.setAccessible(true);
+      fields.put(propertyName, field);
+    }
+    return field;
+  }
+
+  private static Field findPropertyField(final String propertyName, final Object subject) {
     try {
       return getFieldIncludingFromSuperClasses(subject.getClass(), "m_" + propertyName, false);
     } catch (final Exception e) {
@@ -97,41 +116,88 @@ public class PropertyUtil {
   }
 
   private static Method getSetter(final String propertyName, final Object subject, final Object value) {
-    final String setterName = "set" + capitalizeFirstLetter(propertyName);
-    // for (final Method m : subject.getClass().getDeclaredMethods())
-    for (final Method m : subject.getClass().getMethods()) {
-      if (m.getName().equals(setterName)) {
-        try {
-          final Class<?> argType = value.getClass();
-          return subject.getClass().getMethod(setterName, argType);
-        } catch (final NoSuchMethodException nsmf) {
-          // Go ahead and try the first one
-          return m;
-        } catch (final NullPointerException n) {
-          // Go ahead and try the first one
-          return m;
+    final ConcurrentMap<String, Setters> cache = getCache(s_setters, subject.getClass());
+    Setters setters = cache.get(propertyName);
+    if (setters == null) {
+      setters = new Setters(findMethods("set" + capitalizeFirstLetter(propertyName), subject));
+      cache.put(propertyName, setters);
+    }
+    if (setters.m_methods.length == 0) {
+      throw new IllegalStateException("No method called:" + "set" + capitalizeFirstLetter(propertyName) + " on:"
+          + subject);
+    }
+    // prefer the setter that takes exactly the type of the value, otherwise go ahead and try the first one
+    if (value != null) {
+      for (int i = 0; i < setters.m_methods.length; i++) {
+        if (setters.m_argumentTypes[i] == value.getClass()) {
+          return setters.m_methods[i];
         }
       }
     }
-    throw new IllegalStateException("No method called:" + setterName + " on:" + subject);
+    return setters.m_methods[0];
   }
 
   private static Method getResetter(final String propertyName, final Object subject) {
-    final String resetterName = "reset" + capitalizeFirstLetter(propertyName);
-    // for (final Method c : subject.getClass().getDeclaredMethods())
-    for (final Method c : subject.getClass().getMethods()) {
-      if (c.getName().equals(resetterName)) {
-        try {
-          return subject.getClass().getMethod(resetterName);
-        } catch (final NoSuchMethodException nsmf) {
-          // Go ahead and try the first one
-          return c;
-        } catch (final NullPointerException n) {
-          // Go ahead and try the first one
-          return c;
-        }
+    final ConcurrentMap<String, Method[]> resetters = getCache(s_resetters, subject.getClass());
+    Method[] candidates = resetters.get(propertyName);
+    if (candidates == null) {
+      candidates = findMethods("reset" + capitalizeFirstLetter(propertyName), subject);
+      resetters.put(propertyName, candidates);
+    }
+    // prefer the resetter without arguments, otherwise go ahead and try the first one
+    for (final Method c : candidates) {
+      if (c.getParameterCount() == 0) {
+        return c;
+      }
+    }
+    if (candidates.length == 0) {
+      throw new IllegalStateException("No method called:" + "reset" + capitalizeFirstLetter(propertyName) + " on:"
+          + subject);
+    }
+    return candidates[0];
+  }
+
+  /**
+   * @return the public methods with the name, in the order getMethods() returns them, made accessible.
+   */
+  private static Method[] findMethods(final String name, final Object subject) {
+    final List<Method> methods = new ArrayList<Method>();
+    for (final Method m : subject.getClass().getMethods()) {
+      if (m.getName().equals(name)) {
+        m.setAccessible(true);
+        methods.add(m);
+      }
+    }
+    return methods.toArray(new Method[methods.size()]);
+  }
+
+  private static <T> ConcurrentMap<String, T> getCache(final ConcurrentMap<Class<?>, ConcurrentMap<String, T>> caches,
+      final Class<?> c) {
+    ConcurrentMap<String, T> cache = caches.get(c);
+    if (cache == null) {
+      cache = new ConcurrentHashMap<String, T>();
+      final ConcurrentMap<String, T> existing = caches.putIfAbsent(c, cache);
+      if (existing != null) {
+        cache = existing;
+      }
+    }
+    return cache;
+  }
+
+  /**
+   * The setters for one property, with the argument type of each (or null if it does not take exactly one).
+   */
+  private static class Setters {
+    private final Method[] m_methods;
+    private final Class<?>[] m_argumentTypes;
+
+    Setters(final Method[] methods) {
+      m_methods = methods;
+      m_argumentTypes = new Class<?>[methods.length];
+      for (int i = 0; i < methods.length; i++) {
+        final Class<?>[] parameterTypes = methods[i].getParameterTypes();
+        m_argumentTypes[i] = parameterTypes.length == 1 ? parameterTypes[0] : null;
       }
     }
-    throw new IllegalStateException("No method called:" + resetterName + " on:" + subject);
   }
 }
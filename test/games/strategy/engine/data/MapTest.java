@@ -1,5 +1,7 @@
 package games.strategy.engine.data;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Set;
 
 import games.strategy.util.Match;
@@ -221,4 +223,81 @@ public class MapTest extends TestCase {
     assertTrue(neighbors.contains(bb));
     assertTrue(neighbors.contains(ca));
   }
+
+  public void testNeighborsWithDistanceAndCondition() {
+    final Match<Territory> land = new Match<Territory>() {
+      @Override
+      public boolean match(final Territory t) {
+        return !t.isWater();
+      }
+    };
+    final Set<Territory> neighbors = map.getNeighbors(bb, 2, land);
+    assertEquals(7, neighbors.size());
+    assertFalse(neighbors.contains(bb));
+    assertFalse(neighbors.contains(bc));
+    assertTrue(neighbors.contains(ac));
+    assertTrue(neighbors.contains(db));
+    assertFalse(neighbors.contains(da));
+    assertEquals(map.getNeighbors(aa, 4), map.getNeighbors(Collections.singleton(aa), 4));
+  }
+
+  public void testDistanceWithCondition() {
+    final Match<Territory> notBb = new Match<Territory>() {
+      @Override
+      public boolean match(final Territory t) {
+        return t != bb;
+      }
+    };
+    assertEquals(4, map.getDistance(ba, bc, notBb));
+    assertEquals(2, map.getDistance(ba, bc));
+  }
+
+  public void testDistanceAfterNewConnection() {
+    assertEquals(6, map.getLandDistance(ad, da));
+    map.addConnection(ad, da);
+    assertEquals(1, map.getLandDistance(ad, da));
+    assertEquals(1, map.getDistance(ad, da));
+  }
+
+  public void testCheapestRoute() {
+    // moving into bb is expensive, so the route goes around it
+    final RouteFinder.Cost avoidBb = new RouteFinder.Cost() {
+      @Override
+      public int getCost(final Territory from, final Territory to) {
+        return to == bb ? 10 : 1;
+      }
+
+      @Override
+      public int getMinimumCost() {
+        return 1;
+      }
+    };
+    final Route route = new RouteFinder(map, null, avoidBb).findRoute(ba, bc);
+    assertEquals(4, route.numberOfSteps());
+    assertFalse(route.getAllTerritories().contains(bb));
+    assertEquals(2, new RouteFinder(map, null).findRoute(ba, bc).numberOfSteps());
+  }
+
+  public void testCompositeRoute() {
+    final Match<Territory> land = new Match<Territory>() {
+      @Override
+      public boolean match(final Territory t) {
+        return !t.isWater();
+      }
+    };
+    final Match<Territory> water = new Match<Territory>() {
+      @Override
+      public boolean match(final Territory t) {
+        return t.isWater();
+      }
+    };
+    final HashMap<Match<Territory>, Integer> matches = new HashMap<Match<Territory>, Integer>();
+    matches.put(land, 1);
+    matches.put(water, 5);
+    // the land route is 6 steps, going over water is 3 steps but costs more
+    final Route route = map.getCompositeRoute(ad, da, matches);
+    assertEquals(6, route.numberOfSteps());
+    matches.put(water, 1);
+    assertEquals(3, map.getCompositeRoute(ca, cd, matches).numberOfSteps());
+  }
 }
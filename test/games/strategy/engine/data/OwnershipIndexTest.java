@@ -0,0 +1,70 @@
+package games.strategy.engine.data;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.delegate.Matches;
+import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.util.IntegerMap;
+import games.strategy.util.Match;
+import junit.framework.TestCase;
+
+public class OwnershipIndexTest extends TestCase {
+  private GameData m_data;
+  private PlayerID m_germans;
+  private PlayerID m_russians;
+  private Territory m_germany;
+  private Territory m_karelia;
+
+  @Override
+  public void setUp() throws Exception {
+    m_data = LoadGameUtil.loadTestGame("revised_test.xml");
+    m_germans = GameDataTestUtil.germans(m_data);
+    m_russians = GameDataTestUtil.russians(m_data);
+    m_germany = m_data.getMap().getTerritory("Germany");
+    m_karelia = m_data.getMap().getTerritory("Karelia S.S.R.");
+  }
+
+  public void testIndexFollowsChanges() {
+    final OwnershipIndex index = m_data.getOwnershipIndex();
+    assertSameAsMap(index);
+    final Collection<Unit> infantry = m_germany.getUnits().getUnits(GameDataTestUtil.infantry(m_data), 2);
+    m_data.performChange(ChangeFactory.moveUnits(m_germany, m_karelia, infantry));
+    m_data.performChange(ChangeFactory.changeOwner(m_karelia, m_germans));
+    assertSameAsMap(index);
+    m_data.performChange(ChangeFactory.changeOwner(infantry, m_russians, m_karelia));
+    m_data.performChange(ChangeFactory.addUnits(m_germany, GameDataTestUtil.armour(m_data).create(3, m_germans)));
+    assertSameAsMap(index);
+    m_data.performChange(ChangeFactory.removeUnits(m_karelia, infantry));
+    assertSameAsMap(index);
+  }
+
+  public void testTerritoriesAreInMapOrder() {
+    m_data.performChange(ChangeFactory.changeOwner(m_karelia, m_germans));
+    final List<Territory> owned = m_data.getMap().getTerritoriesOwnedBy(m_germans);
+    assertEquals(Match.getMatches(m_data.getMap().getTerritories(), Matches.isTerritoryOwnedBy(m_germans)), owned);
+  }
+
+  private void assertSameAsMap(final OwnershipIndex index) {
+    for (final PlayerID player : m_data.getPlayerList()) {
+      final List<Territory> owned = new ArrayList<Territory>();
+      final IntegerMap<UnitType> units = new IntegerMap<UnitType>();
+      for (final Territory territory : m_data.getMap()) {
+        if (territory.getOwner().equals(player)) {
+          owned.add(territory);
+        }
+        for (final Unit unit : territory.getUnits().getMatches(Matches.unitIsOwnedBy(player))) {
+          units.add(unit.getType(), 1);
+        }
+      }
+      assertEquals(owned, index.getTerritoriesOwnedBy(player));
+      assertEquals(owned.size(), index.getTerritoryCount(player));
+      assertEquals(units.totalValues(), index.getUnitCount(player));
+      for (final UnitType type : m_data.getUnitTypeList()) {
+        assertEquals(units.getInt(type), index.getUnitCount(player, type));
+      }
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package games.strategy.engine.data;
+
+import games.strategy.triplea.attachments.TerritoryAttachment;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.xml.LoadGameUtil;
+
+/**
+ * Times creating, performing and inverting unit and attachment property changes, which is what the battle code and
+ * the odds calculator do all the time. Each of these gets or sets a property through PropertyUtil.
+ * Not a unit test, run it with: java games.strategy.engine.data.PropertyChangeBenchmark [iterations]
+ */
+public class PropertyChangeBenchmark {
+  public static void main(final String[] args) {
+    final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+    final GameData data = LoadGameUtil.loadTestGame("revised_test.xml");
+    final Unit unit = GameDataTestUtil.armour(data).create(GameDataTestUtil.germans(data));
+    final TerritoryAttachment attachment =
+        TerritoryAttachment.get(data.getMap().getTerritory("Germany"));
+    // warm up, then measure
+    for (int round = 0; round < 2; round++) {
+      final long unitTime = timeUnitChanges(data, unit, iterations);
+      final long attachmentTime = timeAttachmentChanges(data, attachment, iterations);
+      if (round == 1) {
+        System.out.println("unit property change + invert: " + (unitTime / iterations) + " ns");
+        System.out.println("attachment property change + invert: " + (attachmentTime / iterations) + " ns");
+      }
+    }
+  }
+
+  private static long timeUnitChanges(final GameData data, final Unit unit, final int iterations) {
+    final long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      final Change change = ChangeFactory.unitPropertyChange(unit, Boolean.valueOf(i % 2 == 0), "wasInCombat");
+      change.perform(data);
+      change.invert().perform(data);
+    }
+    return System.nanoTime() - start;
+  }
+
+  private static long timeAttachmentChanges(final GameData data, final TerritoryAttachment attachment,
+      final int iterations) {
+    final long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      final Change change = ChangeFactory.attachmentPropertyChange(attachment, String.valueOf(i % 10), "production");
+      change.perform(data);
+      change.invert().perform(data);
+    }
+    return System.nanoTime() - start;
+  }
+}
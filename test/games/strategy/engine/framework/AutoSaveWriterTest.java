@@ -0,0 +1,90 @@
+package games.strategy.engine.framework;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.triplea.xml.LoadGameUtil;
+import junit.framework.TestCase;
+
+public class AutoSaveWriterTest extends TestCase {
+  private File m_dir;
+
+  @Override
+  public void setUp() throws Exception {
+    m_dir = Files.createTempDirectory("autosave").toFile();
+  }
+
+  @Override
+  public void tearDown() {
+    for (final File f : m_dir.listFiles()) {
+      f.delete();
+    }
+    m_dir.delete();
+  }
+
+  public void testWriteReplacesSave() throws Exception {
+    final GameData data = LoadGameUtil.loadTestGame("revised_test.xml");
+    final File save = new File(m_dir, "autosave.tsvg");
+    Files.write(save.toPath(), new byte[] {1, 2, 3});
+    final ByteArrayOutputStream snapshot = new GameDataManager().takeSnapshot(data, false);
+    final AutoSaveWriter writer = new AutoSaveWriter();
+    writer.write(snapshot, writer.getSavedFile(save), 0, 0);
+    assertEquals(save, writer.getLastQueued());
+    writer.shutDown(30000);
+    assertEquals(1, m_dir.listFiles().length);
+    final GameData loaded = new GameDataManager().loadGame(save);
+    assertEquals(data.getGameName(), loaded.getGameName());
+    assertEquals(data.getMap().getTerritories().size(), loaded.getMap().getTerritories().size());
+  }
+
+  public void testAppendToChangedFileFails() throws Exception {
+    final GameData data = LoadGameUtil.loadTestGame("revised_test.xml");
+    final File save = new File(m_dir, "autosave.tsvg");
+    final AutoSaveWriter.SavedFile saved = new AutoSaveWriter().getSavedFile(save);
+    final AutoSaveWriter fullWriter = new AutoSaveWriter();
+    fullWriter.write(new GameDataManager().takeSnapshot(data, false), saved, 0, 0);
+    fullWriter.shutDown(30000);
+    assertTrue(saved.canAppend());
+    // someone else writes to the file
+    Files.write(save.toPath(), new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+    final long length = save.length();
+    final List<LogRecord> records = new ArrayList<LogRecord>();
+    final Handler handler = new Handler() {
+      @Override
+      public void publish(final LogRecord record) {
+        records.add(record);
+      }
+
+      @Override
+      public void flush() {}
+
+      @Override
+      public void close() {}
+    };
+    final Logger logger = Logger.getLogger(AutoSaveWriter.class.getName());
+    logger.addHandler(handler);
+    try {
+      final ByteArrayOutputStream tail = new ByteArrayOutputStream();
+      tail.write(new byte[] {4, 5, 6});
+      final AutoSaveWriter tailWriter = new AutoSaveWriter();
+      tailWriter.append(tail, saved, 10, 0);
+      tailWriter.shutDown(30000);
+    } finally {
+      logger.removeHandler(handler);
+    }
+    assertEquals(length, save.length());
+    assertEquals(1, records.size());
+    assertEquals(Level.SEVERE, records.get(0).getLevel());
+    // so the next autosave is written in full
+    assertFalse(saved.canAppend());
+  }
+}
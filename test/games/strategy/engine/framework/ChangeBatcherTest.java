@@ -0,0 +1,115 @@
+package games.strategy.engine.framework;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.CompositeChange;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import junit.framework.TestCase;
+
+public class ChangeBatcherTest extends TestCase {
+  private final List<Object> m_sent = new ArrayList<Object>();
+  private final List<Change> m_performed = new ArrayList<Change>();
+  private ChangeBatcher m_batcher;
+
+  @Override
+  public void setUp() {
+    final IGameModifiedChannel channel = new IGameModifiedChannel() {
+      @Override
+      public void gameDataChanged(final Change aChange) {
+        assertTrue(m_batcher.isBeingSent(aChange));
+        m_sent.add(aChange);
+      }
+
+      @Override
+      public void startHistoryEvent(final String event, final Object renderingData) {
+        m_sent.add(event);
+      }
+
+      @Override
+      public void startHistoryEvent(final String event) {
+        m_sent.add(event);
+      }
+
+      @Override
+      public void addChildToEvent(final String text, final Object renderingData) {
+        m_sent.add(text);
+      }
+
+      @Override
+      public void stepChanged(final String stepName, final String delegateName, final PlayerID player,
+          final int round, final String displayName, final boolean loadedFromSavedGame) {
+        m_sent.add(stepName);
+      }
+
+      @Override
+      public void shutDown() {}
+    };
+    m_batcher = new ChangeBatcher(channel, m_performed::add);
+  }
+
+  public void testChangesArePerformedAtOnceAndSentTogether() {
+    final Change first = new TestChange();
+    final Change second = new TestChange();
+    m_batcher.gameDataChanged(first);
+    m_batcher.gameDataChanged(second);
+    assertEquals(2, m_performed.size());
+    assertTrue(m_sent.isEmpty());
+    m_batcher.flush();
+    assertEquals(1, m_sent.size());
+    final CompositeChange sent = (CompositeChange) m_sent.get(0);
+    assertEquals(2, sent.getChanges().size());
+    assertSame(first, sent.getChanges().get(0));
+    assertSame(second, sent.getChanges().get(1));
+    assertFalse(m_batcher.isBeingSent(sent));
+    // nothing left to send
+    m_batcher.flush();
+    assertEquals(1, m_sent.size());
+  }
+
+  public void testSingleChangeIsSentAsItIs() {
+    final Change change = new TestChange();
+    m_batcher.gameDataChanged(change);
+    m_batcher.flush();
+    assertEquals(1, m_sent.size());
+    assertSame(change, m_sent.get(0));
+  }
+
+  public void testHistoryStaysInOrder() {
+    final Change first = new TestChange();
+    final Change second = new TestChange();
+    m_batcher.gameDataChanged(first);
+    m_batcher.startHistoryEvent("event");
+    m_batcher.gameDataChanged(second);
+    m_batcher.addChildToEvent("child", null);
+    m_batcher.stepChanged("step", "delegate", null, 1, "display", false);
+    assertEquals(5, m_sent.size());
+    assertSame(first, m_sent.get(0));
+    assertEquals("event", m_sent.get(1));
+    assertSame(second, m_sent.get(2));
+    assertEquals("child", m_sent.get(3));
+    assertEquals("step", m_sent.get(4));
+  }
+
+  public void testLargeBatchIsSentWithoutFlush() {
+    for (int i = 0; i < ChangeBatcher.MAX_BATCH_SIZE; i++) {
+      m_batcher.gameDataChanged(new TestChange());
+    }
+    assertEquals(1, m_sent.size());
+    assertEquals(ChangeBatcher.MAX_BATCH_SIZE, ((CompositeChange) m_sent.get(0)).getChanges().size());
+  }
+
+  private static class TestChange extends Change {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected void perform(final GameData data) {}
+
+    @Override
+    public Change invert() {
+      return this;
+    }
+  }
+}
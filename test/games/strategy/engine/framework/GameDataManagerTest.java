@@ -7,9 +7,12 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.concurrent.atomic.AtomicReference;
 
+import games.strategy.engine.data.ChangeFactory;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.GameParser;
 import games.strategy.engine.data.SerializationTest;
+import games.strategy.engine.data.Territory;
+import games.strategy.triplea.xml.LoadGameUtil;
 import junit.framework.TestCase;
 
 /**
@@ -48,4 +51,30 @@ public class GameDataManagerTest extends TestCase {
     final GameData loaded = m.loadGame(new ByteArrayInputStream(sink.toByteArray()), null);
     assertEquals(loaded.getProperties().get(GameData.GAME_UUID), data.getProperties().get(GameData.GAME_UUID));
   }
+
+  public void testCopiesAreIndependent() throws IOException {
+    final GameData data = LoadGameUtil.loadTestGame("revised_test.xml");
+    final GameDataCopier copier = new GameDataCopier(data, false);
+    final GameData first = copier.copy();
+    final GameData second = copier.copy();
+    assertNotSame(first, second);
+    assertEquals(data.getProperties().get(GameData.GAME_UUID), first.getProperties().get(GameData.GAME_UUID));
+    final Territory germany = first.getMap().getTerritory("Germany");
+    assertEquals(data.getMap().getTerritory("Germany").getUnits().size(), germany.getUnits().size());
+    assertSame(first, germany.getData());
+    first.performChange(ChangeFactory.removeUnits(germany, germany.getUnits().getUnits()));
+    assertEquals(0, germany.getUnits().size());
+    assertFalse(second.getMap().getTerritory("Germany").getUnits().isEmpty());
+    assertFalse(data.getMap().getTerritory("Germany").getUnits().isEmpty());
+  }
+
+  public void testCopyWithoutHistory() throws IOException {
+    final GameData data = LoadGameUtil.loadTestGame("revised_test.xml");
+    data.getHistory().getHistoryWriter().startNextRound(1);
+    final GameData withHistory = new GameDataCopier(data, false, true).copy();
+    final GameData withoutHistory = new GameDataCopier(data, false, false).copy();
+    assertEquals(1, withHistory.getHistory().getChildCount(withHistory.getHistory().getRoot()));
+    assertEquals(0, withoutHistory.getHistory().getChildCount(withoutHistory.getHistory().getRoot()));
+    assertEquals(data.getMap().getTerritories().size(), withoutHistory.getMap().getTerritories().size());
+  }
 }
@@ -0,0 +1,155 @@
+package games.strategy.engine.framework;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.ChangeFactory;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.history.EventChild;
+import games.strategy.engine.history.HistoryWriter;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.xml.LoadGameUtil;
+import junit.framework.TestCase;
+
+public class SaveGameLogTest extends TestCase {
+  private File m_dir;
+  private File m_save;
+  private GameData m_data;
+  private final SaveGameLog m_log = new SaveGameLog();
+  private final AutoSaveWriter m_writer = new AutoSaveWriter();
+
+  @Override
+  public void setUp() throws Exception {
+    m_dir = Files.createTempDirectory("autosave").toFile();
+    m_save = new File(m_dir, "autosave.tsvg");
+    m_data = LoadGameUtil.loadTestGame("revised_test.xml");
+    final HistoryWriter historyWriter = m_data.getHistory().getHistoryWriter();
+    historyWriter.startNextRound(1);
+    historyWriter.startNextStep("germanPurchase", "purchase", GameDataTestUtil.germans(m_data), "Germans Purchase");
+  }
+
+  @Override
+  public void tearDown() {
+    m_writer.shutDown(30000);
+    for (final File f : m_dir.listFiles()) {
+      f.delete();
+    }
+    m_dir.delete();
+  }
+
+  public void testTailsAreReplayed() throws Exception {
+    final AutoSaveWriter.SavedFile saved = m_writer.getSavedFile(m_save);
+    assertFalse(saved.canAppend());
+    final ByteArrayOutputStream snapshot = new GameDataManager().takeSnapshot(m_data, true);
+    m_writer.write(snapshot, saved, m_log.size(), 0);
+    assertTrue(saved.canAppend());
+    addInfantry("Germany");
+    assertTrue(appendTail(saved) < snapshot.size() / 10);
+    addInfantry("Western Europe");
+    m_data.getSequence().next();
+    m_log.sequenceAdvanced();
+    appendTail(saved);
+    m_writer.shutDown(30000);
+    final GameData loaded = new GameDataManager().loadGame(m_save);
+    assertSameUnits("Germany", loaded);
+    assertSameUnits("Western Europe", loaded);
+    assertEquals(m_data.getSequence().getStepIndex(), loaded.getSequence().getStepIndex());
+    assertEquals(m_data.getHistory().getLastNode().getTitle(), loaded.getHistory().getLastNode().getTitle());
+  }
+
+  public void testTailCutShortIsIgnored() throws Exception {
+    final AutoSaveWriter.SavedFile saved = m_writer.getSavedFile(m_save);
+    m_writer.write(new GameDataManager().takeSnapshot(m_data, true), saved, m_log.size(), 0);
+    addInfantry("Germany");
+    appendTail(saved);
+    m_writer.shutDown(30000);
+    final int germanyUnits = m_data.getMap().getTerritory("Germany").getUnits().size();
+    final long length = m_save.length();
+    addInfantry("Germany");
+    final ByteArrayOutputStream zipped = new ByteArrayOutputStream();
+    try (final GZIPOutputStream out = new GZIPOutputStream(zipped)) {
+      m_log.writeTail(0, m_data).writeTo(out);
+    }
+    // append half of the next tail, as if the game stopped while writing it
+    final byte[] tail = zipped.toByteArray();
+    try (final RandomAccessFile file = new RandomAccessFile(m_save, "rw")) {
+      file.seek(length);
+      file.write(tail, 0, tail.length / 2);
+    }
+    final GameData loaded = new GameDataManager().loadGame(m_save);
+    assertEquals(germanyUnits, loaded.getMap().getTerritory("Germany").getUnits().size());
+  }
+
+  public void testMoreSavesThanQueuedAreWrittenInOrder() throws Exception {
+    final AutoSaveWriter.SavedFile saved = m_writer.getSavedFile(m_save);
+    m_writer.write(new GameDataManager().takeSnapshot(m_data, true), saved, m_log.size(), 0);
+    for (int i = 0; i < 10; i++) {
+      addInfantry(i % 2 == 0 ? "Germany" : "Western Europe");
+      appendTail(saved);
+    }
+    m_writer.shutDown(30000);
+    assertTrue(saved.canAppend());
+    final GameData loaded = new GameDataManager().loadGame(m_save);
+    assertSameUnits("Germany", loaded);
+    assertSameUnits("Western Europe", loaded);
+  }
+
+  public void testFullSaveAfterFailedTail() throws Exception {
+    final AutoSaveWriter.SavedFile saved = m_writer.getSavedFile(m_save);
+    m_writer.write(new GameDataManager().takeSnapshot(m_data, true), saved, m_log.size(), 0);
+    m_writer.shutDown(30000);
+    // someone else writes to the file, so the next tails can not be appended
+    Files.write(m_save.toPath(), new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+    final AutoSaveWriter writer = new AutoSaveWriter();
+    addInfantry("Germany");
+    writer.append(m_log.writeTail(saved.getLogSize(), m_data), saved, m_log.size(), 0);
+    addInfantry("Western Europe");
+    writer.append(m_log.writeTail(saved.getLogSize(), m_data), saved, m_log.size(), 0);
+    writer.shutDown(30000);
+    assertFalse(saved.canAppend());
+    // the full save brings the file up to date again, and tails can follow it
+    final AutoSaveWriter fullWriter = new AutoSaveWriter();
+    fullWriter.write(new GameDataManager().takeSnapshot(m_data, true), saved, m_log.size(), 0);
+    fullWriter.shutDown(30000);
+    assertTrue(saved.canAppend());
+    final GameData loaded = new GameDataManager().loadGame(m_save);
+    assertSameUnits("Germany", loaded);
+    assertSameUnits("Western Europe", loaded);
+  }
+
+  private int appendTail(final AutoSaveWriter.SavedFile saved) throws Exception {
+    final long logSize = m_log.size();
+    final ByteArrayOutputStream tail = m_log.writeTail(saved.getLogSize(), m_data);
+    m_writer.append(tail, saved, logSize, 0);
+    return tail.size();
+  }
+
+  private void addInfantry(final String territoryName) {
+    final HistoryWriter historyWriter = m_data.getHistory().getHistoryWriter();
+    final String event = "Germans place infantry in " + territoryName;
+    historyWriter.startEvent(event);
+    m_log.eventStarted(event);
+    final Territory territory = m_data.getMap().getTerritory(territoryName);
+    final Change change = ChangeFactory.addUnits(territory,
+        GameDataTestUtil.infantry(m_data).create(2, GameDataTestUtil.germans(m_data)));
+    m_data.performChange(change);
+    historyWriter.addChange(change);
+    m_log.changePerformed(change);
+    historyWriter.addChildToEvent(new EventChild("2 infantry", null));
+    m_log.childAddedToEvent("2 infantry", null);
+  }
+
+  private void assertSameUnits(final String territoryName, final GameData loaded) {
+    final Territory territory = m_data.getMap().getTerritory(territoryName);
+    final Territory loadedTerritory = loaded.getMap().getTerritory(territoryName);
+    assertEquals(territory.getUnits().size(), loadedTerritory.getUnits().size());
+    assertEquals(territory.getUnits().getUnitCount(GameDataTestUtil.germans(m_data)),
+        loadedTerritory.getUnits().getUnitCount(GameDataTestUtil.germans(loaded)));
+  }
+}
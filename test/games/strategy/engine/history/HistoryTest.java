@@ -0,0 +1,98 @@
+package games.strategy.engine.history;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.ChangeFactory;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.xml.LoadGameUtil;
+import junit.framework.TestCase;
+
+public class HistoryTest extends TestCase {
+  private static final int ROUNDS = 4;
+  private GameData m_data;
+  private PlayerID m_germans;
+  private Territory m_germany;
+  private Territory m_westernEurope;
+  private Resource m_pus;
+  private List<Unit> m_infantry;
+
+  @Override
+  public void setUp() throws Exception {
+    m_data = LoadGameUtil.loadTestGame("revised_test.xml");
+    m_germans = GameDataTestUtil.germans(m_data);
+    m_germany = m_data.getMap().getTerritory("Germany");
+    m_westernEurope = m_data.getMap().getTerritory("Western Europe");
+    m_pus = m_data.getResourceList().getResource(Constants.PUS);
+    m_infantry = new ArrayList<Unit>(m_germany.getUnits().getUnits(GameDataTestUtil.infantry(m_data), 2));
+  }
+
+  public void testGotoNodeAcrossRounds() {
+    final History history = m_data.getHistory();
+    final HistoryWriter writer = history.getHistoryWriter();
+    final List<HistoryNode> events = new ArrayList<HistoryNode>();
+    final List<String> states = new ArrayList<String>();
+    for (int round = 1; round <= ROUNDS; round++) {
+      writer.startNextRound(round);
+      writer.startNextStep("germanCombatMove", "move", m_germans, "Germans Combat Move");
+      writer.startEvent("Germans move infantry in round " + round);
+      events.add(history.getLastNode());
+      // each round leaves the infantry somewhere else, with some movement used
+      final int moves = 301 + round;
+      for (int i = 0; i < moves; i++) {
+        final boolean forth = m_germany.getUnits().containsAll(m_infantry);
+        perform(ChangeFactory.moveUnits(forth ? m_germany : m_westernEurope, forth ? m_westernEurope : m_germany,
+            m_infantry));
+        perform(ChangeFactory.unitPropertyChange(m_infantry.get(0), i % 2, TripleAUnit.ALREADY_MOVED));
+        perform(ChangeFactory.changeResourcesChange(m_germans, m_pus, i % 3 - 1));
+      }
+      states.add(getState());
+    }
+    // close the last event
+    writer.startNextRound(ROUNDS + 1);
+    history.gotoNode(events.get(0));
+    assertEquals(states.get(0), getState());
+    history.gotoNode(events.get(2));
+    assertEquals(states.get(2), getState());
+    history.gotoNode(events.get(1));
+    assertEquals(states.get(1), getState());
+    history.gotoNode(history.getLastNode());
+    assertEquals(states.get(ROUNDS - 1), getState());
+  }
+
+  public void testCompactedChangeInverts() {
+    final String before = getState();
+    final List<Change> changes = new ArrayList<Change>();
+    for (int i = 0; i < 3; i++) {
+      final boolean forth = i % 2 == 0;
+      changes.add(ChangeFactory.moveUnits(forth ? m_germany : m_westernEurope, forth ? m_westernEurope : m_germany,
+          m_infantry));
+      changes.add(ChangeFactory.changeResourcesChange(m_germans, m_pus, 2));
+    }
+    final Change compacted = ChangeFactory.compact(changes);
+    m_data.performChange(compacted);
+    assertTrue(m_westernEurope.getUnits().containsAll(m_infantry));
+    assertFalse(m_germany.getUnits().containsAll(m_infantry));
+    m_data.performChange(compacted.invert());
+    assertEquals(before, getState());
+  }
+
+  private void perform(final Change change) {
+    m_data.performChange(change);
+    m_data.getHistory().getHistoryWriter().addChange(change);
+  }
+
+  private String getState() {
+    return m_germany.getUnits().getUnitCount() + " " + m_westernEurope.getUnits().getUnitCount() + " "
+        + m_germany.getUnits().containsAll(m_infantry) + " " + TripleAUnit.get(m_infantry.get(0)).getAlreadyMoved()
+        + " " + m_germans.getResources().getQuantity(m_pus);
+  }
+}
@@ -0,0 +1,59 @@
+package games.strategy.engine.lobby.server.userDB;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import games.strategy.util.Util;
+import junit.framework.TestCase;
+
+public class DatabaseTest extends TestCase {
+  public void testConnectionIsReused() throws SQLException {
+    final Connection first = Database.getConnection();
+    final Connection real = first.getMetaData().getConnection();
+    first.close();
+    assertTrue(first.isClosed());
+    try {
+      first.createStatement();
+      fail("closed connection was used");
+    } catch (final SQLException expected) {
+      // expected
+    }
+    try (final Connection second = Database.getConnection()) {
+      assertSame(real, second.getMetaData().getConnection());
+      assertFalse(second.isClosed());
+    }
+  }
+
+  public void testStatementIsReused() throws SQLException {
+    try (final Connection con = Database.getConnection()) {
+      final PreparedStatement first = con.prepareStatement("select word from bad_words where word = ?");
+      first.setString(1, "a");
+      first.executeQuery().close();
+      first.close();
+      final PreparedStatement second = con.prepareStatement("select word from bad_words where word = ?");
+      assertSame(first.unwrap(PreparedStatement.class), second.unwrap(PreparedStatement.class));
+      second.setString(1, "b");
+      second.executeQuery().close();
+      second.close();
+    }
+  }
+
+  public void testInvalidateCaches() throws SQLException {
+    final BadWordController controller = new BadWordController();
+    final String word = Util.createUniqueTimeStamp();
+    assertFalse(controller.list().contains(word));
+    try (final Connection con = Database.getConnection()) {
+      final PreparedStatement ps = con.prepareStatement("insert into bad_words (word) values (?)");
+      ps.setString(1, word);
+      ps.execute();
+      ps.close();
+    }
+    // changed behind the controller's back
+    assertFalse(controller.list().contains(word));
+    Database.invalidateCaches();
+    assertTrue(controller.list().contains(word));
+    controller.removeBannedWord(word);
+    assertFalse(controller.list().contains(word));
+  }
+}
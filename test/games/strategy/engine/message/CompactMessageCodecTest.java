@@ -0,0 +1,78 @@
+package games.strategy.engine.message;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.util.Arrays;
+import java.util.Collection;
+
+import games.strategy.net.GUID;
+import games.strategy.net.Node;
+import junit.framework.TestCase;
+
+public class CompactMessageCodecTest extends TestCase {
+  private final Node m_node = new Node("node", InetAddress.getLoopbackAddress(), 3300);
+
+  public void testInvoke() throws Exception {
+    final RemoteMethodCall call = new RemoteMethodCall("remote", "add", new Object[] {"text"},
+        new Class<?>[] {Object.class}, Collection.class);
+    final SpokeInvoke invoke = new SpokeInvoke(new GUID(), true, call, m_node);
+    final SpokeInvoke read = new SpokeInvoke();
+    writeAndRead(invoke, read);
+    assertEquals(invoke.methodCallID, read.methodCallID);
+    assertTrue(read.needReturnValues);
+    assertEquals(m_node, read.getInvoker());
+    read.call.resolve(Collection.class);
+    assertEquals("remote", read.call.getRemoteName());
+    assertEquals("add", read.call.getMethodName());
+    assertTrue(Arrays.equals(new Object[] {"text"}, read.call.getArgs()));
+    final HubInvoke noReturnValues = new HubInvoke(null, false, call);
+    final HubInvoke readNoReturnValues = new HubInvoke();
+    writeAndRead(noReturnValues, readNoReturnValues);
+    assertNull(readNoReturnValues.methodCallID);
+    assertFalse(readNoReturnValues.needReturnValues);
+  }
+
+  public void testValues() throws Exception {
+    final Object[] values = {"text", 5, Boolean.TRUE, Boolean.FALSE, 7L, new GUID(), m_node, null,
+        Arrays.asList("a", "b"), new String(new char[30000])};
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    final ObjectOutputStream out = new ObjectOutputStream(sink);
+    for (final Object value : values) {
+      CompactMessageCodec.writeValue(value, out);
+    }
+    out.close();
+    final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(sink.toByteArray()));
+    for (final Object value : values) {
+      assertEquals(value, CompactMessageCodec.readValue(in));
+    }
+  }
+
+  public void testResultsAreSmaller() throws Exception {
+    final HubInvocationResults results = new HubInvocationResults(new RemoteMethodCallResults(42), new GUID());
+    final HubInvocationResults read = new HubInvocationResults();
+    final int compactSize = writeAndRead(results, read);
+    assertEquals(42, read.results.getRVal());
+    assertEquals(results.methodCallID, read.methodCallID);
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    final ObjectOutputStream out = new ObjectOutputStream(sink);
+    results.writeExternal(out);
+    out.close();
+    assertTrue(compactSize + " < " + sink.size(), compactSize < sink.size());
+  }
+
+  private static int writeAndRead(final Object message, final Externalizable into)
+      throws IOException, ClassNotFoundException {
+    assertTrue(CompactMessageCodec.canWrite(message));
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    final ObjectOutputStream out = new ObjectOutputStream(sink);
+    CompactMessageCodec.write(message, out);
+    out.close();
+    CompactMessageCodec.read(into, new ObjectInputStream(new ByteArrayInputStream(sink.toByteArray())));
+    return sink.size();
+  }
+}
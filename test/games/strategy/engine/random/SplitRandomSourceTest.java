@@ -0,0 +1,43 @@
+package games.strategy.engine.random;
+
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+public class SplitRandomSourceTest extends TestCase {
+  public SplitRandomSourceTest(final String name) {
+    super(name);
+  }
+
+  public void testSameSeedSameNumbers() {
+    final SplitRandomSource first = new SplitRandomSource(42);
+    final SplitRandomSource second = new SplitRandomSource(42);
+    assertTrue(Arrays.equals(first.getRandom(6, 100, null), second.getRandom(6, 100, null)));
+    // the split streams are reproducible too
+    assertTrue(Arrays.equals(first.split().getRandom(6, 100, null), second.split().getRandom(6, 100, null)));
+  }
+
+  public void testSplitStreamsDiffer() {
+    final SplitRandomSource root = new SplitRandomSource(42);
+    final int[] first = root.split().getRandom(1000, 50, null);
+    final int[] second = root.split().getRandom(1000, 50, null);
+    assertFalse(Arrays.equals(first, second));
+  }
+
+  public void testRange() {
+    final SplitRandomSource source = new SplitRandomSource();
+    final int[] counts = new int[6];
+    for (final int number : source.getRandom(6, 6000, null)) {
+      assertTrue(number >= 0 && number < 6);
+      counts[number]++;
+    }
+    for (final int count : counts) {
+      assertTrue(count > 0);
+    }
+    try {
+      source.getRandom(6, 0, null);
+      fail("count must be > 0");
+    } catch (final IllegalArgumentException expected) {
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package games.strategy.net.nio;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+public class SocketWriteDataTest extends TestCase {
+  private ServerSocketChannel m_server;
+  private SocketChannel m_writeChannel;
+  private SocketChannel m_readChannel;
+
+  @Override
+  public void setUp() throws Exception {
+    m_server = ServerSocketChannel.open();
+    m_server.socket().bind(new InetSocketAddress("127.0.0.1", 0));
+    m_writeChannel = SocketChannel.open(m_server.socket().getLocalSocketAddress());
+    m_readChannel = m_server.accept();
+  }
+
+  @Override
+  public void tearDown() throws Exception {
+    m_writeChannel.close();
+    m_readChannel.close();
+    m_server.close();
+  }
+
+  public void testCopiesShareData() throws Exception {
+    final byte[] bytes = {1, 2, 3, 4, 5};
+    final SocketWriteData data = new SocketWriteData(bytes, bytes.length);
+    final SocketWriteData copy = data.copy();
+    assertTrue(data.write(m_writeChannel));
+    // a copy made after the original was written still writes everything
+    final SocketWriteData lateCopy = data.copy();
+    assertTrue(copy.write(m_writeChannel));
+    assertTrue(lateCopy.write(m_writeChannel));
+    for (int i = 0; i < 3; i++) {
+      final SocketReadData read = new SocketReadData(m_readChannel);
+      while (!read.read(m_readChannel)) {
+        Thread.sleep(1);
+      }
+      assertTrue(Arrays.equals(bytes, read.getData()));
+    }
+  }
+
+  public void testPooledBufferIsReused() throws Exception {
+    final BufferPool pool = new BufferPool();
+    final ConnectionStatistics statistics = new ConnectionStatistics();
+    final byte[] bytes = new byte[2000];
+    Arrays.fill(bytes, (byte) 7);
+    final SocketWriteData data = new SocketWriteData(bytes, bytes.length, pool, statistics);
+    assertEquals(1, statistics.getBuffersAllocated());
+    final SocketWriteData copy = data.copy();
+    data.release();
+    // the copy still holds the buffer
+    assertTrue(copy.write(m_writeChannel));
+    copy.release();
+    final SocketReadData read = new SocketReadData(m_readChannel, pool, statistics);
+    while (!read.read(m_readChannel, ByteBuffer.allocate(4))) {
+      Thread.sleep(1);
+    }
+    // read into the buffer the packet was written from
+    assertEquals(1, pool.getAllocated());
+    assertEquals(1, pool.getReused());
+    final byte[] readBytes = new byte[bytes.length];
+    read.getContent().get(readBytes);
+    read.release();
+    assertTrue(Arrays.equals(bytes, readBytes));
+  }
+}
@@ -0,0 +1,35 @@
+package games.strategy.triplea.ai.proAI;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.xml.LoadGameUtil;
+import junit.framework.TestCase;
+
+public class ProDataTest extends TestCase {
+
+  public void testInstancesAreIndependent() throws Exception {
+    final GameData germanData = LoadGameUtil.loadTestGame("revised_test.xml");
+    final GameData britishData = LoadGameUtil.loadTestGame("revised_test.xml");
+    final PlayerID germans = GameDataTestUtil.germans(germanData);
+    final PlayerID british = GameDataTestUtil.british(britishData);
+    final ProData germanProData = new ProData();
+    final ProData britishProData = new ProData();
+    germanProData.initializeSimulation(null, germanData, germans);
+    britishProData.initializeSimulation(null, britishData, british);
+
+    assertSame(germanData, germanProData.getData());
+    assertSame(germans, germanProData.getPlayer());
+    assertEquals(germanData.getMap().getTerritory("Germany"), germanProData.getMyCapital());
+    assertSame(britishData, britishProData.getData());
+    assertSame(british, britishProData.getPlayer());
+    assertEquals(britishData.getMap().getTerritory("United Kingdom"), britishProData.getMyCapital());
+    for (final Unit u : germanProData.getUnitTerritoryMap().keySet()) {
+      assertSame(germanData, u.getData());
+    }
+    for (final Unit u : britishProData.getUnitTerritoryMap().keySet()) {
+      assertSame(britishData, u.getData());
+    }
+  }
+}
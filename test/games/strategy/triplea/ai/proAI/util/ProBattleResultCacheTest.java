@@ -0,0 +1,66 @@
+package games.strategy.triplea.ai.proAI.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Territory;
+import games.strategy.engine.data.Unit;
+import games.strategy.triplea.TripleAUnit;
+import games.strategy.triplea.ai.proAI.data.ProBattleResult;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.xml.LoadGameUtil;
+import junit.framework.TestCase;
+
+public class ProBattleResultCacheTest extends TestCase {
+  private GameData m_data;
+
+  @Override
+  protected void setUp() throws Exception {
+    m_data = LoadGameUtil.loadTestGame("revised_test.xml");
+  }
+
+  public void testSameUnitTypesShareResult() {
+    final Territory uk = m_data.getMap().getTerritory("United Kingdom");
+    final PlayerID germans = GameDataTestUtil.germans(m_data);
+    final PlayerID british = GameDataTestUtil.british(m_data);
+    final List<Unit> attackers = GameDataTestUtil.armour(m_data).create(2, germans);
+    attackers.addAll(GameDataTestUtil.infantry(m_data).create(1, germans));
+    final List<Unit> defenders = GameDataTestUtil.infantry(m_data).create(3, british);
+    final List<Unit> otherAttackers = GameDataTestUtil.infantry(m_data).create(1, germans);
+    otherAttackers.addAll(GameDataTestUtil.armour(m_data).create(2, germans));
+    final List<Unit> otherDefenders = GameDataTestUtil.infantry(m_data).create(3, british);
+    final String key = ProBattleResultCache.getKey(germans, british, uk, attackers, defenders, new ArrayList<>(), false);
+    assertEquals(key,
+        ProBattleResultCache.getKey(germans, british, uk, otherAttackers, otherDefenders, new ArrayList<>(), false));
+    assertFalse(key.equals(
+        ProBattleResultCache.getKey(germans, british, uk, otherAttackers, otherDefenders, new ArrayList<>(), true)));
+    final ProBattleResultCache cache = new ProBattleResultCache();
+    assertNull(cache.get(key, attackers, defenders));
+    final List<Unit> attackersRemaining = new ArrayList<>(attackers.subList(0, 2));
+    cache.put(key, new ProBattleResult(75, 5, true, attackersRemaining, new ArrayList<>(), 2));
+    final ProBattleResult cached = cache.get(key, otherAttackers, otherDefenders);
+    assertEquals(75.0, cached.getWinPercentage());
+    assertEquals(2, cached.getAverageAttackersRemaining().size());
+    assertTrue(otherAttackers.containsAll(cached.getAverageAttackersRemaining()));
+    assertTrue(cached.getAverageDefendersRemaining().isEmpty());
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+
+  public void testAmphibiousAttackIsNotSameAsNormalAttack() {
+    final Territory uk = m_data.getMap().getTerritory("United Kingdom");
+    final PlayerID germans = GameDataTestUtil.germans(m_data);
+    final PlayerID british = GameDataTestUtil.british(m_data);
+    final List<Unit> attackers = GameDataTestUtil.infantry(m_data).create(2, germans);
+    final List<Unit> amphibiousAttackers = GameDataTestUtil.infantry(m_data).create(2, germans);
+    for (final Unit u : amphibiousAttackers) {
+      ((TripleAUnit) u).setWasAmphibious(true);
+    }
+    final List<Unit> defenders = GameDataTestUtil.infantry(m_data).create(3, british);
+    assertFalse(ProBattleResultCache.getKey(germans, british, uk, attackers, defenders, new ArrayList<>(), false)
+        .equals(ProBattleResultCache.getKey(germans, british, uk, amphibiousAttackers, defenders, new ArrayList<>(),
+            false)));
+  }
+}
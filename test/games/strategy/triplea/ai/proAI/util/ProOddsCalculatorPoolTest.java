@@ -0,0 +1,66 @@
+package games.strategy.triplea.ai.proAI.util;
+
+import games.strategy.engine.data.GameData;
+import games.strategy.triplea.oddsCalculator.ta.IOddsCalculator;
+import games.strategy.triplea.oddsCalculator.ta.OddsCalculator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+public class ProOddsCalculatorPoolTest extends TestCase {
+
+  private final List<GameData> dataSet = new ArrayList<>();
+
+  private ProOddsCalculatorPool createPool(final int maxCalculators) {
+    return new ProOddsCalculatorPool(maxCalculators) {
+      @Override
+      protected IOddsCalculator createCalculator() {
+        return new OddsCalculator(null) {
+          @Override
+          public void setGameData(final GameData data) {
+            dataSet.add(data);
+          }
+        };
+      }
+    };
+  }
+
+  public void testCalculatorIsOnlySetWhenDataChanges() {
+    final ProOddsCalculatorPool pool = createPool(2);
+    final Object key = new Object();
+    final IOddsCalculator calc = pool.take(key, null);
+    pool.give(calc);
+    assertSame(calc, pool.take(key, null));
+    assertEquals(1, dataSet.size());
+    pool.give(calc);
+    assertSame(calc, pool.take(new Object(), null));
+    assertEquals(2, dataSet.size());
+    assertEquals(1, pool.getCreatedCount());
+  }
+
+  public void testCalculatorsAreOnlyCreatedForConcurrentUse() throws Exception {
+    final ProOddsCalculatorPool pool = createPool(2);
+    final IOddsCalculator first = pool.take(new Object(), null);
+    final IOddsCalculator second = pool.take(new Object(), null);
+    assertNotSame(first, second);
+    assertEquals(2, pool.getCreatedCount());
+    final AtomicReference<IOddsCalculator> third = new AtomicReference<>();
+    final Thread taker = new Thread() {
+      @Override
+      public void run() {
+        third.set(pool.take(new Object(), null));
+      }
+    };
+    taker.start();
+    taker.join(200);
+    // over the maximum, so it waits for a calculator to be given back
+    assertTrue(taker.isAlive());
+    pool.give(second);
+    taker.join();
+    assertSame(second, third.get());
+    assertEquals(2, pool.getCreatedCount());
+  }
+}
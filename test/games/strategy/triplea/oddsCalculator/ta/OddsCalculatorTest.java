@@ -9,14 +9,19 @@ import static games.strategy.triplea.delegate.GameDataTestUtil.transport;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import games.strategy.engine.data.ChangeFactory;
 import games.strategy.engine.data.GameData;
 import games.strategy.engine.data.PlayerID;
 import games.strategy.engine.data.Territory;
 import games.strategy.engine.data.Unit;
+import games.strategy.engine.framework.GameDataUtils;
+import games.strategy.engine.random.SplitRandomSource;
 import games.strategy.triplea.delegate.GameDataTestUtil;
 import games.strategy.triplea.delegate.TerritoryEffectHelper;
 import games.strategy.triplea.xml.LoadGameUtil;
+import games.strategy.util.IntegerMap;
 import junit.framework.TestCase;
 
 public class OddsCalculatorTest extends TestCase {
@@ -124,6 +129,106 @@ public class OddsCalculatorTest extends TestCase {
   }
 
 
+  public void testMergedResults() {
+    final Territory germany = m_data.getMap().getTerritory("Germany");
+    final List<Unit> defendingUnits = new ArrayList<Unit>(germany.getUnits().getUnits());
+    final PlayerID russians = GameDataTestUtil.russians(m_data);
+    final PlayerID germans = GameDataTestUtil.germans(m_data);
+    final List<Unit> attackingUnits = GameDataTestUtil.infantry(m_data).create(10, russians);
+    final List<Unit> bombardingUnits = Collections.emptyList();
+    final OddsCalculator calculator = new OddsCalculator(m_data);
+    final AggregateResults first = calculator.setCalculateDataAndCalculate(russians, germans, germany, attackingUnits,
+        defendingUnits, bombardingUnits, TerritoryEffectHelper.getEffects(germany), 100);
+    final AggregateResults second = calculator.calculate();
+    calculator.shutdown();
+    final AggregateResults merged = new AggregateResults();
+    merged.addResults(first);
+    merged.addResults(second);
+    assertEquals(200, merged.getRollCount());
+    assertEquals(200, merged.getBattleRoundsFoughtHistogram().totalValues());
+    assertEquals((first.getAttackerWinPercent() + second.getAttackerWinPercent()) / 2,
+        merged.getAttackerWinPercent(), 0.0001);
+    assertEquals(1.0, merged.getAttackerWinPercent() + merged.getDefenderWinPercent() + merged.getDrawPercent(),
+        0.0001);
+    assertEquals((first.getAverageDefendingUnitsLeft() + second.getAverageDefendingUnitsLeft()) / 2,
+        merged.getAverageDefendingUnitsLeft(), 0.0001);
+    assertNotNull(merged.GetBattleResultsClosestToAverage());
+  }
+
+  public void testFastSimulationMatchesBattle() {
+    final Territory uk = m_data.getMap().getTerritory("United Kingdom");
+    final PlayerID germans = GameDataTestUtil.germans(m_data);
+    final PlayerID british = GameDataTestUtil.british(m_data);
+    final List<Unit> attackingUnits = GameDataTestUtil.armour(m_data).create(4, germans);
+    final List<Unit> defendingUnits = GameDataTestUtil.infantry(m_data).create(6, british);
+    final List<Unit> bombardingUnits = Collections.emptyList();
+    assertNotNull(FastBattleSimulator.create(m_data, germans, british, uk, attackingUnits, defendingUnits,
+        bombardingUnits, TerritoryEffectHelper.getEffects(uk), false, false, -1, -1, false, false, null, null,
+        new SplitRandomSource()));
+    final OddsCalculator calculator = new OddsCalculator(m_data);
+    final AggregateResults fast = calculator.setCalculateDataAndCalculate(germans, british, uk, attackingUnits,
+        defendingUnits, bombardingUnits, TerritoryEffectHelper.getEffects(uk), 2000);
+    // an order of losses that is the same as the default casualties makes the calculator fight a MustFightBattle
+    calculator.setAttackerOrderOfLosses("*^armour");
+    final AggregateResults full = calculator.calculate();
+    calculator.shutdown();
+    assertEquals(full.getAttackerWinPercent(), fast.getAttackerWinPercent(), 0.05);
+    assertEquals(full.getDefenderWinPercent(), fast.getDefenderWinPercent(), 0.05);
+    assertEquals(full.getAverageBattleRoundsFought(), fast.getAverageBattleRoundsFought(), 0.2);
+    assertEquals(full.getAverageAttackingUnitsLeft(), fast.getAverageAttackingUnitsLeft(), 0.2);
+  }
+
+  public void testNoFastSimulationWithSubs() {
+    final Territory sz2 = m_data.getMap().getTerritory("2 Sea Zone");
+    final List<Unit> attacking = submarine(m_data).create(2, germans(m_data));
+    final List<Unit> defending = GameDataTestUtil.destroyer(m_data).create(1, americans(m_data));
+    assertNull(FastBattleSimulator.create(m_data, germans(m_data), americans(m_data), sz2, attacking, defending,
+        Collections.<Unit>emptyList(), TerritoryEffectHelper.getEffects(sz2), false, false, -1, -1, false, false,
+        null, null, new SplitRandomSource()));
+  }
+
+  public void testCalculateUntilConfident() {
+    final Territory uk = m_data.getMap().getTerritory("United Kingdom");
+    final PlayerID germans = GameDataTestUtil.germans(m_data);
+    final PlayerID british = GameDataTestUtil.british(m_data);
+    final OddsCalculator calculator = new OddsCalculator(m_data);
+    // a lopsided battle stops after a few batches
+    calculator.setCalculateData(germans, british, uk, GameDataTestUtil.armour(m_data).create(20, germans),
+        GameDataTestUtil.infantry(m_data).create(1, british), Collections.<Unit>emptyList(),
+        TerritoryEffectHelper.getEffects(uk), 16);
+    final AggregateResults lopsided = calculator.calculateUntilConfident(0.05, 1, 5000, Long.MAX_VALUE);
+    assertTrue(lopsided.getRollCount() < 100);
+    assertEquals(0, lopsided.getRollCount() % 16);
+    assertTrue(lopsided.isWithinMarginOfError(0.05, 1));
+    // a close battle needs many more runs for the same margins
+    calculator.setCalculateData(germans, british, uk, GameDataTestUtil.armour(m_data).create(4, germans),
+        GameDataTestUtil.infantry(m_data).create(6, british), Collections.<Unit>emptyList(),
+        TerritoryEffectHelper.getEffects(uk), 16);
+    final AggregateResults close = calculator.calculateUntilConfident(0.05, 1, 5000, Long.MAX_VALUE);
+    assertTrue(close.getRollCount() > lopsided.getRollCount());
+    assertTrue(close.getAttackerWinPercentMarginOfError() <= 0.05);
+    // and never runs more than the most it is allowed to
+    final AggregateResults capped = calculator.calculateUntilConfident(0.001, 0.001, 64, Long.MAX_VALUE);
+    assertEquals(64, capped.getRollCount());
+    calculator.shutdown();
+  }
+
+  public void testOneSidedBattleStopsAfterFirstBatch() {
+    final Territory uk = m_data.getMap().getTerritory("United Kingdom");
+    final PlayerID germans = GameDataTestUtil.germans(m_data);
+    final PlayerID british = GameDataTestUtil.british(m_data);
+    final ConcurrentOddsCalculator calculator = new ConcurrentOddsCalculator("Test");
+    calculator.setGameData(m_data);
+    calculator.setCalculateData(germans, british, uk, GameDataTestUtil.armour(m_data).create(20, germans),
+        GameDataTestUtil.infantry(m_data).create(1, british), Collections.<Unit>emptyList(),
+        TerritoryEffectHelper.getEffects(uk), 16);
+    // 16 runs are far too few for the win percent margin, but the attacker won every one of them
+    final AggregateResults results = calculator.calculateUntilConfident(0.05, 5, 200, Long.MAX_VALUE);
+    assertEquals(16, results.getRollCount());
+    assertEquals(1.0, results.getAttackerWinPercent());
+    calculator.shutdown();
+  }
+
   public void testAttackingTransports() {
     final Territory sz1 = territory("1 Sea Zone", m_data);
     final List<Unit> attacking = transport(m_data).create(2, americans(m_data));
@@ -151,4 +256,94 @@ public class OddsCalculatorTest extends TestCase {
     assertEquals(results.getAttackerWinPercent(), 1.0);
     assertEquals(results.getDefenderWinPercent(), 0.0);
   }
+
+  public void testLocationIsRestored() {
+    final PlayerID germans = GameDataTestUtil.germans(m_data);
+    final PlayerID russians = GameDataTestUtil.russians(m_data);
+    final Territory germany = territory("Germany", m_data);
+    final Territory eastCanada = territory("Eastern Canada", m_data);
+    final OddsCalculator calculator = new OddsCalculator(m_data);
+    calculator.setCalculateData(russians, germans, germany, GameDataTestUtil.infantry(m_data).create(2, russians),
+        germany.getUnits().getUnits(), new ArrayList<Unit>(), TerritoryEffectHelper.getEffects(germany), 1);
+    final Territory copiedGermany = territory("Germany", calculator.getGameData());
+    assertEquals(germany.getUnits().size() + 2, copiedGermany.getUnits().size());
+    calculator.setCalculateData(germans, GameDataTestUtil.british(m_data), eastCanada,
+        GameDataTestUtil.armour(m_data).create(1, germans), eastCanada.getUnits().getUnits(), new ArrayList<Unit>(),
+        TerritoryEffectHelper.getEffects(eastCanada), 1);
+    assertEquals(germany.getUnits().size(), copiedGermany.getUnits().size());
+    calculator.shutdown();
+  }
+
+  public void testChangesAreSyncedToWorkers() {
+    final PlayerID germans = GameDataTestUtil.germans(m_data);
+    final Territory germany = territory("Germany", m_data);
+    final ConcurrentOddsCalculator calculator = new ConcurrentOddsCalculator("Test");
+    calculator.setGameData(m_data);
+    final List<GameData> copies = new ArrayList<GameData>();
+    for (final OddsCalculator worker : calculator.getWorkers()) {
+      copies.add(worker.getGameData());
+    }
+    final List<Unit> battleships = GameDataTestUtil.battleship(m_data).create(1, germans);
+    m_data.performChange(ChangeFactory.addUnits(germany, GameDataTestUtil.infantry(m_data).create(3, germans)));
+    m_data.performChange(ChangeFactory.addUnits(territory("5 Sea Zone", m_data), battleships));
+    final IntegerMap<Unit> hits = new IntegerMap<Unit>();
+    hits.put(battleships.get(0), 1);
+    m_data.performChange(ChangeFactory.unitsHit(hits));
+    m_data.getSequence().next();
+    calculator.setGameData(m_data);
+    final List<OddsCalculator> workers = calculator.getWorkers();
+    assertEquals(copies.size(), workers.size());
+    for (int i = 0; i < workers.size(); i++) {
+      final GameData copy = workers.get(i).getGameData();
+      // synced, not copied again
+      assertSame(copies.get(i), copy);
+      assertEquals(germany.getUnits().size(), territory("Germany", copy).getUnits().size());
+      assertEquals(1, ((Unit) GameDataUtils.translateIntoOtherGameData(battleships.get(0), copy)).getHits());
+      assertEquals(m_data.getSequence().getStepIndex(), copy.getSequence().getStepIndex());
+    }
+    calculator.shutdown();
+  }
+
+  public void testChangesPerformedWhileCopyingAreNotSyncedTwice() throws Exception {
+    final PlayerID germans = GameDataTestUtil.germans(m_data);
+    final Territory germany = territory("Germany", m_data);
+    final ConcurrentOddsCalculator calculator = new ConcurrentOddsCalculator("Test");
+    for (int i = 0; i < 10; i++) {
+      final AtomicBoolean stop = new AtomicBoolean();
+      final Thread changer = new Thread() {
+        @Override
+        public void run() {
+          while (!stop.get()) {
+            m_data.performChange(ChangeFactory.addUnits(germany, GameDataTestUtil.infantry(m_data).create(1, germans)));
+            try {
+              Thread.sleep(1);
+            } catch (final InterruptedException e) {
+              return;
+            }
+          }
+        }
+      };
+      changer.start();
+      try {
+        // copy the game data while it is being changed, so some changes are performed just before or after the copy
+        calculator.setGameData(null);
+        calculator.setGameData(m_data);
+        calculator.getWorkers();
+      } finally {
+        stop.set(true);
+        changer.join();
+      }
+      final List<GameData> copies = new ArrayList<GameData>();
+      for (final OddsCalculator worker : calculator.getWorkers()) {
+        copies.add(worker.getGameData());
+      }
+      // then sync the changes recorded since, each of them should be performed on the copies once
+      calculator.setGameData(m_data);
+      for (final OddsCalculator worker : calculator.getWorkers()) {
+        assertTrue(copies.contains(worker.getGameData()));
+        assertEquals(germany.getUnits().size(), territory("Germany", worker.getGameData()).getUnits().size());
+      }
+    }
+    calculator.shutdown();
+  }
 }
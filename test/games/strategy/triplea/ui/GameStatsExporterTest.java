@@ -0,0 +1,100 @@
+package games.strategy.triplea.ui;
+
+import java.io.StringWriter;
+import java.text.NumberFormat;
+import java.util.Arrays;
+import java.util.Collections;
+
+import games.strategy.engine.data.Change;
+import games.strategy.engine.data.ChangeFactory;
+import games.strategy.engine.data.GameData;
+import games.strategy.engine.data.PlayerID;
+import games.strategy.engine.data.Resource;
+import games.strategy.engine.history.HistoryWriter;
+import games.strategy.engine.stats.IStat;
+import games.strategy.triplea.Constants;
+import games.strategy.triplea.delegate.GameDataTestUtil;
+import games.strategy.triplea.xml.LoadGameUtil;
+import junit.framework.TestCase;
+
+public class GameStatsExporterTest extends TestCase {
+  private GameData m_data;
+  private PlayerID m_germans;
+  private PlayerID m_russians;
+  private GameStatsExporter m_exporter;
+
+  @Override
+  public void setUp() throws Exception {
+    m_data = LoadGameUtil.loadTestGame("revised_test.xml");
+    m_germans = GameDataTestUtil.germans(m_data);
+    m_russians = GameDataTestUtil.russians(m_data);
+    final Resource pus = m_data.getResourceList().getResource(Constants.PUS);
+    final HistoryWriter writer = m_data.getHistory().getHistoryWriter();
+    for (int round = 1; round <= 2; round++) {
+      writer.startNextRound(round);
+      writer.startNextStep("germanPurchase", "purchase", m_germans, "Germans Purchase");
+      addChange(ChangeFactory.changeResourcesChange(m_germans, pus, 10));
+      writer.startNextStep("germanPlace", "place", m_germans, "Germans Place");
+      addChange(ChangeFactory.changeResourcesChange(m_germans, pus, 1));
+      writer.startNextStep("russianPurchase", "purchase", m_russians, "Russians Purchase");
+      addChange(ChangeFactory.changeResourcesChange(m_russians, pus, 5));
+    }
+    final IStat pusStat = new IStat() {
+      @Override
+      public String getName() {
+        return "PUs";
+      }
+
+      @Override
+      public double getValue(final PlayerID player, final GameData data) {
+        return player.getResources().getQuantity(Constants.PUS);
+      }
+
+      @Override
+      public double getValue(final String alliance, final GameData data) {
+        return 0;
+      }
+
+      @Override
+      public NumberFormat getFormatter() {
+        return NumberFormat.getIntegerInstance();
+      }
+    };
+    m_exporter = new GameStatsExporter(m_data, new IStat[] {pusStat}, new IStat[0],
+        Arrays.asList(m_germans, m_russians), Collections.<String>emptyList(), false);
+  }
+
+  private void addChange(final Change change) {
+    m_data.getHistory().getHistoryWriter().startEvent(change.toString());
+    m_data.performChange(change);
+    m_data.getHistory().getHistoryWriter().addChange(change);
+  }
+
+  public void testRowForEachTurn() throws Exception {
+    final int germanPus = m_germans.getResources().getQuantity(Constants.PUS);
+    final int russianPus = m_russians.getResources().getQuantity(Constants.PUS);
+    final StringWriter out = new StringWriter();
+    final int[] rows = new int[1];
+    assertTrue(m_exporter.export("stats.csv", out, (stepsDone, steps) -> {
+      assertEquals(4, steps);
+      rows[0] = stepsDone;
+      return true;
+    }));
+    assertEquals(4, rows[0]);
+    final String csv = out.toString();
+    assertTrue(csv.contains("Round,Player Turn,Phase Name,PUs Germans,PUs Russians,\n"));
+    // each row has the stats from the start of the turn
+    assertTrue(csv.contains("1,Germans: ,Purchase," + (germanPus - 22) + "," + (russianPus - 10) + ",\n"));
+    assertTrue(csv.contains("1,Russians: ,Purchase," + (germanPus - 11) + "," + (russianPus - 10) + ",\n"));
+    assertTrue(csv.contains("2,Germans: ,Purchase," + (germanPus - 11) + "," + (russianPus - 5) + ",\n"));
+    assertTrue(csv.contains("2,Russians: ,Purchase," + germanPus + "," + (russianPus - 5) + ",\n"));
+    // the game data itself is left alone
+    assertEquals(germanPus, m_germans.getResources().getQuantity(Constants.PUS));
+  }
+
+  public void testCancel() throws Exception {
+    final StringWriter out = new StringWriter();
+    assertFalse(m_exporter.export("stats.csv", out, (stepsDone, steps) -> stepsDone < 1));
+    assertFalse(out.toString().contains("2,Germans"));
+  }
+}
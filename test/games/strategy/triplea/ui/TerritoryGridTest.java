@@ -0,0 +1,74 @@
+package games.strategy.triplea.ui;
+
+import java.awt.Polygon;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+public class TerritoryGridTest extends TestCase {
+  private final Map<String, List<Polygon>> m_polygons = new LinkedHashMap<String, List<Polygon>>();
+  private TerritoryGrid m_grid;
+
+  @Override
+  public void setUp() {
+    m_polygons.put("1 Sea Zone", Arrays.asList(square(0, 0, 1000)));
+    m_polygons.put("Island", Arrays.asList(square(100, 100, 50), square(700, 700, 50)));
+    m_polygons.put("Coast", Arrays.asList(triangle(300, 300, 400)));
+    m_polygons.put("2 Sea Zone", Arrays.asList(square(1000, 0, 300)));
+    m_grid = new TerritoryGrid(m_polygons);
+  }
+
+  public void testTerritoryAt() {
+    assertEquals("Island", m_grid.getTerritoryAt(120, 120));
+    assertEquals("Island", m_grid.getTerritoryAt(720, 730));
+    assertEquals("Coast", m_grid.getTerritoryAt(350, 310));
+    assertEquals("1 Sea Zone", m_grid.getTerritoryAt(350, 690));
+    assertEquals("2 Sea Zone", m_grid.getTerritoryAt(1100, 10));
+    assertNull(m_grid.getTerritoryAt(1100, 500));
+    assertNull(m_grid.getTerritoryAt(-5, 10));
+    for (int x = -20; x < 1400; x += 7) {
+      for (int y = -20; y < 1100; y += 11) {
+        assertEquals(getTerritoryAt(x + 0.5, y + 0.5), m_grid.getTerritoryAt(x + 0.5, y + 0.5));
+      }
+    }
+  }
+
+  public void testTerritoriesThatOverlap() {
+    assertEquals(Arrays.asList("1 Sea Zone", "Island"), m_grid.territoriesThatOverlap(new Rectangle(90, 90, 20, 20)));
+    assertEquals(Arrays.asList("1 Sea Zone", "Island", "Coast", "2 Sea Zone"),
+        m_grid.territoriesThatOverlap(new Rectangle(-100, -100, 2000, 2000)));
+    assertEquals(Collections.emptyList(), m_grid.territoriesThatOverlap(new Rectangle(2000, 2000, 10, 10)));
+  }
+
+  /**
+   * Looks at every polygon, the way MapData did before it had a grid.
+   */
+  private String getTerritoryAt(final double x, final double y) {
+    String seaName = null;
+    for (final Map.Entry<String, List<Polygon>> entry : m_polygons.entrySet()) {
+      for (final Polygon polygon : entry.getValue()) {
+        if (polygon.contains(x, y)) {
+          if (entry.getKey().endsWith("Sea Zone")) {
+            seaName = entry.getKey();
+          } else {
+            return entry.getKey();
+          }
+        }
+      }
+    }
+    return seaName;
+  }
+
+  private static Polygon square(final int x, final int y, final int size) {
+    return new Polygon(new int[] {x, x + size, x + size, x}, new int[] {y, y, y + size, y + size}, 4);
+  }
+
+  private static Polygon triangle(final int x, final int y, final int size) {
+    return new Polygon(new int[] {x, x + size, x}, new int[] {y, y, y + size}, 3);
+  }
+}
@@ -1,5 +1,12 @@
 package games.strategy.util;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
 import junit.framework.TestCase;
 
 public class IntegerMapTest extends TestCase {
@@ -64,4 +71,57 @@ public class IntegerMapTest extends TestCase {
     map1.add(v3, 3);
     assertTrue(map1.greaterThanOrEqualTo(map2));
   }
+
+  public void testRemoveAndGrow() {
+    final IntegerMap<String> map = new IntegerMap<String>();
+    for (int i = 0; i < 1000; i++) {
+      map.put(String.valueOf(i), i * 2);
+    }
+    for (int i = 0; i < 1000; i += 3) {
+      map.removeKey(String.valueOf(i));
+    }
+    map.put(null, 7);
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i % 3 == 0 ? 0 : i * 2, map.getInt(String.valueOf(i)));
+      assertEquals(i % 3 != 0, map.containsKey(String.valueOf(i)));
+    }
+    assertEquals(7, map.getInt(null));
+    assertEquals(1000 - 334 + 1, map.size());
+    assertEquals(map.size(), map.keySet().size());
+  }
+
+  public void testForEachEntryAndHashCode() {
+    final IntegerMap<Object> map = new IntegerMap<Object>();
+    map.put(v1, 5);
+    map.put(v2, -3);
+    final Map<Object, Integer> seen = new HashMap<Object, Integer>();
+    map.forEachEntry((key, value) -> seen.put(key, value));
+    assertEquals(2, seen.size());
+    assertEquals(Integer.valueOf(5), seen.get(v1));
+    assertEquals(Integer.valueOf(-3), seen.get(v2));
+    // the same hash code as the HashMap it used to wrap
+    assertEquals(seen.hashCode(), map.hashCode());
+    final IntegerMap<Object> copy = map.copy();
+    assertEquals(map, copy);
+    copy.add(v1, 1);
+    assertFalse(map.equals(copy));
+  }
+
+  public void testSerialization() throws Exception {
+    final IntegerMap<String> map = new IntegerMap<String>();
+    map.put("a", 1);
+    map.put("b", 2);
+    final ByteArrayOutputStream sink = new ByteArrayOutputStream();
+    final ObjectOutputStream out = new ObjectOutputStream(sink);
+    out.writeObject(map);
+    out.close();
+    // still written as a HashMap, so older versions can read it
+    assertTrue(new String(sink.toByteArray(), "ISO-8859-1").contains("java.util.HashMap"));
+    final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(sink.toByteArray()));
+    @SuppressWarnings("unchecked")
+    final IntegerMap<String> read = (IntegerMap<String>) in.readObject();
+    assertEquals(map, read);
+    read.add("c", 3);
+    assertEquals(6, read.totalValues());
+  }
 }
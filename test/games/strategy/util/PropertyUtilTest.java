@@ -67,6 +67,26 @@ public class PropertyUtilTest {
     PropertyUtil.set(BAR, NEW_VALUE, new InvalidSetterClass());
   }
 
+  @Test
+  public void testSetterTakingTheValueTypeIsUsed() {
+    final OverloadedSetterClass testClass = new OverloadedSetterClass();
+    PropertyUtil.set(BAR, 3, testClass);
+    assertThat(testClass.bar, is("Integer 3"));
+    PropertyUtil.set(BAR, NEW_VALUE, testClass);
+    assertThat(testClass.bar, is("String " + NEW_VALUE));
+    PropertyUtil.set(BAR, 4, testClass);
+    assertThat(testClass.bar, is("Integer 4"));
+  }
+
+  @Test
+  public void testSetAndGetOnManyObjectsOfTheSameClass() {
+    final PropertyClass first = new PropertyClass();
+    final PropertyClass second = new PropertyClass();
+    PropertyUtil.set(BAR, NEW_VALUE, first);
+    assertThat((String) PropertyUtil.getPropertyFieldObject(BAR, first), is(NEW_VALUE));
+    assertThat((String) PropertyUtil.getPropertyFieldObject(BAR, second), is(DEFAULT));
+  }
+
   @Test
   public void testNoOpSetterMethod() {
     NoOpSetterClass testClass = new NoOpSetterClass();
@@ -101,6 +121,19 @@ class NoOpSetterClass {
 }
 
 
+class OverloadedSetterClass {
+  protected String bar = PropertyUtilTest.DEFAULT;
+
+  public void setBar(String newValue) {
+    bar = "String " + newValue;
+  }
+
+  public void setBar(Integer newValue) {
+    bar = "Integer " + newValue;
+  }
+}
+
+
 class PropertyClass {
   protected String bar = PropertyUtilTest.DEFAULT;
 